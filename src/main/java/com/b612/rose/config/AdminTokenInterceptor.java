@@ -0,0 +1,42 @@
+package com.b612.rose.config;
+
+import com.b612.rose.exception.BusinessException;
+import com.b612.rose.exception.ErrorCode;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+// 관리자 api 는 X-Admin-Token 헤더가 설정된 토큰과 같을 때만 허용
+// 토큰이 설정되지 않았으면 모두 거절 (실수로 열어 두지 않도록)
+@Component
+public class AdminTokenInterceptor implements HandlerInterceptor {
+
+    static final String HEADER = "X-Admin-Token";
+
+    private final byte[] token;
+
+    public AdminTokenInterceptor(@Value("${game.admin.token:}") String token) {
+        this.token = token.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // cors preflight 는 헤더 없이 들어옴
+        if (HttpMethod.OPTIONS.matches(request.getMethod())) {
+            return true;
+        }
+
+        String provided = request.getHeader(HEADER);
+        if (token.length == 0 || provided == null
+                || !MessageDigest.isEqual(token, provided.getBytes(StandardCharsets.UTF_8))) {
+            throw new BusinessException(ErrorCode.ADMIN_UNAUTHORIZED, "관리자 토큰이 없거나 올바르지 않습니다.");
+        }
+        return true;
+    }
+}
@@ -1,23 +1,156 @@
 package com.b612.rose.config;
 
+import com.b612.rose.utils.ExecutorMetrics;
+import com.b612.rose.utils.UserLaneExecutor;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
 
+// 비동기 작업은 db 반영(persistence)과 메일(mail) 실행기로 나눔
+// pool: 스레드 풀 + 큐가 차면 요청 스레드에서 직접 실행(caller-runs)해서 작업을 잃지 않음
+// virtual: 가상 스레드 (java 21 이상에서만, 아니면 pool 로 대체), 동시 실행 수 제한을 넘으면 제출하는 쪽이 기다림
+// 두 방식 모두 permits 로 동시에 db/smtp 를 쓰는 작업 수를 제한함 (제출하는 쪽에서 permit 을 기다림)
+// @Async 는 쓰지 않고 아래 실행기를 직접 주입받아 씀
 @Configuration
-@EnableAsync
+@Slf4j
 public class AsyncConfig {
-    @Bean(name="taskExecutor")
-    public Executor taskExecutor() {
+
+    @Value("${game.async.mode:pool}")
+    private String mode;
+
+    @Value("${game.async.rejection-policy:caller-runs}")
+    private String rejectionPolicy;
+
+    @Value("${game.async.persistence.core-size:5}")
+    private int persistenceCoreSize;
+
+    @Value("${game.async.persistence.max-size:10}")
+    private int persistenceMaxSize;
+
+    @Value("${game.async.persistence.queue-capacity:500}")
+    private int persistenceQueueCapacity;
+
+    // 커넥션 풀(기본 10개)보다 조금 적게 잡아 요청 스레드 몫을 남김
+    @Value("${game.async.persistence.permits:8}")
+    private int persistencePermits;
+
+    @Value("${game.async.persistence.user-lanes:16}")
+    private int userLanes;
+
+    // lane 하나에 쌓일 수 있는 작업 수, 넘으면 거절
+    @Value("${game.async.persistence.user-lane-capacity:1000}")
+    private int userLaneCapacity;
+
+    // lane 이 스레드를 잡고 연속으로 실행하는 작업 수, 넘으면 다시 올려서 양보
+    @Value("${game.async.persistence.user-lane-batch-size:32}")
+    private int userLaneBatchSize;
+
+    @Value("${game.async.mail.core-size:2}")
+    private int mailCoreSize;
+
+    @Value("${game.async.mail.max-size:4}")
+    private int mailMaxSize;
+
+    @Value("${game.async.mail.queue-capacity:200}")
+    private int mailQueueCapacity;
+
+    @Value("${game.async.mail.permits:4}")
+    private int mailPermits;
+
+    // 실행기마다 다시 판단하지 않도록 한 번만 정함
+    private String resolvedMode;
+
+    @PostConstruct
+    public void init() {
+        resolvedMode = resolveMode();
+    }
+
+    @Bean
+    public ExecutorMetrics persistenceExecutorMetrics() {
+        return new ExecutorMetrics("persistenceExecutor", resolvedMode, persistencePermits);
+    }
+
+    @Bean
+    public ExecutorMetrics mailExecutorMetrics() {
+        return new ExecutorMetrics("mailExecutor", resolvedMode, mailPermits);
+    }
+
+    // 스레드 풀 자체, 종료 처리를 위해 따로 bean 으로 둠 (직접 쓰지 말고 persistenceExecutor 를 씀)
+    @Bean(name = "persistenceTaskExecutor")
+    public Executor persistenceTaskExecutor(@Qualifier("persistenceExecutorMetrics") ExecutorMetrics metrics) {
+        return createExecutor("persistence-B612Async-", persistenceCoreSize, persistenceMaxSize,
+                persistenceQueueCapacity, persistencePermits, metrics);
+    }
+
+    @Bean(name = "persistenceExecutor")
+    public Executor persistenceExecutor(@Qualifier("persistenceExecutorMetrics") ExecutorMetrics metrics,
+                                        @Qualifier("persistenceTaskExecutor") Executor taskExecutor) {
+        return metrics.limiting(taskExecutor);
+    }
+
+    // 사용자 단위 작업은 같은 사용자끼리 순서대로 실행되도록 persistence 실행기 위에 lane 을 둠
+    @Bean
+    public UserLaneExecutor userLaneExecutor(@Qualifier("persistenceExecutor") Executor persistenceExecutor) {
+        return new UserLaneExecutor(persistenceExecutor, userLanes, userLaneCapacity, userLaneBatchSize);
+    }
+
+    @Bean(name = "mailTaskExecutor")
+    public Executor mailTaskExecutor(@Qualifier("mailExecutorMetrics") ExecutorMetrics metrics) {
+        return createExecutor("mail-B612Async-", mailCoreSize, mailMaxSize,
+                mailQueueCapacity, mailPermits, metrics);
+    }
+
+    @Bean(name = "mailExecutor")
+    public Executor mailExecutor(@Qualifier("mailExecutorMetrics") ExecutorMetrics metrics,
+                                 @Qualifier("mailTaskExecutor") Executor taskExecutor) {
+        return metrics.limiting(taskExecutor);
+    }
+
+    private Executor createExecutor(String threadNamePrefix, int coreSize, int maxSize, int queueCapacity,
+                                    int permits, ExecutorMetrics metrics) {
+        if ("virtual".equals(resolvedMode)) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(threadNamePrefix);
+            executor.setVirtualThreads(true);
+            executor.setTaskDecorator(metrics);
+            // 실행 중인 작업 수가 한도를 넘으면 제출하는 쪽을 잠깐 막아서 속도를 맞춤
+            executor.setConcurrencyLimit(Math.max(permits, 1) * 4);
+            return executor;
+        }
+
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        executor.setCorePoolSize(5);
-        executor.setMaxPoolSize(10);
-        executor.setQueueCapacity(25);
-        executor.setThreadNamePrefix("taskExecutor-B612Async-");
+        executor.setCorePoolSize(coreSize);
+        executor.setMaxPoolSize(maxSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix(threadNamePrefix);
+        executor.setTaskDecorator(metrics);
+        executor.setRejectedExecutionHandler(metrics.countingRejections(rejectionHandler()));
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
         executor.initialize();
         return executor;
     }
+
+    private RejectedExecutionHandler rejectionHandler() {
+        if ("abort".equals(rejectionPolicy)) {
+            return new ThreadPoolExecutor.AbortPolicy();
+        }
+        return new ThreadPoolExecutor.CallerRunsPolicy();
+    }
+
+    private String resolveMode() {
+        if ("virtual".equals(mode) && Runtime.version().feature() < 21) {
+            log.warn("가상 스레드는 java 21 이상에서만 사용 가능, pool 방식으로 실행: java {}", Runtime.version());
+            return "pool";
+        }
+        return mode;
+    }
 }
@@ -0,0 +1,33 @@
+package com.b612.rose.config;
+
+import com.b612.rose.utils.BoundedGameStateStore;
+import com.b612.rose.utils.GameProgressWriteQueue;
+import com.b612.rose.utils.GameStateStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+@EnableScheduling
+public class GameStateConfig {
+
+    @Value("${game.state-cache.max-size:10000}")
+    private int maxSize;
+
+    @Value("${game.state-cache.segments:16}")
+    private int segments;
+
+    @Value("${game.state-cache.idle-timeout-ms:1800000}")
+    private long idleTimeoutMillis;
+
+    @Bean
+    public GameStateStore gameStateStore(GameProgressWriteQueue gameProgressWriteQueue) {
+        BoundedGameStateStore store = new BoundedGameStateStore(maxSize, segments, idleTimeoutMillis,
+                gameProgressWriteQueue::enqueueState);
+        // 반영이 커밋되면 dirty 를 지워서 정리될 때 같은 상태를 다시 쓰지 않게 함
+        gameProgressWriteQueue.addPersistedListener(progress -> store.markPersisted(progress.getUserId(),
+                progress.getStage(), progress.getCollectedMask(), progress.getDeliveredMask()));
+        return store;
+    }
+}
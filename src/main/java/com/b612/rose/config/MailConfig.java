@@ -3,7 +3,6 @@ package com.b612.rose.config;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.JavaMailSenderImpl;
 
 import java.util.Properties;
@@ -29,8 +28,12 @@ public class MailConfig {
     @Value("${spring.mail.properties.mail.smtp.starttls.enable}")
     private String starttls;
 
+    // smtp 대화 전체를 로그로 남기므로 필요할 때만 켬
+    @Value("${game.mail.debug:false}")
+    private boolean debug;
+
     @Bean
-    public JavaMailSender javaMailSender() {
+    public JavaMailSenderImpl javaMailSender() {
         JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
         mailSender.setHost(host);
         mailSender.setPort(port);
@@ -44,7 +47,7 @@ public class MailConfig {
         props.put("mail.smtp.starttls.enable", starttls);
         props.put("mail.smtp.ssl.trust", host);
 
-        props.put("mail.debug", "true");
+        props.put("mail.debug", String.valueOf(debug));
 
         return mailSender;
     }
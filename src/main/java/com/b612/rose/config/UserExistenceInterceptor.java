@@ -0,0 +1,45 @@
+package com.b612.rose.config;
+
+import com.b612.rose.exception.BusinessException;
+import com.b612.rose.exception.ErrorCode;
+import com.b612.rose.utils.UserExistenceFilter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+import java.util.UUID;
+
+// {userId} 경로 변수가 있는 요청은 컨트롤러에 들어가기 전에 존재하는 사용자인지 확인
+@Component
+@RequiredArgsConstructor
+public class UserExistenceInterceptor implements HandlerInterceptor {
+
+    private final UserExistenceFilter userExistenceFilter;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        @SuppressWarnings("unchecked")
+        Map<String, String> pathVariables =
+                (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        if (pathVariables == null || !pathVariables.containsKey("userId")) {
+            return true;
+        }
+
+        UUID userId;
+        try {
+            userId = UUID.fromString(pathVariables.get("userId"));
+        } catch (IllegalArgumentException e) {
+            // 형식 오류는 컨트롤러 바인딩에서 처리
+            return true;
+        }
+
+        if (!userExistenceFilter.exists(userId)) {
+            throw new BusinessException(ErrorCode.USER_NOT_FOUND, "사용자를 찾을 수 없습니다: " + userId);
+        }
+        return true;
+    }
+}
@@ -0,0 +1,77 @@
+package com.b612.rose.controller;
+
+import com.b612.rose.dto.response.ContentStatusResponse;
+import com.b612.rose.dto.response.ExecutorStatsResponse;
+import com.b612.rose.dto.response.GameStateCacheStatsResponse;
+import com.b612.rose.dto.response.MailDispatcherStatsResponse;
+import com.b612.rose.dto.response.ProgressReplayResponse;
+import com.b612.rose.dto.response.WriteBehindStatsResponse;
+import com.b612.rose.utils.ContentCatalog;
+import com.b612.rose.utils.ExecutorMetrics;
+import com.b612.rose.utils.GameProgressWriteQueue;
+import com.b612.rose.utils.GameStateStore;
+import com.b612.rose.utils.MailDispatcher;
+import com.b612.rose.utils.ProgressEventRecorder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/v1/admin")
+@RequiredArgsConstructor
+public class AdminController {
+
+    private final GameStateStore gameStateStore;
+    private final GameProgressWriteQueue gameProgressWriteQueue;
+    private final ContentCatalog contentCatalog;
+    private final List<ExecutorMetrics> executorMetrics;
+    private final ProgressEventRecorder progressEventRecorder;
+    private final MailDispatcher mailDispatcher;
+
+    @GetMapping("/game-state-cache/stats")
+    public ResponseEntity<GameStateCacheStatsResponse> getGameStateCacheStats() {
+        return ResponseEntity.ok(gameStateStore.stats());
+    }
+
+    @GetMapping("/write-behind/stats")
+    public ResponseEntity<WriteBehindStatsResponse> getWriteBehindStats() {
+        return ResponseEntity.ok(gameProgressWriteQueue.stats());
+    }
+
+    @GetMapping("/executors/stats")
+    public ResponseEntity<List<ExecutorStatsResponse>> getExecutorStats() {
+        return ResponseEntity.ok(executorMetrics.stream()
+                .map(ExecutorMetrics::stats)
+                .toList());
+    }
+
+    @GetMapping("/mail/stats")
+    public ResponseEntity<MailDispatcherStatsResponse> getMailStats() {
+        return ResponseEntity.ok(mailDispatcher.stats());
+    }
+
+    @GetMapping("/content/status")
+    public ResponseEntity<ContentStatusResponse> getContentStatus() {
+        return ResponseEntity.ok(contentCatalog.status());
+    }
+
+    // 다시 읽기는 백그라운드에서 진행, 완료 여부는 /content/status 로 확인
+    @PostMapping("/content/reload")
+    public ResponseEntity<ContentStatusResponse> reloadContent() {
+        contentCatalog.reloadAsync();
+        return ResponseEntity.accepted().body(contentCatalog.status());
+    }
+
+    // 이벤트만으로 다시 계산한 진척도 (분석/검증용)
+    @GetMapping("/progress-events/{userId}/replay")
+    public ResponseEntity<ProgressReplayResponse> replayProgressEvents(@PathVariable UUID userId) {
+        return ResponseEntity.ok(progressEventRecorder.replay(userId));
+    }
+}
@@ -36,16 +36,18 @@ public class GameProgressController {
     @PostMapping("/{userId}/collect")
     public ResponseEntity<GameStateResponse> collectStar(
             @PathVariable UUID userId,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
             @RequestBody StarActionRequest request) {
-        GameStateResponse response = gameProgressService.onStarCollected(userId, request);
+        GameStateResponse response = gameProgressService.onStarCollected(userId, request, idempotencyKey);
         return ResponseEntity.ok(response);
     }
 
     @PostMapping("/{userId}/deliver")
     public ResponseEntity<GameStateResponse> deliverStar(
             @PathVariable UUID userId,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
             @RequestBody StarActionRequest request) {
-        GameStateResponse response = gameProgressService.onStarDelivered(userId, request);
+        GameStateResponse response = gameProgressService.onStarDelivered(userId, request, idempotencyKey);
         return ResponseEntity.ok(response);
     }
 
@@ -0,0 +1,26 @@
+package com.b612.rose.controller;
+
+import com.b612.rose.dto.response.GameSnapshotResponse;
+import com.b612.rose.service.service.GameSnapshotService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/v1/game")
+@RequiredArgsConstructor
+public class GameSnapshotController {
+
+    private final GameSnapshotService gameSnapshotService;
+
+    @GetMapping("/{userId}/snapshot")
+    public ResponseEntity<GameSnapshotResponse> getSnapshot(@PathVariable UUID userId) {
+        GameSnapshotResponse response = gameSnapshotService.getSnapshot(userId);
+        return ResponseEntity.ok(response);
+    }
+}
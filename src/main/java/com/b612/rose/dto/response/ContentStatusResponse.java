@@ -0,0 +1,25 @@
+package com.b612.rose.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ContentStatusResponse {
+    private long snapshotVersion;
+    private long contentVersion;
+    private LocalDateTime loadedAt;
+    private boolean reloading;
+    private int dialogueTypeCount;
+    private int starCount;
+    private int npcProfileCount;
+    private int starGuideEntryCount;
+    private long reloadCount;
+    private long reloadFailureCount;
+}
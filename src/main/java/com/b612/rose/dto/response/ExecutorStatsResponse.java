@@ -0,0 +1,28 @@
+package com.b612.rose.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExecutorStatsResponse {
+    private String name;
+    private String mode;
+    private int permits;
+    private int availablePermits;
+    private int queuedCount;
+    private int activeCount;
+    private long submittedCount;
+    private long completedCount;
+    private long failedCount;
+    private long rejectedCount;
+    private long callerRunsCount;
+    private double averageWaitMillis;
+    private double maxWaitMillis;
+    private double averageRunMillis;
+    private double maxRunMillis;
+}
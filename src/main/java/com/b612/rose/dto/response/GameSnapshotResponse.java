@@ -0,0 +1,23 @@
+package com.b612.rose.dto.response;
+
+import com.b612.rose.entity.enums.GameStage;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class GameSnapshotResponse {
+    private UUID userId;
+    private GameStage currentStage;
+    private int collectedMask;
+    private int deliveredMask;
+    private List<ObjectStatusResponse> objectStatuses;
+    private List<DialogueResponse> dialogues;
+}
@@ -0,0 +1,21 @@
+package com.b612.rose.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class GameStateCacheStatsResponse {
+    private int size;
+    private int maxSize;
+    private long hitCount;
+    private long missCount;
+    private long sizeEvictionCount;
+    private long idleEvictionCount;
+    private long writeBehindCount;
+    private long writeBehindFailureCount;
+}
@@ -0,0 +1,21 @@
+package com.b612.rose.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MailDispatcherStatsResponse {
+    private int connections;
+    private int queuedCount;
+    private long submittedCount;
+    private long sentCount;
+    private long failedCount;
+    private long rejectedCount;
+    private long batchCount;
+    private long connectCount;
+}
@@ -0,0 +1,22 @@
+package com.b612.rose.dto.response;
+
+import com.b612.rose.entity.enums.GameStage;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProgressReplayResponse {
+    private UUID userId;
+    private GameStage currentStage;
+    private int collectedMask;
+    private int deliveredMask;
+    private boolean completed;
+    private int eventCount;
+}
@@ -0,0 +1,21 @@
+package com.b612.rose.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WriteBehindStatsResponse {
+    private int pendingCount;
+    private long enqueuedCount;
+    private long flushedCount;
+    private long batchCount;
+    private long retryCount;
+    private long deadLetteredCount;
+    private boolean backingOff;
+    private long backpressureCount;
+}
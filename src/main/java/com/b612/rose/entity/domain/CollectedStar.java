@@ -8,7 +8,7 @@ import java.util.UUID;
 
 @Entity
 @Getter
-@Table
+@Table(uniqueConstraints = @UniqueConstraint(columnNames = {"user_id", "star_id"}))
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
@@ -33,6 +33,11 @@ public class CollectedStar {
     private LocalDateTime collectedAt;
     private LocalDateTime deliveredAt;
 
+    // 조건부 update 에서도 함께 올림, Idempotency-Key 가 있는 별 동작은 이 값으로 동시 요청을 가림
+    @Version
+    @Column(columnDefinition = "bigint not null default 0")
+    private long version;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", referencedColumnName = "user_id", insertable = false, updatable = false)
     private User user;
@@ -0,0 +1,23 @@
+package com.b612.rose.entity.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+// 시드 컨텐츠(대화, 별 도감, 프로필 등)를 고친 뒤 version 을 올리면 서버들이 폴링으로 다시 읽어감
+@Entity
+@Getter
+@Table
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ContentVersion {
+    @Id
+    private Integer id;
+
+    @Column(nullable = false)
+    private long version;
+
+    private LocalDateTime updatedAt;
+}
@@ -1,14 +1,17 @@
 package com.b612.rose.entity.domain;
 
+import com.b612.rose.entity.enums.EmailStatus;
 import jakarta.persistence.*;
 import lombok.*;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
 
+// 메일 전송 기록이자 전송 대기열
+// PENDING 행을 여러 서버가 SKIP LOCKED 로 나눠 가져가고, 가져간 행은 lockedUntil 까지 SENDING 으로 잡아둠
 @Entity
 @Getter
-@Table
+@Table(indexes = @Index(name = "idx_email_log_status_next_attempt", columnList = "status, next_attempt_at"))
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
@@ -20,6 +23,7 @@ public class EmailLog {
     @Column
     private UUID userId;
     private String recipientEmail;
+    private String selectedNpc;
     private String subject;
 
     @Column(length = 2000)
@@ -28,6 +32,20 @@ public class EmailLog {
     private LocalDateTime sentAt;
     private Boolean isDelivered;
 
+    @Enumerated(EnumType.STRING)
+    @Column(length = 16)
+    private EmailStatus status;
+
+    @Column(columnDefinition = "integer not null default 0")
+    private int attempts;
+    private LocalDateTime nextAttemptAt;
+    private LocalDateTime lockedUntil;
+
+    @Column(length = 500)
+    private String lastError;
+
+    private LocalDateTime createdAt;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(referencedColumnName = "user_id", insertable = false, updatable = false)
     private User user;
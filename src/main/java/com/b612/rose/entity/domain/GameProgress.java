@@ -27,6 +27,11 @@ public class GameProgress {
 
     private LocalDateTime updatedAt;
 
+    // 조건부 update 에서도 함께 올림
+    @Version
+    @Column(columnDefinition = "bigint not null default 0")
+    private long version;
+
     @PrePersist
     @PreUpdate
     protected void onUpdate() {
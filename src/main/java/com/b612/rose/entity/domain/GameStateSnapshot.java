@@ -0,0 +1,49 @@
+package com.b612.rose.entity.domain;
+
+import com.b612.rose.entity.enums.GameStage;
+import com.b612.rose.entity.enums.InteractiveObjectType;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// 사용자별 게임 상태 조회용 비정규화 테이블, 상태가 바뀔 때마다 같이 갱신됨
+// 별/오브젝트 상태는 enum ordinal 기준 비트마스크
+@Entity
+@Getter
+@Table
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class GameStateSnapshot {
+    @Id
+    @Column(name = "user_id")
+    private UUID userId;
+
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    private GameStage currentStage;
+
+    private int collectedMask;
+    private int deliveredMask;
+    private int interactedMask;
+    private int activeMask;
+
+    private LocalDateTime updatedAt;
+
+    public static int objectBit(InteractiveObjectType objectType) {
+        return 1 << objectType.ordinal();
+    }
+
+    // 처음에는 의뢰서만 비활성
+    public static int defaultActiveMask() {
+        int mask = 0;
+        for (InteractiveObjectType objectType : InteractiveObjectType.values()) {
+            if (objectType != InteractiveObjectType.REQUEST_FORM) {
+                mask |= objectBit(objectType);
+            }
+        }
+        return mask;
+    }
+}
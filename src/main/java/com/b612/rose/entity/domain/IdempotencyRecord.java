@@ -0,0 +1,36 @@
+package com.b612.rose.entity.domain;
+
+import com.b612.rose.entity.enums.GameStage;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Idempotency-Key 로 처리한 요청의 결과, 같은 키로 다시 오면 다시 처리하지 않고 이 결과로 응답
+// 결과는 스테이지만 저장하고 대화는 응답할 때 스냅샷에서 다시 만듦
+@Entity
+@Getter
+@Table(indexes = @Index(name = "idx_idempotency_record_created_at", columnList = "created_at"))
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class IdempotencyRecord {
+    // userId:action:key
+    @Id
+    @Column(length = 200)
+    private String idempotencyId;
+
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+
+    @Column(nullable = false, length = 32)
+    private String action;
+
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    private GameStage resultStage;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
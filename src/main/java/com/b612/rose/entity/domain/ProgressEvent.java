@@ -0,0 +1,41 @@
+package com.b612.rose.entity.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// 진척도 변경 이벤트, 추가만 하고 수정/삭제하지 않음
+// 열은 모두 고정 길이 (enum 은 문자열 대신 smallint 코드), id 는 시퀀스를 미리 받아와 배치 insert
+@Entity
+@Getter
+@Table(indexes = @Index(name = "idx_progress_event_user", columnList = "user_id, event_id"))
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProgressEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "progress_event_seq")
+    @SequenceGenerator(name = "progress_event_seq", sequenceName = "progress_event_seq", allocationSize = 50)
+    @Column(name = "event_id")
+    private Long eventId;
+
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+
+    // ProgressEventType 코드
+    @Column(nullable = false)
+    private short eventType;
+
+    // GameStage ordinal, 해당 없으면 -1
+    @Column(nullable = false)
+    private short stage;
+
+    // StarType ordinal, 해당 없으면 -1
+    @Column(nullable = false)
+    private short starType;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -4,11 +4,12 @@ package com.b612.rose.entity.domain;
 import jakarta.persistence.*;
 import lombok.*;
 
+import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
 @Getter
-@Table(name = "users")
+@Table(name = "users", indexes = @Index(name = "idx_users_created_at", columnList = "created_at"))
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
@@ -25,4 +26,15 @@ public class User {
     private String concern;
     private String selectedNpc;
     private boolean isCompleted;
+
+    // 다른 서버에서 가입한 사용자를 사용자 필터에 반영할 때 기준
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
+    }
 }
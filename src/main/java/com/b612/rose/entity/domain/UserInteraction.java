@@ -11,7 +11,7 @@ import java.util.UUID;
 
 @Entity
 @Getter
-@Table
+@Table(uniqueConstraints = @UniqueConstraint(columnNames = {"user_id", "object_id"}))
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
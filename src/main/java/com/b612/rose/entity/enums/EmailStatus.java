@@ -0,0 +1,17 @@
+package com.b612.rose.entity.enums;
+
+import lombok.Getter;
+
+@Getter
+public enum EmailStatus {
+    PENDING("전송 대기"),
+    SENDING("전송 중"),
+    SENT("전송 완료"),
+    FAILED("재시도 횟수 초과");
+
+    private final String description;
+
+    EmailStatus(String description) {
+        this.description = description;
+    }
+}
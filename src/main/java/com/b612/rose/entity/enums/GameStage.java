@@ -2,6 +2,9 @@ package com.b612.rose.entity.enums;
 
 import lombok.Getter;
 
+import java.util.Arrays;
+import java.util.List;
+
 @Getter
 public enum GameStage {
     INTRO("첫 화면"),
@@ -17,9 +20,20 @@ public enum GameStage {
     NPC_SELECTION("npc 선택 완료"),
     GAME_COMPLETE("이메일 전송 완료 및 게임 클리어");
 
+    private static final GameStage[] VALUES = values();
+
     private final String description;
 
     GameStage(String description) {
         this.description = description;
     }
+
+    // 스테이지는 앞으로만 진행, 이 스테이지로 옮길 수 있는 앞선 스테이지들
+    public List<GameStage> precedingStages() {
+        return Arrays.asList(VALUES).subList(0, ordinal());
+    }
+
+    public boolean isAfter(GameStage other) {
+        return ordinal() > other.ordinal();
+    }
 }
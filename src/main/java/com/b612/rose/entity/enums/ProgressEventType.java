@@ -0,0 +1,27 @@
+package com.b612.rose.entity.enums;
+
+import lombok.Getter;
+
+// progress_event.event_type 에 code 로 저장, 순서를 바꾸지 말고 뒤에만 추가
+@Getter
+public enum ProgressEventType {
+    STAGE_CHANGED(1),
+    STAR_COLLECTED(2),
+    STAR_DELIVERED(3),
+    GAME_COMPLETED(4);
+
+    private final short code;
+
+    ProgressEventType(int code) {
+        this.code = (short) code;
+    }
+
+    public static ProgressEventType fromCode(short code) {
+        for (ProgressEventType type : values()) {
+            if (type.code == code) {
+                return type;
+            }
+        }
+        throw new IllegalArgumentException("알 수 없는 진척도 이벤트: " + code);
+    }
+}
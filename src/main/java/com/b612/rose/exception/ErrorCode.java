@@ -13,6 +13,8 @@ public enum ErrorCode {
 
     USER_NOT_FOUND(HttpStatus.NOT_FOUND, "U001", "사용자를 찾을 수 없습니다."),
 
+    ADMIN_UNAUTHORIZED(HttpStatus.UNAUTHORIZED, "A001", "관리자 인증에 실패했습니다."),
+
     GAME_PROGRESS_NOT_FOUND(HttpStatus.NOT_FOUND, "G001", "해당하는 게임 진척도를 찾을 수 없습니다."),
     STAR_NOT_FOUND(HttpStatus.NOT_FOUND, "G002", "해당 별을 찾을 수 없습니다."),
     STAR_ALREADY_COLLECTED(HttpStatus.BAD_REQUEST, "G003", "이미 찾은 별입니다."),
@@ -3,6 +3,9 @@ package com.b612.rose.repository;
 import com.b612.rose.entity.domain.CollectedStar;
 import com.b612.rose.entity.enums.StarType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -14,4 +17,54 @@ public interface CollectedStarRepository extends JpaRepository<CollectedStar, In
     Optional<CollectedStar> findByUserUserIdAndStarStarType(UUID userId, StarType starType);
     Optional<CollectedStar> findByUserIdAndStarStarType(UUID userId, StarType starType);
     List<CollectedStar> findAllByUserId(UUID userId);
+
+    long countByUserIdAndCollectedTrueAndDeliveredTrue(UUID userId);
+
+    @Query("SELECT cs FROM CollectedStar cs JOIN FETCH cs.star WHERE cs.userId = :userId")
+    List<CollectedStar> findAllWithStarByUserId(@Param("userId") UUID userId);
+
+    // 행이 없으면 기본값(미수집)으로 보고, 처음 바뀔 때 만듦
+    // 수집/전달은 true 로만 바뀌고, 전달은 수집된 별에만 반영됨
+    @Modifying
+    @Query(value = "INSERT INTO collected_star (user_id, star_id, collected, delivered, collected_at, delivered_at) " +
+            "SELECT :userId, s.star_id, :collected, :delivered AND :collected, " +
+            "CASE WHEN :collected THEN now() END, CASE WHEN :delivered AND :collected THEN now() END " +
+            "FROM star s WHERE s.star_type = :starType " +
+            "ON CONFLICT (user_id, star_id) DO UPDATE SET " +
+            "collected = collected_star.collected OR EXCLUDED.collected, " +
+            "version = collected_star.version + 1, " +
+            "delivered = collected_star.delivered OR (:delivered AND (collected_star.collected OR :collected)), " +
+            "collected_at = COALESCE(collected_star.collected_at, EXCLUDED.collected_at), " +
+            "delivered_at = COALESCE(collected_star.delivered_at, " +
+            "CASE WHEN :delivered AND (collected_star.collected OR :collected) THEN now() END) " +
+            "WHERE (:collected AND NOT collected_star.collected) " +
+            "OR (:delivered AND NOT collected_star.delivered AND (collected_star.collected OR :collected))",
+            nativeQuery = true)
+    int upsertStarState(@Param("userId") UUID userId, @Param("starType") String starType,
+                        @Param("collected") boolean collected, @Param("delivered") boolean delivered);
+
+    // 읽은 뒤로 버전이 그대로일 때만 반영 (바뀐 행 수 반환)
+    // 0 이면 그 사이 다른 요청(다른 서버 포함)이 먼저 바꾼 것
+    @Modifying
+    @Query(value = "UPDATE collected_star SET " +
+            "collected = collected OR :collected, " +
+            "delivered = delivered OR (:delivered AND (collected OR :collected)), " +
+            "collected_at = COALESCE(collected_at, CASE WHEN :collected THEN now() END), " +
+            "delivered_at = COALESCE(delivered_at, CASE WHEN :delivered AND (collected OR :collected) THEN now() END), " +
+            "version = version + 1 " +
+            "WHERE collection_id = :collectionId AND version = :expectedVersion", nativeQuery = true)
+    int updateStarStateIfVersion(@Param("collectionId") Integer collectionId,
+                                 @Param("collected") boolean collected, @Param("delivered") boolean delivered,
+                                 @Param("expectedVersion") long expectedVersion);
+
+    // 행이 아직 없을 때 처음 만드는 쪽만 1, 이미 있으면 아무것도 안 함
+    @Modifying
+    @Query(value = "INSERT INTO collected_star " +
+            "(user_id, star_id, collected, delivered, collected_at, delivered_at, version) " +
+            "SELECT :userId, s.star_id, :collected, :delivered AND :collected, " +
+            "CASE WHEN :collected THEN now() END, CASE WHEN :delivered AND :collected THEN now() END, 0 " +
+            "FROM star s WHERE s.star_type = :starType " +
+            "ON CONFLICT (user_id, star_id) DO NOTHING", nativeQuery = true)
+    int insertStarStateIfAbsent(@Param("userId") UUID userId, @Param("starType") String starType,
+                                @Param("collected") boolean collected, @Param("delivered") boolean delivered);
 }
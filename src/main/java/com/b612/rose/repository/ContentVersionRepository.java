@@ -0,0 +1,14 @@
+package com.b612.rose.repository;
+
+import com.b612.rose.entity.domain.ContentVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ContentVersionRepository extends JpaRepository<ContentVersion, Integer> {
+
+    // 행이 없으면 0
+    @Query("SELECT COALESCE(MAX(cv.version), 0) FROM ContentVersion cv")
+    long findCurrentVersion();
+}
@@ -19,4 +19,7 @@ public interface DialogueRepository extends JpaRepository<Dialogue, Integer> {
 
     @Query("SELECT d FROM Dialogue d LEFT JOIN FETCH d.npc WHERE d.dialogueType = :dialogueType AND d.npcId = :npcId")
     Optional<Dialogue> findByDialogueTypeAndNpcId(@Param("dialogueType") String dialogueType, @Param("npcId") Integer npcId);
+
+    @Query("SELECT d FROM Dialogue d LEFT JOIN FETCH d.npc ORDER BY d.dialogueType, d.npcId, d.dialogueId")
+    List<Dialogue> findAllWithNpc();
 }
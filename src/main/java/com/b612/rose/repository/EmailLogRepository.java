@@ -2,12 +2,45 @@ package com.b612.rose.repository;
 
 import com.b612.rose.entity.domain.EmailLog;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
 @Repository
 public interface EmailLogRepository extends JpaRepository<EmailLog, Integer> {
     List<EmailLog> findByUserId(UUID userId);
+
+    // 보낼 차례가 된 행과 lease 가 끝난 SENDING 행(처리하던 서버가 죽은 경우)을 잠금
+    // 다른 서버가 잠근 행은 건너뛰므로 같은 메일을 두 서버가 동시에 가져가지 않음
+    @Query(value = "SELECT * FROM email_log " +
+            "WHERE (status = 'PENDING' AND next_attempt_at <= :now) " +
+            "OR (status = 'SENDING' AND locked_until < :now) " +
+            "ORDER BY next_attempt_at " +
+            "LIMIT :limit " +
+            "FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<EmailLog> lockDueEmails(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    @Modifying
+    @Query(value = "UPDATE email_log SET status = 'SENDING', attempts = attempts + 1, locked_until = :lockedUntil " +
+            "WHERE email_log_id IN (:ids)", nativeQuery = true)
+    int markSending(@Param("ids") List<Integer> ids, @Param("lockedUntil") LocalDateTime lockedUntil);
+
+    @Modifying
+    @Query(value = "UPDATE email_log SET status = 'SENT', is_delivered = true, subject = :subject, " +
+            "sent_at = :sentAt, locked_until = NULL, last_error = NULL " +
+            "WHERE email_log_id = :id", nativeQuery = true)
+    int markSent(@Param("id") Integer id, @Param("subject") String subject, @Param("sentAt") LocalDateTime sentAt);
+
+    // 재시도할 메일은 PENDING 으로 되돌리고, 더 이상 시도하지 않을 메일은 FAILED
+    @Modifying
+    @Query(value = "UPDATE email_log SET status = :status, is_delivered = false, next_attempt_at = :nextAttemptAt, " +
+            "locked_until = NULL, last_error = :lastError " +
+            "WHERE email_log_id = :id", nativeQuery = true)
+    int markFailed(@Param("id") Integer id, @Param("status") String status,
+                   @Param("nextAttemptAt") LocalDateTime nextAttemptAt, @Param("lastError") String lastError);
 }
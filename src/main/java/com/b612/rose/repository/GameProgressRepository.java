@@ -1,13 +1,45 @@
 package com.b612.rose.repository;
 
 import com.b612.rose.entity.domain.GameProgress;
+import com.b612.rose.entity.enums.GameStage;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface GameProgressRepository extends JpaRepository<GameProgress, Integer> {
     Optional<GameProgress> findByUserId(UUID userId);
+    boolean existsByUserId(UUID userId);
+
+    // 조회 없이 스테이지만 앞으로 옮김, 이미 같거나 뒤 스테이지면 건드리지 않음 (바뀐 행 수 반환)
+    // 늦게 반영되는 이전 스테이지가 게임 완료 같은 뒤 스테이지를 덮어쓰지 않도록 함
+    default int advanceStage(UUID userId, GameStage stage) {
+        List<GameStage> precedingStages = stage.precedingStages();
+        return precedingStages.isEmpty() ? 0 : updateStage(userId, stage, precedingStages);
+    }
+
+    // 같은 스테이지로 가는 사용자들을 한 번에 옮김
+    default int advanceStageForUsers(Collection<UUID> userIds, GameStage stage) {
+        List<GameStage> precedingStages = stage.precedingStages();
+        return precedingStages.isEmpty() ? 0 : updateStageForUsers(userIds, stage, precedingStages);
+    }
+
+    @Modifying
+    @Query("UPDATE GameProgress g SET g.currentStage = :stage, g.updatedAt = CURRENT_TIMESTAMP, g.version = g.version + 1 " +
+            "WHERE g.userId = :userId AND g.currentStage IN :precedingStages")
+    int updateStage(@Param("userId") UUID userId, @Param("stage") GameStage stage,
+                    @Param("precedingStages") Collection<GameStage> precedingStages);
+
+    @Modifying
+    @Query("UPDATE GameProgress g SET g.currentStage = :stage, g.updatedAt = CURRENT_TIMESTAMP, g.version = g.version + 1 " +
+            "WHERE g.userId IN :userIds AND g.currentStage IN :precedingStages")
+    int updateStageForUsers(@Param("userIds") Collection<UUID> userIds, @Param("stage") GameStage stage,
+                            @Param("precedingStages") Collection<GameStage> precedingStages);
 }
@@ -0,0 +1,75 @@
+package com.b612.rose.repository;
+
+import com.b612.rose.entity.domain.GameStateSnapshot;
+import com.b612.rose.entity.enums.GameStage;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface GameStateSnapshotRepository extends JpaRepository<GameStateSnapshot, UUID> {
+
+    // 가입 시 또는 원본 테이블에서 다시 만든 행 저장
+    // 그 사이 반영된 변경이 있으면 mergeState 와 같이 스테이지는 앞으로만 옮기고 마스크는 OR 로 합침
+    default int upsert(UUID userId, GameStage stage, int collectedMask, int deliveredMask,
+                       int interactedMask, int activeMask) {
+        return upsertForward(userId, stage.name(), precedingStageNames(stage),
+                collectedMask, deliveredMask, interactedMask, activeMask);
+    }
+
+    @Modifying
+    @Query(value = "INSERT INTO game_state_snapshot " +
+            "(user_id, current_stage, collected_mask, delivered_mask, interacted_mask, active_mask, updated_at) " +
+            "VALUES (:userId, :stage, " +
+            ":collectedMask, :deliveredMask, :interactedMask, :activeMask, now()) " +
+            "ON CONFLICT (user_id) DO UPDATE SET " +
+            "current_stage = CASE WHEN game_state_snapshot.current_stage IN (:precedingStages) " +
+            "THEN EXCLUDED.current_stage ELSE game_state_snapshot.current_stage END, " +
+            "collected_mask = game_state_snapshot.collected_mask | EXCLUDED.collected_mask, " +
+            "delivered_mask = game_state_snapshot.delivered_mask | EXCLUDED.delivered_mask, " +
+            "interacted_mask = game_state_snapshot.interacted_mask | EXCLUDED.interacted_mask, " +
+            "active_mask = game_state_snapshot.active_mask | EXCLUDED.active_mask, " +
+            "updated_at = now()", nativeQuery = true)
+    int upsertForward(@Param("userId") UUID userId, @Param("stage") String stage,
+                      @Param("precedingStages") Collection<String> precedingStages,
+                      @Param("collectedMask") int collectedMask, @Param("deliveredMask") int deliveredMask,
+                      @Param("interactedMask") int interactedMask, @Param("activeMask") int activeMask);
+
+    // 상태 변경 시 이미 있는 행만 갱신
+    // 행은 가입 때 만들어지고, 그 전부터 있던 사용자는 조회 시점에 원본 테이블에서 만들어짐
+    // (변경분만으로 행을 새로 만들면 나머지 상태가 비어 버리므로 여기서는 INSERT 하지 않음)
+    // stage 가 null 이면 기존 스테이지 유지, 스테이지는 앞으로만 옮기고 마스크는 OR 로 합침
+    default int mergeState(UUID userId, GameStage stage, int collectedMask, int deliveredMask,
+                           int interactedMask, int activeMask) {
+        return mergeStateForward(userId, stage == null ? null : stage.name(), precedingStageNames(stage),
+                collectedMask, deliveredMask, interactedMask, activeMask);
+    }
+
+    // 빈 목록은 IN () 으로 쓸 수 없어서 어떤 스테이지와도 맞지 않는 값으로 대신함
+    private static List<String> precedingStageNames(GameStage stage) {
+        List<String> precedingStages = stage == null ? List.of()
+                : stage.precedingStages().stream().map(GameStage::name).toList();
+        return precedingStages.isEmpty() ? List.of("") : precedingStages;
+    }
+
+    @Modifying
+    @Query(value = "UPDATE game_state_snapshot SET " +
+            "current_stage = CASE WHEN current_stage IN (:precedingStages) " +
+            "THEN COALESCE(CAST(:stage AS varchar), current_stage) ELSE current_stage END, " +
+            "collected_mask = collected_mask | :collectedMask, " +
+            "delivered_mask = delivered_mask | :deliveredMask, " +
+            "interacted_mask = interacted_mask | :interactedMask, " +
+            "active_mask = active_mask | :activeMask, " +
+            "updated_at = now() " +
+            "WHERE user_id = :userId", nativeQuery = true)
+    int mergeStateForward(@Param("userId") UUID userId, @Param("stage") String stage,
+                          @Param("precedingStages") Collection<String> precedingStages,
+                          @Param("collectedMask") int collectedMask, @Param("deliveredMask") int deliveredMask,
+                          @Param("interactedMask") int interactedMask, @Param("activeMask") int activeMask);
+}
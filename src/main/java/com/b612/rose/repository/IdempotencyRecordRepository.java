@@ -0,0 +1,27 @@
+package com.b612.rose.repository;
+
+import com.b612.rose.entity.domain.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+    // 먼저 기록된 결과를 유지
+    @Modifying
+    @Query(value = "INSERT INTO idempotency_record (idempotency_id, user_id, action, result_stage, created_at) " +
+            "VALUES (:idempotencyId, :userId, :action, :resultStage, now()) " +
+            "ON CONFLICT (idempotency_id) DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("idempotencyId") String idempotencyId, @Param("userId") UUID userId,
+                       @Param("action") String action, @Param("resultStage") String resultStage);
+
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.createdAt < :cutoff")
+    int deleteCreatedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -1,9 +1,18 @@
 package com.b612.rose.repository;
 
+import com.b612.rose.dto.response.NpcProfileResponse;
 import com.b612.rose.entity.domain.Npc;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface NpcRepository extends JpaRepository<Npc, Integer> {
+
+    // npc 와 프로필을 한 번에 조회, 프로필이 없는 npc 는 빈 설명
+    @Query("SELECT new com.b612.rose.dto.response.NpcProfileResponse(n.npcId, n.npcName, COALESCE(p.description, '')) " +
+            "FROM Npc n LEFT JOIN NpcProfile p ON p.npcId = n.npcId ORDER BY n.npcId")
+    List<NpcProfileResponse> findAllProfiles();
 }
@@ -0,0 +1,13 @@
+package com.b612.rose.repository;
+
+import com.b612.rose.entity.domain.ProgressEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface ProgressEventRepository extends JpaRepository<ProgressEvent, Long> {
+    List<ProgressEvent> findAllByUserIdOrderByEventIdAsc(UUID userId);
+}
@@ -1,8 +1,10 @@
 package com.b612.rose.repository;
 
 import com.b612.rose.entity.domain.UserInteraction;
-import com.b612.rose.entity.enums.InteractiveObjectType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -13,5 +15,22 @@ import java.util.UUID;
 public interface UserInteractionRepository extends JpaRepository<UserInteraction, Integer> {
     Optional<UserInteraction> findByUserIdAndObjectId(UUID userId, Integer objectId);
     List<UserInteraction> findAllByUserId(UUID userId);
-}
 
+    @Query("SELECT ui FROM UserInteraction ui JOIN FETCH ui.interactiveObject WHERE ui.userId = :userId")
+    List<UserInteraction> findAllWithObjectByUserId(@Param("userId") UUID userId);
+
+    // 행이 없으면 기본값(미상호작용, 의뢰서만 비활성)으로 보고, 처음 바뀔 때 만듦
+    @Modifying
+    @Query(value = "INSERT INTO user_interaction (user_id, object_id, has_interacted, is_active, interacted_at) " +
+            "SELECT :userId, o.object_id, true, true, now() FROM interactive_object o WHERE o.object_type = :objectType " +
+            "ON CONFLICT (user_id, object_id) DO UPDATE SET has_interacted = true, interacted_at = now()",
+            nativeQuery = true)
+    int upsertInteracted(@Param("userId") UUID userId, @Param("objectType") String objectType);
+
+    @Modifying
+    @Query(value = "INSERT INTO user_interaction (user_id, object_id, has_interacted, is_active) " +
+            "SELECT :userId, o.object_id, false, true FROM interactive_object o WHERE o.object_type = 'REQUEST_FORM' " +
+            "ON CONFLICT (user_id, object_id) DO UPDATE SET is_active = true WHERE user_interaction.is_active = false",
+            nativeQuery = true)
+    int activateRequestForm(@Param("userId") UUID userId);
+}
@@ -2,8 +2,13 @@ package com.b612.rose.repository;
 
 import com.b612.rose.entity.domain.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -11,4 +16,17 @@ import java.util.UUID;
 public interface UserRepository extends JpaRepository<User, UUID> {
     Optional<User> findByEmail(String email);
     boolean existsByEmail(String email);
+
+    @Query("SELECT u.userId FROM User u")
+    List<UUID> findAllUserIds();
+
+    @Query("SELECT u.userId FROM User u WHERE u.createdAt >= :since")
+    List<UUID> findUserIdsCreatedSince(@Param("since") LocalDateTime since);
+
+    // 완료 정보만 바꿈, 이름 등 나머지 컬럼은 다시 쓰지 않음
+    @Modifying
+    @Query("UPDATE User u SET u.email = :email, u.concern = :concern, u.selectedNpc = :selectedNpc, " +
+            "u.isCompleted = true WHERE u.userId = :userId")
+    int completeUser(@Param("userId") UUID userId, @Param("email") String email,
+                     @Param("concern") String concern, @Param("selectedNpc") String selectedNpc);
 }
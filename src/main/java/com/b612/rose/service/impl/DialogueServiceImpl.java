@@ -1,196 +1,128 @@
 package com.b612.rose.service.impl;
 
 import com.b612.rose.dto.response.DialogueResponse;
-import com.b612.rose.entity.domain.Dialogue;
-import com.b612.rose.entity.domain.User;
 import com.b612.rose.entity.enums.GameStage;
 import com.b612.rose.exception.BusinessException;
 import com.b612.rose.exception.ErrorCode;
-import com.b612.rose.repository.DialogueRepository;
-import com.b612.rose.repository.UserRepository;
 import com.b612.rose.service.service.DialogueService;
-import jakarta.annotation.PostConstruct;
+import com.b612.rose.utils.ContentCatalog;
+import com.b612.rose.utils.ContentSnapshot;
+import com.b612.rose.utils.DialogueFallbackLoader;
+import com.b612.rose.utils.DialogueTemplate;
+import com.b612.rose.utils.UserNameCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Optional;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class DialogueServiceImpl implements DialogueService {
 
-    private final DialogueRepository dialogueRepository;
-    private final UserRepository userRepository;
-
-    private final ConcurrentHashMap<String, List<Dialogue>> dialogueCache = new ConcurrentHashMap<>();
-
-    @PostConstruct
-    public void initCache() {
-        log.info("대화 데이터 캐싱 시작");
-        try {
-            // 모든 대화 유형을 스테이지와 함께 캐싱
-            for (GameStage stage : GameStage.values()) {
-                try {
-                    String dialogueType = getDialogueTypeForStage(stage);
-                    String cacheKey = "stage-" + stage.name();
-                    List<Dialogue> dialogues = dialogueRepository.findByDialogueTypeOrderByNpcId(dialogueType);
-                    if (!dialogues.isEmpty()) {
-                        dialogueCache.put(cacheKey, dialogues);
-                        log.info("게임 스테이지 '{}' 대화 데이터 캐싱 완료: {} 항목", stage.name(), dialogues.size());
-                    }
-                } catch (BusinessException e) {
-                    // 특정 스테이지에 대한 대화가 없는 경우는 무시하고 계속 진행
-                    log.warn("게임 스테이지 '{}' 대화 데이터 캐싱 건너뜀: {}", stage.name(), e.getMessage());
-                }
-            }
-
-            // 일반적으로 많이 사용되는 대화 미리 캐싱
-            String[] commonDialogueTypes = {"star_guide", "character_profile"};
-            for (String dialogueType : commonDialogueTypes) {
-                String cacheKey = "type-" + dialogueType;
-                List<Dialogue> dialogues = dialogueRepository.findByDialogueTypeOrderByNpcId(dialogueType);
-                if (!dialogues.isEmpty()) {
-                    dialogueCache.put(cacheKey, dialogues);
-                    log.info("대화 유형 '{}' 데이터 캐싱 완료: {} 항목", dialogueType, dialogues.size());
-                }
-            }
-
-            log.info("대화 데이터 캐싱 완료: 총 {} 개 유형", dialogueCache.size());
-        } catch (Exception e) {
-            log.error("대화 데이터 캐싱 중 오류 발생: {}", e.getMessage(), e);
-        }
-    }
-
+    private final UserNameCache userNameCache;
+    private final ContentCatalog contentCatalog;
+    private final DialogueFallbackLoader dialogueFallbackLoader;
 
     // 대화 유형에 따라 대화 내용 검색, npc 무관
     @Override
     public DialogueResponse getDialogueByType(String dialogueType, UUID userId) {
-        String cacheKey = "single-" + dialogueType;
-
-        List<Dialogue> cachedDialogues = dialogueCache.get(cacheKey);
-        Dialogue dialogue;
-
-        if (cachedDialogues != null && !cachedDialogues.isEmpty()) {
-            dialogue = cachedDialogues.get(0);
-        } else {
-            dialogue = dialogueRepository.findByDialogueType(dialogueType)
-                    .orElseThrow(() -> new BusinessException(ErrorCode.DIALOGUE_NOT_FOUND,
-                            "해당 대화를 찾을 수 없음: "+dialogueType));
-            dialogueCache.put(cacheKey, List.of(dialogue));
+        List<DialogueTemplate> templates = contentCatalog.current().getTypeDialogues(dialogueType);
+
+        if (templates == null) {
+            // 스냅샷 이후에 추가된 대화
+            templates = dialogueFallbackLoader.load(dialogueType);
+        }
+        if (templates.isEmpty()) {
+            throw new BusinessException(ErrorCode.DIALOGUE_NOT_FOUND,
+                    "해당 대화를 찾을 수 없음: "+dialogueType);
         }
 
-        return formatDialogueResponse(dialogue, userId);
+        return render(templates.get(0), userId);
     }
 
 
     // 대화 유형과 npc에 따라 대화 내용 검색
     @Override
     public DialogueResponse getDialogueByTypeAndNpcId(String dialogueType, Integer npcId, UUID userId) {
-        String cacheKey = "single-" + dialogueType + "-" + npcId;
-
-        List<Dialogue> cachedDialogues = dialogueCache.get(cacheKey);
-        Dialogue dialogue;
-
-        if (cachedDialogues != null && !cachedDialogues.isEmpty()) {
-            dialogue = cachedDialogues.get(0);
-        } else {
-            dialogue = dialogueRepository.findByDialogueTypeAndNpcId(dialogueType, npcId)
-                    .orElseThrow(() -> new BusinessException(ErrorCode.DIALOGUE_NOT_FOUND,
-                            "해당 대화를 찾을 수 없음: "+dialogueType+", npcId = "+npcId));
-            dialogueCache.put(cacheKey, List.of(dialogue));
+        ContentSnapshot snapshot = contentCatalog.current();
+        DialogueTemplate template = snapshot.getDialogue(dialogueType, npcId);
+
+        // 유형 자체가 스냅샷에 없을 때만 db 확인
+        if (template == null && snapshot.getTypeDialogues(dialogueType) == null) {
+            template = dialogueFallbackLoader.load(dialogueType).stream()
+                    .filter(candidate -> npcId.equals(candidate.getNpcId()))
+                    .findFirst()
+                    .orElse(null);
+        }
+        if (template == null) {
+            throw new BusinessException(ErrorCode.DIALOGUE_NOT_FOUND,
+                    "해당 대화를 찾을 수 없음: "+dialogueType+", npcId = "+npcId);
         }
 
-        return formatDialogueResponse(dialogue, userId);
+        return render(template, userId);
     }
 
     // 현재 게임 진척도에 맞는 대화 검색
     @Override
     public List<DialogueResponse> getDialoguesForCurrentStage(UUID userId, GameStage currentStage) {
-        String cacheKey = "stage-" + currentStage.name();
+        List<DialogueTemplate> templates = contentCatalog.current().getStageDialogues(currentStage);
 
-        List<Dialogue> cachedDialogues = dialogueCache.get(cacheKey);
-
-        if (cachedDialogues == null) {
-            String dialogueType = getDialogueTypeForStage(currentStage);
-            cachedDialogues = dialogueRepository.findByDialogueTypeOrderByNpcId(dialogueType);
-
-            if (cachedDialogues.isEmpty()) {
+        if (templates == null) {
+            String dialogueType = ContentSnapshot.dialogueTypeForStage(currentStage);
+            if (dialogueType == null) {
                 throw new BusinessException(ErrorCode.DIALOGUE_NOT_FOUND,
                         "해당 대화를 찾을 수 없음: "+currentStage);
             }
-
-            dialogueCache.put(cacheKey, cachedDialogues);
+            templates = loadTemplates(dialogueType, currentStage.name());
         }
 
-        return cachedDialogues.stream()
-                .map(dialogue -> formatDialogueResponse(dialogue, userId))
-                .collect(Collectors.toList());
+        return renderAll(templates, userId);
     }
 
     // 대화 유형에 따라 대화 내용 검색 (여러 개)
     @Override
     public List<DialogueResponse> getDialoguesByType(String dialogueType, UUID userId) {
-        String cacheKey = "type-" + dialogueType;
+        List<DialogueTemplate> templates = contentCatalog.current().getTypeDialogues(dialogueType);
 
-        List<Dialogue> cachedDialogues = dialogueCache.get(cacheKey);
+        if (templates == null) {
+            templates = loadTemplates(dialogueType, dialogueType);
+        }
 
-        if (cachedDialogues == null) {
-            cachedDialogues = dialogueRepository.findByDialogueTypeOrderByNpcId(dialogueType);
+        return renderAll(templates, userId);
+    }
 
-            if (cachedDialogues.isEmpty()) {
-                throw new BusinessException(ErrorCode.DIALOGUE_NOT_FOUND,
-                        "해당 대화를 찾을 수 없음: "+dialogueType);
-            }
+    private List<DialogueTemplate> loadTemplates(String dialogueType, String notFoundKey) {
+        List<DialogueTemplate> templates = dialogueFallbackLoader.load(dialogueType);
 
-            dialogueCache.put(cacheKey, cachedDialogues);
+        if (templates.isEmpty()) {
+            throw new BusinessException(ErrorCode.DIALOGUE_NOT_FOUND,
+                    "해당 대화를 찾을 수 없음: "+notFoundKey);
         }
 
-        return cachedDialogues.stream()
-                .map(dialogue -> formatDialogueResponse(dialogue, userId))
-                .collect(Collectors.toList());
+        return templates;
     }
 
-    // 진척도에 맞는 대화 유형 매핑
-    private String getDialogueTypeForStage(GameStage currentStage) {
-        return switch (currentStage) {
-            case GAME_START -> "tutorial";
-            case COLLECT_PRIDE -> "click_pride";
-            case COLLECT_ENVY -> "click_envy";
-            case DELIVER_ENVY -> "deliver_envy";
-            case COLLECT_LONELY -> "click_lonely";
-            case DELIVER_LONELY -> "deliver_lonely";
-            case COLLECT_SAD -> "click_sad";
-            case DELIVER_SAD -> "deliver_sad";
-            case REQUEST_INPUT -> "quest_end";
-            case NPC_SELECTION -> "pick_npc";
-            case GAME_COMPLETE -> "game_clear";
-            default -> throw new BusinessException(ErrorCode.DIALOGUE_NOT_FOUND,
-                    "해당 대화를 찾을 수 없음: "+currentStage);
-        };
+    private DialogueResponse render(DialogueTemplate template, UUID userId) {
+        return template.render(template.needsUserName() ? userNameCache.getUserName(userId) : null);
     }
 
-    // 대화 내용에 userName이 들어가야 하는 경우 포맷팅
-    private DialogueResponse formatDialogueResponse(Dialogue dialogue, UUID userId) {
-        String formattedText = dialogue.getDialogueText();
+    // 사용자 이름은 요청당 한 번만 조회, 이름이 필요 없는 대화뿐이면 조회 안 함
+    private List<DialogueResponse> renderAll(List<DialogueTemplate> templates, UUID userId) {
+        String userName = null;
+        boolean userNameLoaded = false;
 
-        Optional<User> userOptional = userRepository.findById(userId);
-        if (userOptional.isPresent()) {
-            User user = userOptional.get();
-            formattedText = formattedText.replace("{userName}", user.getUserName());
+        List<DialogueResponse> responses = new ArrayList<>(templates.size());
+        for (DialogueTemplate template : templates) {
+            if (template.needsUserName() && !userNameLoaded) {
+                userName = userNameCache.getUserName(userId);
+                userNameLoaded = true;
+            }
+            responses.add(template.render(userName));
         }
-
-        return DialogueResponse.builder()
-                .dialogueId(dialogue.getDialogueId())
-                .npcId(dialogue.getNpcId())
-                .npcName(dialogue.getNpc() != null ? dialogue.getNpc().getNpcName() : null)
-                .dialogueText(formattedText)
-                .build();
+        return responses;
     }
-}
\ No newline at end of file
+}
@@ -1,33 +1,55 @@
 package com.b612.rose.service.impl;
 
 import com.b612.rose.dto.request.EmailRequest;
+import com.b612.rose.entity.domain.EmailLog;
+import com.b612.rose.entity.enums.EmailStatus;
+import com.b612.rose.repository.EmailLogRepository;
 import com.b612.rose.service.service.EmailAsyncService;
-import com.b612.rose.service.service.EmailService;
+import com.b612.rose.utils.EmailQueueWorker;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class EmailAsyncServiceImpl implements EmailAsyncService {
-    private final EmailService emailService;
+    private final EmailLogRepository emailLogRepository;
+    private final EmailQueueWorker emailQueueWorker;
 
-    // 이메일 전송 비동기처리
-    @Async("taskExecutor")
+    // 이메일 전송 대기열에 등록, 실제 전송은 EmailQueueWorker 가 처리
+    // 호출한 쪽 트랜잭션에 함께 묶여서 커밋된 요청만 전송됨, 커밋 후 작업자를 바로 깨워 다음 주기를 기다리지 않음
     @Override
-    public void sendEmailAsync(UUID userId, EmailRequest request){
-        try {
-            log.info("비동기 이메일 전송 시작 - 사용자: {}, 이메일: {}", userId, request.getEmail());
-            boolean result = emailService.sendEmail(userId, request);
-            log.info("비동기 이메일 전송 완료 - 사용자: {}, 이메일: {}, 결과: {}",
-                    userId, request.getEmail(), result ? "성공" : "실패");
-        } catch (Exception e) {
-            log.error("비동기 이메일 전송 처리 중 예외 발생 - 사용자: {}, 이메일: {}, 오류: {}",
-                    userId, request.getEmail(), e.getMessage(), e);
+    public void enqueueEmail(UUID userId, EmailRequest request) {
+        LocalDateTime now = LocalDateTime.now();
+        EmailLog emailLog = EmailLog.builder()
+                .userId(userId)
+                .recipientEmail(request.getEmail())
+                .selectedNpc(request.getSelectedNpc())
+                .status(EmailStatus.PENDING)
+                .isDelivered(false)
+                .attempts(0)
+                .nextAttemptAt(now)
+                .createdAt(now)
+                .build();
+
+        emailLogRepository.save(emailLog);
+        log.info("이메일 전송 대기열 등록 - 사용자: {}, 이메일: {}", userId, request.getEmail());
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            emailQueueWorker.wakeUp();
+            return;
         }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                emailQueueWorker.wakeUp();
+            }
+        });
     }
 }
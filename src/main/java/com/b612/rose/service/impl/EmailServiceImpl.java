@@ -1,31 +1,24 @@
 package com.b612.rose.service.impl;
 
-import com.b612.rose.dto.request.EmailRequest;
 import com.b612.rose.entity.domain.EmailLog;
-import com.b612.rose.entity.domain.Star;
 import com.b612.rose.entity.domain.User;
-import com.b612.rose.entity.enums.StarType;
 import com.b612.rose.exception.BusinessException;
 import com.b612.rose.exception.ErrorCode;
-import com.b612.rose.repository.EmailLogRepository;
-import com.b612.rose.repository.StarRepository;
 import com.b612.rose.repository.UserRepository;
 import com.b612.rose.service.service.EmailService;
+import com.b612.rose.utils.EmailMessagePrototype;
 import com.b612.rose.utils.EmailTemplateManager;
+import com.b612.rose.utils.InlineImage;
+import com.b612.rose.utils.MailDispatcher;
 import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
-import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.core.io.ClassPathResource;
-import org.springframework.core.io.Resource;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
-import java.time.LocalDateTime;
-import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 @RequiredArgsConstructor
@@ -34,88 +27,50 @@ public class EmailServiceImpl implements EmailService {
 
     private final JavaMailSender mailSender;
     private final UserRepository userRepository;
-    private final EmailLogRepository emailLogRepository;
-    private final StarRepository starRepository;
     private final EmailTemplateManager emailTemplateManager;
+    private final MailDispatcher mailDispatcher;
 
-    // 이메일 전송 처리
+    // 대기열에서 꺼낸 메일을 만들어 dispatcher 로 넘김, 성공 시 제목을 돌려줌
+    // 결과 기록과 재시도는 EmailQueueWorker 에서 처리
     @Override
-    public boolean sendEmail(UUID userId, EmailRequest request) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new BusinessException(ErrorCode.USER_NOT_FOUND,
-                        "사용자를 찾을 수 없습니다: " + userId));
-
-        String npcName = request.getSelectedNpc();
-        String senderEmail = emailTemplateManager.getSenderEmail(npcName);
-
-        StarType starType = emailTemplateManager.getStarTypeForNpc(npcName);
-        Star star = starRepository.findByStarType(starType)
-                .orElseThrow(() -> new BusinessException(ErrorCode.STAR_NOT_FOUND,
-                        "해당 별을 찾을 수 없습니다: " + starType));
+    public CompletableFuture<String> sendQueuedEmail(EmailLog emailLog) {
+        try {
+            User user = userRepository.findById(emailLog.getUserId())
+                    .orElseThrow(() -> new BusinessException(ErrorCode.USER_NOT_FOUND,
+                            "사용자를 찾을 수 없습니다: " + emailLog.getUserId()));
 
-        String purifiedTypeName = star.getPurifiedType().getDescription();
-        String subject = emailTemplateManager.getSubject(npcName, purifiedTypeName);
-        String content = emailTemplateManager.getEmailContent(user, npcName);
+            // 별/제목/템플릿은 npc 원형에서 가져오므로 사용자 조회 외에는 db 를 읽지 않음
+            EmailMessagePrototype prototype = emailTemplateManager.getPrototype(emailLog.getSelectedNpc());
+            String senderEmail = prototype.getSenderEmail();
+            String subject = prototype.getSubject();
+            String content = prototype.renderContent(user);
 
-        try {
-            log.info("이메일 전송 시도: {} -> {}, 제목: {}", senderEmail, request.getEmail(), subject);
+            log.info("이메일 전송 시도: {} -> {}, 제목: {}, 시도: {}",
+                    senderEmail, emailLog.getRecipientEmail(), subject, emailLog.getAttempts() + 1);
 
             MimeMessage message = mailSender.createMimeMessage();
             MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
 
             helper.setFrom(senderEmail);
             helper.setReplyTo(senderEmail);
-            helper.setTo(request.getEmail());
+            helper.setTo(emailLog.getRecipientEmail());
             helper.setSubject(subject);
             helper.setText(content, true);
 
-            String imagePath = emailTemplateManager.getStarImagePath(npcName);
-            Resource imageResource = new ClassPathResource(imagePath);
-            String characterPath = emailTemplateManager.getCharacterImagePath(npcName);
-            Resource characterResource = new ClassPathResource(characterPath);
-            helper.addInline("starImage", imageResource);
-            helper.addInline("characterImage", characterResource);
-
-            mailSender.send(message);
-            log.info("이메일 전송 성공: {}", request.getEmail());
-
-            EmailLog emailLog = EmailLog.builder()
-                    .userId(userId)
-                    .recipientEmail(request.getEmail())
-                    .subject(subject)
-                    .sentAt(LocalDateTime.now())
-                    .isDelivered(true)
-                    .build();
-
-            emailLogRepository.save(emailLog);
+            // 미리 인코딩해 둔 이미지 파트를 붙임
+            for (InlineImage image : prototype.getInlineImages()) {
+                helper.getMimeMultipart().addBodyPart(image.toBodyPart());
+            }
 
-            return true;
+            return mailDispatcher.submit(message).thenApply(ignored -> subject);
 
         } catch (MessagingException e) {
-            log.error("이메일 전송 실패 (MessagingException): {}", e.getMessage(), e);
-            saveFailedEmailLog(userId, request.getEmail(), subject, content);
-            throw new BusinessException(ErrorCode.EMAIL_SENDING_FAILED, e.getMessage(), e);
-        } catch (Exception e) {
-            log.error("이메일 전송 실패 (일반 예외): {}", e.getMessage(), e);
-            saveFailedEmailLog(userId, request.getEmail(), subject, content);
-            throw new BusinessException(ErrorCode.EMAIL_SENDING_FAILED, e.getMessage(), e);
-        }
-    }
-
-    private void saveFailedEmailLog(UUID userId, String email, String subject, String content) {
-        try {
-            EmailLog failedLog = EmailLog.builder()
-                    .userId(userId)
-                    .recipientEmail(email)
-                    .subject(subject)
-                    .content(content)
-                    .sentAt(LocalDateTime.now())
-                    .isDelivered(false)
-                    .build();
-
-            emailLogRepository.save(failedLog);
+            log.error("이메일 작성 실패 (MessagingException): {}", e.getMessage(), e);
+            return CompletableFuture.failedFuture(
+                    new BusinessException(ErrorCode.EMAIL_SENDING_FAILED, e.getMessage(), e));
         } catch (Exception e) {
-            log.error("이메일 로그 저장 실패: {}", e.getMessage(), e);
+            log.error("이메일 작성 실패 (일반 예외): {}", e.getMessage(), e);
+            return CompletableFuture.failedFuture(e);
         }
     }
 }
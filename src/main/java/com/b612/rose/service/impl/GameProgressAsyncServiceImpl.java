@@ -1,117 +1,41 @@
 package com.b612.rose.service.impl;
 
 import com.b612.rose.dto.request.StarActionRequest;
-import com.b612.rose.entity.domain.GameProgress;
-import com.b612.rose.entity.domain.Star;
 import com.b612.rose.entity.enums.GameStage;
 import com.b612.rose.entity.enums.StarType;
-import com.b612.rose.exception.BusinessException;
-import com.b612.rose.exception.ErrorCode;
-import com.b612.rose.repository.GameProgressRepository;
-import com.b612.rose.repository.StarRepository;
 import com.b612.rose.service.service.GameProgressAsyncService;
-import com.b612.rose.utils.GameStateManager;
-import jakarta.transaction.Transactional;
+import com.b612.rose.utils.GameProgressWriteQueue;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
 import java.util.UUID;
 
+// db 반영은 write-behind 큐가 모아서 처리, 여기서는 적재만 함
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class GameProgressAsyncServiceImpl implements GameProgressAsyncService {
-    private final GameProgressRepository gameProgressRepository;
-    private final StarRepository starRepository;
-    private final GameStateManager gameStateManager;
+    private final GameProgressWriteQueue gameProgressWriteQueue;
 
-    @Async("taskExecutor")
-    @Transactional
     @Override
-    public void updateGameStageAsync(UUID userId, Integer progressId, GameStage newStage) {
-        try {
-            GameProgress updatedProgress = GameProgress.builder()
-                    .progressId(progressId)
-                    .userId(userId)
-                    .currentStage(newStage)
-                    .build();
-
-            gameProgressRepository.save(updatedProgress);
-
-            log.info("비동기 게임 스테이지 업데이트 완료: userId={}, stage={}", userId, newStage);
-        } catch (Exception e) {
-            log.error("비동기 게임 스테이지 업데이트 실패: userId={}, stage={}, error={}",
-                    userId, newStage, e.getMessage(), e);
-        }
+    public void enqueueGameStage(UUID userId, GameStage newStage) {
+        gameProgressWriteQueue.enqueueStage(userId, newStage);
+        log.info("게임 스테이지 업데이트 적재: userId={}, stage={}", userId, newStage);
     }
 
-    @Async("taskExecutor")
-    @Transactional
     @Override
-    public void processStarCollectionAsync(UUID userId, StarActionRequest request, GameStage newStage) {
-        try {
-            log.info("비동기 별 수집 처리 시작: userId={}, starType={}", userId, request.getStarType());
-
-            Star star = starRepository.findByStarType(request.getStarType())
-                    .orElseThrow(() -> new BusinessException(ErrorCode.STAR_NOT_FOUND,
-                            "해당 별을 찾을 수 없음: " + request.getStarType()));
-
-            gameStateManager.markStarAsCollected(userId, request.getStarType());
-
-            if (request.getStarType() == StarType.PRIDE) {
-                gameStateManager.markStarAsDelivered(userId, request.getStarType());
-            }
-
-            GameProgress currentProgress = gameProgressRepository.findByUserId(userId)
-                    .orElseThrow(() -> new BusinessException(ErrorCode.GAME_PROGRESS_NOT_FOUND,
-                            "게임 진척도를 찾을 수 없음. 사용자 ID: "+userId));
-
-            GameProgress updatedProgress = GameProgress.builder()
-                    .progressId(currentProgress.getProgressId())
-                    .userId(userId)
-                    .currentStage(newStage)
-                    .build();
-
-            gameProgressRepository.save(updatedProgress);
-
-            log.info("비동기 별 수집 처리 완료: userId={}, starType={}", userId, request.getStarType());
-        } catch (Exception e) {
-            log.error("비동기 별 수집 처리 실패: userId={}, starType={}, error={}",
-                    userId, request.getStarType(), e.getMessage(), e);
-        }
+    public void enqueueStarCollection(UUID userId, StarActionRequest request, GameStage newStage) {
+        StarType starType = request.getStarType();
+        // 교만의 별은 줍는 즉시 전달까지 처리
+        gameProgressWriteQueue.enqueueStarAction(userId, starType, true, starType == StarType.PRIDE, newStage);
+        log.info("별 수집 적재: userId={}, starType={}", userId, starType);
     }
 
-    @Async("taskExecutor")
-    @Transactional
     @Override
-    public void processStarDeliveryAsync(UUID userId, StarActionRequest request, GameStage newStage) {
-        try {
-            log.info("비동기 별 전달 처리 시작: userId={}, starType={}", userId, request.getStarType());
-
-            Star star = starRepository.findByStarType(request.getStarType())
-                    .orElseThrow(() -> new BusinessException(ErrorCode.STAR_NOT_FOUND,
-                            "해당 별을 찾을 수 없음: " + request.getStarType()));
-
-            gameStateManager.markStarAsDelivered(userId, request.getStarType());
-
-            GameProgress currentProgress = gameProgressRepository.findByUserId(userId)
-                    .orElseThrow(() -> new BusinessException(ErrorCode.GAME_PROGRESS_NOT_FOUND,
-                            "게임 진척도를 찾을 수 없음. 사용자 ID: "+userId));
-
-            GameProgress updatedProgress = GameProgress.builder()
-                    .progressId(currentProgress.getProgressId())
-                    .userId(userId)
-                    .currentStage(newStage)
-                    .build();
-
-            gameProgressRepository.save(updatedProgress);
-
-            log.info("비동기 별 전달 처리 완료: userId={}, starType={}", userId, request.getStarType());
-        } catch (Exception e) {
-            log.error("비동기 별 전달 처리 실패: userId={}, starType={}, error={}",
-                    userId, request.getStarType(), e.getMessage(), e);
-        }
+    public void enqueueStarDelivery(UUID userId, StarActionRequest request, GameStage newStage) {
+        StarType starType = request.getStarType();
+        gameProgressWriteQueue.enqueueStarAction(userId, starType, false, true, newStage);
+        log.info("별 전달 적재: userId={}, starType={}", userId, starType);
     }
 }
@@ -18,11 +18,13 @@ import com.b612.rose.exception.ErrorCode;
 import com.b612.rose.repository.*;
 import com.b612.rose.service.service.*;
 import com.b612.rose.utils.GameStateManager;
+import com.b612.rose.utils.IdempotencyStore;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.List;
 import java.util.UUID;
@@ -39,73 +41,105 @@ public class GameProgressServiceImpl implements GameProgressService {
     private final GameStateManager gameStateManager;
     private final EmailAsyncService emailAsyncService;
     private final GameProgressAsyncService gameProgressAsyncService;
+    private final TransactionTemplate transactionTemplate;
+    private final IdempotencyStore idempotencyStore;
 
     // 게임 진척도 업데이트
     @Override
     @Transactional
     public GameStateResponse updateGameStage(UUID userId, GameStageUpdateRequest request) {
-        GameProgress currentProgress = gameProgressRepository.findByUserId(userId)
-                .orElseThrow(() -> new BusinessException(ErrorCode.GAME_PROGRESS_NOT_FOUND,
-                        "게임 진척도를 찾을 수 없음. 사용자 ID: " + userId));
+        if (!gameProgressRepository.existsByUserId(userId)) {
+            throw new BusinessException(ErrorCode.GAME_PROGRESS_NOT_FOUND,
+                    "게임 진척도를 찾을 수 없음. 사용자 ID: " + userId);
+        }
 
+        // 스테이지는 앞으로만 진행, 이전 스테이지 요청이면 현재 스테이지로 응답
         GameStage newStage = request.getNewStage();
-        gameStateManager.updateMemoryStage(userId, newStage);
-        List<DialogueResponse> dialogues = dialogueService.getDialoguesForCurrentStage(userId, newStage);
+        GameStage currentStage = gameStateManager.updateMemoryStage(userId, newStage);
+        List<DialogueResponse> dialogues = dialogueService.getDialoguesForCurrentStage(userId, currentStage);
 
         GameStateResponse response = GameStateResponse.builder()
                 .userId(userId)
-                .currentStage(newStage)
+                .currentStage(currentStage)
                 .dialogues(dialogues)
                 .build();
 
-        gameProgressAsyncService.updateGameStageAsync(userId, currentProgress.getProgressId(), newStage);
+        if (currentStage == newStage) {
+            gameProgressAsyncService.enqueueGameStage(userId, newStage);
+        }
         return response;
     }
 
     // 별 수집 처리
+    // Idempotency-Key 가 같은 재시도는 기록된 결과로 응답, 이미 수집한 별이면 상태를 되돌리거나 다시 쓰지 않음
     @Override
     @Transactional
-    public GameStateResponse onStarCollected(UUID userId, StarActionRequest request) {
+    public GameStateResponse onStarCollected(UUID userId, StarActionRequest request, String idempotencyKey) {
         StarType starType = request.getStarType();
-        GameStage newStage = gameStateManager.getCollectStageForStar(starType);
-
-        gameStateManager.updateMemoryStage(userId, newStage);
-        gameStateManager.updateMemoryGameState(userId, starType, true, starType == StarType.PRIDE);
-
-        List<DialogueResponse> dialogues = dialogueService.getDialoguesForCurrentStage(userId, newStage);
-
-        GameStateResponse immediateResponse = GameStateResponse.builder()
-                .userId(userId)
-                .currentStage(newStage)
-                .dialogues(dialogues)
-                .build();
-
-        gameProgressAsyncService.processStarCollectionAsync(userId, request, newStage);
-
-        return immediateResponse;
+        GameStage newStage = idempotencyStore.execute(userId, "collect:" + starType, idempotencyKey, () -> {
+            GameStage stage = gameStateManager.getCollectStageForStar(starType);
+            boolean delivered = starType == StarType.PRIDE;
+            if (gameStateManager.isStarActionApplied(userId, starType, false, stage)) {
+                return gameStateManager.getCurrentStage(userId);
+            }
+            if (isKeyed(idempotencyKey) && !gameStateManager.claimStarAction(userId, starType, true, delivered)) {
+                return alreadyApplied(userId, starType, true, delivered, stage);
+            }
+
+            GameStage currentStage = gameStateManager.updateMemoryStage(userId, stage);
+            gameStateManager.updateMemoryGameState(userId, starType, true, delivered);
+            gameProgressAsyncService.enqueueStarCollection(userId, request, stage);
+            return currentStage;
+        });
+
+        return buildStateResponse(userId, newStage);
     }
 
     // 별 전달 처리
     @Override
     @Transactional
-    public GameStateResponse onStarDelivered(UUID userId, StarActionRequest request) {
+    public GameStateResponse onStarDelivered(UUID userId, StarActionRequest request, String idempotencyKey) {
         StarType starType = request.getStarType();
-        GameStage newStage = gameStateManager.getDeliverStageForStar(starType);
+        GameStage newStage = idempotencyStore.execute(userId, "deliver:" + starType, idempotencyKey, () -> {
+            GameStage stage = gameStateManager.getDeliverStageForStar(starType);
+            if (gameStateManager.isStarActionApplied(userId, starType, true, stage)) {
+                return gameStateManager.getCurrentStage(userId);
+            }
+            if (isKeyed(idempotencyKey) && !gameStateManager.claimStarAction(userId, starType, false, true)) {
+                return alreadyApplied(userId, starType, false, true, stage);
+            }
+
+            // 전달은 수집된 별에만 반영 (db 와 같은 규칙), 수집하지 않은 별을 전달로 채우지 않음
+            GameStage currentStage = gameStateManager.updateMemoryStage(userId, stage);
+            gameStateManager.updateMemoryGameState(userId, starType, false, true);
+            gameProgressAsyncService.enqueueStarDelivery(userId, request, stage);
+            return currentStage;
+        });
+
+        return buildStateResponse(userId, newStage);
+    }
 
-        gameStateManager.updateMemoryStage(userId, newStage);
-        gameStateManager.updateMemoryGameState(userId, starType, true, true);
+    // 다른 요청이 먼저 db 에 반영한 별 동작, 다시 쓰지 않고 그 요청이 기록한 것과 같은 결과로 응답
+    // 이 서버의 메모리 상태만 맞춰 둠
+    private GameStage alreadyApplied(UUID userId, StarType starType, boolean collected, boolean delivered,
+                                     GameStage stage) {
+        log.info("먼저 반영된 별 동작, 반영된 결과로 응답: userId={}, starType={}", userId, starType);
+        gameStateManager.updateMemoryGameState(userId, starType, collected, delivered);
+        return gameStateManager.updateMemoryStage(userId, stage);
+    }
 
-        List<DialogueResponse> dialogues = dialogueService.getDialoguesForCurrentStage(userId, newStage);
+    private static boolean isKeyed(String idempotencyKey) {
+        return idempotencyKey != null && !idempotencyKey.isBlank();
+    }
+
+    private GameStateResponse buildStateResponse(UUID userId, GameStage stage) {
+        List<DialogueResponse> dialogues = dialogueService.getDialoguesForCurrentStage(userId, stage);
 
-        GameStateResponse immediateResponse = GameStateResponse.builder()
+        return GameStateResponse.builder()
                 .userId(userId)
-                .currentStage(newStage)
+                .currentStage(stage)
                 .dialogues(dialogues)
                 .build();
-
-        gameProgressAsyncService.processStarDeliveryAsync(userId, request, newStage);
-
-        return immediateResponse;
     }
 
     @Override
@@ -131,16 +165,11 @@ public class GameProgressServiceImpl implements GameProgressService {
                 .build();
     }
 
-    // 게임 완료 처리, 이메일 전송 처리 -> 로직 꾸진 거 보니 고쳐야할듯
+    // 게임 완료 처리, 이메일 전송 처리
+    // 검증은 요청 값과 메모리 상태로 먼저 하고, db 쓰기(사용자 완료 + 메일 대기열 등록)만 짧은 트랜잭션으로 묶음
+    // 메모리 스테이지와 메일 작업자 깨우기는 커밋이 끝난 뒤에만 진행
     @Override
-    @Transactional
     public GameStateResponse completeGameAndSendEmail(UUID userId, EmailRequest request) {
-        if (!gameStateManager.areAllStarsCollectedAndDelivered(userId)) {
-            log.error("모든 별이 수집 및 전달되지 않았습니다. userId: {}", userId);
-            throw new BusinessException(ErrorCode.STARS_NOT_COMPLETED,
-                    "모든 별이 수집 및 전달되지 않았습니다.");
-        }
-
         if (request.getEmail() == null || request.getEmail().isBlank()) {
             log.error("이메일 주소가 비어있습니다. userId: {}", userId);
             throw new BusinessException(ErrorCode.EMAIL_REQUIRED,
@@ -153,15 +182,21 @@ public class GameProgressServiceImpl implements GameProgressService {
                     "NPC를 선택해야 합니다.");
         }
 
+        if (!gameStateManager.areAllStarsCollectedAndDelivered(userId)) {
+            log.error("모든 별이 수집 및 전달되지 않았습니다. userId: {}", userId);
+            throw new BusinessException(ErrorCode.STARS_NOT_COMPLETED,
+                    "모든 별이 수집 및 전달되지 않았습니다.");
+        }
+
         log.info("게임 완료 처리 - 사용자: {}, 이메일: {}, 선택한 NPC: {}",
                 userId, request.getEmail(), request.getSelectedNpc());
 
-        gameStateManager.updateMemoryStage(userId, GameStage.GAME_COMPLETE);
-        gameStateManager.completeGame(userId, request.getEmail(), request.getConcern(), request.getSelectedNpc());
-        GameStateResponse response = getCurrentGameState(userId);
-
-        emailAsyncService.sendEmailAsync(userId, request);
+        transactionTemplate.executeWithoutResult(status -> {
+            gameStateManager.completeGame(userId, request.getEmail(), request.getConcern(), request.getSelectedNpc());
+            emailAsyncService.enqueueEmail(userId, request);
+        });
 
-        return response;
+        gameStateManager.updateMemoryStage(userId, GameStage.GAME_COMPLETE);
+        return getCurrentGameState(userId);
     }
 }
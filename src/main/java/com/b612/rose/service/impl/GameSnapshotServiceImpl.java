@@ -0,0 +1,130 @@
+package com.b612.rose.service.impl;
+
+import com.b612.rose.dto.response.DialogueResponse;
+import com.b612.rose.dto.response.GameSnapshotResponse;
+import com.b612.rose.dto.response.ObjectStatusResponse;
+import com.b612.rose.entity.domain.CollectedStar;
+import com.b612.rose.entity.domain.GameProgress;
+import com.b612.rose.entity.domain.GameStateSnapshot;
+import com.b612.rose.entity.domain.UserInteraction;
+import com.b612.rose.entity.enums.GameStage;
+import com.b612.rose.entity.enums.InteractiveObjectType;
+import com.b612.rose.exception.BusinessException;
+import com.b612.rose.exception.ErrorCode;
+import com.b612.rose.repository.CollectedStarRepository;
+import com.b612.rose.repository.GameProgressRepository;
+import com.b612.rose.repository.GameStateSnapshotRepository;
+import com.b612.rose.repository.UserInteractionRepository;
+import com.b612.rose.service.service.DialogueService;
+import com.b612.rose.service.service.GameSnapshotService;
+import com.b612.rose.utils.GameStateCache;
+import com.b612.rose.utils.GameStateManager;
+import com.b612.rose.utils.PendingProgress;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class GameSnapshotServiceImpl implements GameSnapshotService {
+
+    private final GameStateSnapshotRepository gameStateSnapshotRepository;
+    private final GameProgressRepository gameProgressRepository;
+    private final CollectedStarRepository collectedStarRepository;
+    private final UserInteractionRepository userInteractionRepository;
+    private final GameStateManager gameStateManager;
+    private final DialogueService dialogueService;
+
+    // 스냅샷 한 행 조회로 게임 상태 전체 반환
+    @Override
+    @Transactional
+    public GameSnapshotResponse getSnapshot(UUID userId) {
+        GameStateSnapshot snapshot = gameStateSnapshotRepository.findById(userId)
+                .orElseGet(() -> rebuildSnapshot(userId));
+
+        GameStage currentStage = snapshot.getCurrentStage();
+        int collectedMask = snapshot.getCollectedMask();
+        int deliveredMask = snapshot.getDeliveredMask();
+
+        // 메모리 상태가 있으면 아직 db에 반영 전인 최신 변경까지 포함 (스테이지는 더 진행된 쪽)
+        GameStateCache resident = gameStateManager.getResidentState(userId);
+        if (resident != null) {
+            currentStage = PendingProgress.laterStage(currentStage, resident.getCurrentStage());
+            collectedMask |= resident.getCollectedMask();
+            deliveredMask |= resident.getDeliveredMask();
+        }
+
+        List<ObjectStatusResponse> objectStatuses = new ArrayList<>();
+        for (InteractiveObjectType objectType : InteractiveObjectType.values()) {
+            int bit = GameStateSnapshot.objectBit(objectType);
+            objectStatuses.add(ObjectStatusResponse.builder()
+                    .objectType(objectType)
+                    .hasInteracted((snapshot.getInteractedMask() & bit) != 0)
+                    .isActive((snapshot.getActiveMask() & bit) != 0)
+                    .build());
+        }
+
+        List<DialogueResponse> dialogues = currentStage == GameStage.INTRO ?
+                Collections.emptyList() :
+                dialogueService.getDialoguesForCurrentStage(userId, currentStage);
+
+        return GameSnapshotResponse.builder()
+                .userId(userId)
+                .currentStage(currentStage)
+                .collectedMask(collectedMask)
+                .deliveredMask(deliveredMask)
+                .objectStatuses(objectStatuses)
+                .dialogues(dialogues)
+                .build();
+    }
+
+    // 스냅샷이 생기기 전부터 있던 사용자는 원본 테이블에서 한 번 만들어 둠
+    private GameStateSnapshot rebuildSnapshot(UUID userId) {
+        GameStage currentStage = gameProgressRepository.findByUserId(userId)
+                .map(GameProgress::getCurrentStage)
+                .orElseThrow(() -> new BusinessException(ErrorCode.GAME_PROGRESS_NOT_FOUND,
+                        "게임 진척도를 찾을 수 없음. userId: " + userId));
+
+        int collectedMask = 0;
+        int deliveredMask = 0;
+        for (CollectedStar star : collectedStarRepository.findAllWithStarByUserId(userId)) {
+            int bit = GameStateCache.bitOf(star.getStar().getStarType());
+            if (star.isCollected()) {
+                collectedMask |= bit;
+            }
+            if (star.isDelivered()) {
+                deliveredMask |= bit;
+            }
+        }
+
+        int interactedMask = 0;
+        int activeMask = GameStateSnapshot.defaultActiveMask();
+        for (UserInteraction interaction : userInteractionRepository.findAllWithObjectByUserId(userId)) {
+            int bit = GameStateSnapshot.objectBit(interaction.getInteractiveObject().getObjectType());
+            if (interaction.isHasInteracted()) {
+                interactedMask |= bit;
+            }
+            activeMask = interaction.isActive() ? activeMask | bit : activeMask & ~bit;
+        }
+
+        gameStateSnapshotRepository.upsert(userId, currentStage,
+                collectedMask, deliveredMask, interactedMask, activeMask);
+        log.info("게임 상태 스냅샷 생성: userId={}", userId);
+
+        return GameStateSnapshot.builder()
+                .userId(userId)
+                .currentStage(currentStage)
+                .collectedMask(collectedMask)
+                .deliveredMask(deliveredMask)
+                .interactedMask(interactedMask)
+                .activeMask(activeMask)
+                .build();
+    }
+}
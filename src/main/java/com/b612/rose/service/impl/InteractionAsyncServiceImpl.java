@@ -1,65 +1,57 @@
 package com.b612.rose.service.impl;
 
-import com.b612.rose.entity.domain.InteractiveObject;
-import com.b612.rose.entity.domain.UserInteraction;
+import com.b612.rose.entity.domain.GameStateSnapshot;
 import com.b612.rose.entity.enums.InteractiveObjectType;
 import com.b612.rose.exception.BusinessException;
 import com.b612.rose.exception.ErrorCode;
-import com.b612.rose.repository.InteractiveObjectRepository;
+import com.b612.rose.repository.GameStateSnapshotRepository;
 import com.b612.rose.repository.UserInteractionRepository;
 import com.b612.rose.service.service.InteractionAsyncService;
-import jakarta.transaction.Transactional;
+import com.b612.rose.utils.UserLaneExecutor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.time.LocalDateTime;
 import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class InteractionAsyncServiceImpl implements InteractionAsyncService {
 
-    private final InteractiveObjectRepository interactiveObjectRepository;
     private final UserInteractionRepository userInteractionRepository;
+    private final GameStateSnapshotRepository gameStateSnapshotRepository;
+    private final UserLaneExecutor userLaneExecutor;
+    private final TransactionTemplate transactionTemplate;
 
-    @Async("taskExecutor")
-    @Transactional
+    // 상호작용 행은 처음 상호작용할 때 만들어짐
+    // 같은 사용자의 상호작용은 lane 에서 요청 순서대로 반영, lane 이나 실행기가 가득 차면 기록을 건너뜀
     @Override
     public void updateInteractionAsync(UUID userId, InteractiveObjectType objectType) {
         try {
-            log.info("비동기 사용자 상호작용 기록 시작: userId={}, objectType={}", userId, objectType);
-
-            InteractiveObject object = interactiveObjectRepository.findByObjectType(objectType)
-                    .orElseThrow(() -> new BusinessException(ErrorCode.OBJECT_NOT_FOUND,
-                            "오브젝트를 찾을 수 없습니다: " + objectType));
+            userLaneExecutor.execute(userId, () -> recordInteraction(userId, objectType));
+        } catch (RejectedExecutionException e) {
+            log.warn("비동기 사용자 상호작용 기록 거절: userId={}, objectType={}, error={}",
+                    userId, objectType, e.getMessage());
+        }
+    }
 
-            UserInteraction interaction = userInteractionRepository
-                    .findByUserIdAndObjectId(userId, object.getObjectId())
-                    .orElse(null);
+    private void recordInteraction(UUID userId, InteractiveObjectType objectType) {
+        try {
+            log.info("비동기 사용자 상호작용 기록 시작: userId={}, objectType={}", userId, objectType);
 
-            if (interaction == null) {
-                interaction = UserInteraction.builder()
-                        .userId(userId)
-                        .objectId(object.getObjectId())
-                        .hasInteracted(true)
-                        .isActive(true)
-                        .interactedAt(LocalDateTime.now())
-                        .build();
-            } else {
-                interaction = UserInteraction.builder()
-                        .interactionId(interaction.getInteractionId())
-                        .userId(interaction.getUserId())
-                        .objectId(interaction.getObjectId())
-                        .hasInteracted(true)
-                        .isActive(interaction.isActive())
-                        .interactedAt(LocalDateTime.now())
-                        .build();
-            }
+            transactionTemplate.executeWithoutResult(status -> {
+                int updated = userInteractionRepository.upsertInteracted(userId, objectType.name());
+                if (updated == 0) {
+                    throw new BusinessException(ErrorCode.OBJECT_NOT_FOUND,
+                            "오브젝트를 찾을 수 없습니다: " + objectType);
+                }
+                gameStateSnapshotRepository.mergeState(userId, null, 0, 0,
+                        GameStateSnapshot.objectBit(objectType), 0);
+            });
 
-            userInteractionRepository.save(interaction);
             log.info("비동기 사용자 상호작용 기록 완료: userId={}, objectType={}", userId, objectType);
         } catch (Exception e) {
             log.error("비동기 사용자 상호작용 기록 실패: userId={}, objectType={}, error={}",
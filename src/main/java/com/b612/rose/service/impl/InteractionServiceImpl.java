@@ -9,7 +9,7 @@ import com.b612.rose.repository.*;
 import com.b612.rose.service.service.DialogueService;
 import com.b612.rose.service.service.InteractionAsyncService;
 import com.b612.rose.service.service.InteractionService;
-import jakarta.annotation.PostConstruct;
+import com.b612.rose.utils.ContentCatalog;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -17,49 +17,33 @@ import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class InteractionServiceImpl implements InteractionService {
-    private final InteractiveObjectRepository interactiveObjectRepository;
     private final UserInteractionRepository userInteractionRepository;
-    private final StarGuideEntryRepository starGuideEntryRepository;
-    private final NpcRepository npcRepository;
     private final DialogueService dialogueService;
-    private final NpcProfileRepository npcProfileRepository;
     private final InteractionAsyncService interactionAsyncService;
+    private final ContentCatalog contentCatalog;
 
-    private final ConcurrentHashMap<String, List<StarGuideEntry>> starGuideCache = new ConcurrentHashMap<>();
-
-    // 서버 킬 때 데이터 미리 캐싱
-    @PostConstruct
-    public void initCache() {
-        log.info("별 도감 데이터 캐싱 시작");
-        try {
-            String cacheKey = "star-guide-entries";
-            List<StarGuideEntry> allEntries = starGuideEntryRepository.findAllByOrderByOrderIndexAsc();
-            starGuideCache.put(cacheKey, allEntries);
-            log.info("별 도감 데이터 캐싱 완료: {} 항목 로드됨", allEntries.size());
-        } catch (Exception e) {
-            log.error("별 도감 데이터 캐싱 중 오류 발생: {}", e.getMessage(), e);
-        }
-    }
-
-    // 오브젝트 상태 반환
+    // 오브젝트 상태 반환: 오브젝트 목록은 컨텐츠 스냅샷, 사용자 상호작용은 한 번에 조회
     @Override
     public List<ObjectStatusResponse> getObjectStatus(UUID userId) {
-        List<ObjectStatusResponse> responses = new ArrayList<>();
+        Map<Integer, UserInteraction> interactionsByObjectId = new HashMap<>();
+        for (UserInteraction interaction : userInteractionRepository.findAllByUserId(userId)) {
+            interactionsByObjectId.put(interaction.getObjectId(), interaction);
+        }
 
-        List<InteractiveObject> objects = interactiveObjectRepository.findAll();
-        for (InteractiveObject object : objects) {
-            Optional<UserInteraction> interactionOpt = userInteractionRepository
-                    .findByUserIdAndObjectId(userId, object.getObjectId());
+        List<ObjectStatusResponse> responses = new ArrayList<>();
+        for (InteractiveObject object : contentCatalog.current().getInteractiveObjects()) {
+            UserInteraction interaction = interactionsByObjectId.get(object.getObjectId());
 
-            boolean hasInteracted = interactionOpt.map(UserInteraction::isHasInteracted).orElse(false);
-            boolean isActive = interactionOpt.map(UserInteraction::isActive).orElse(false);
+            // 행이 없으면 기본 상태: 상호작용 안 함, 의뢰서만 비활성
+            boolean hasInteracted = interaction != null && interaction.isHasInteracted();
+            boolean isActive = interaction != null ?
+                    interaction.isActive() :
+                    object.getObjectType() != InteractiveObjectType.REQUEST_FORM;
 
             responses.add(ObjectStatusResponse.builder()
                     .objectType(object.getObjectType())
@@ -83,13 +67,7 @@ public class InteractionServiceImpl implements InteractionService {
                 dialogueService.getDialoguesByType("star_guide", userId) :
                 Collections.emptyList();
 
-        String cacheKey = "star-guide-entries";
-        List<StarGuideEntry> allEntries = starGuideCache.get(cacheKey);
-
-        if (allEntries == null) {
-            allEntries = starGuideEntryRepository.findAllByOrderByOrderIndexAsc();
-            starGuideCache.put(cacheKey, allEntries);
-        }
+        List<StarGuideEntryResponse> allEntries = contentCatalog.current().getStarGuideEntries();
 
         // 페이징
         final int ENTRIES_PER_PAGE = 4;
@@ -104,16 +82,7 @@ public class InteractionServiceImpl implements InteractionService {
         int startIndex = page * ENTRIES_PER_PAGE;
         int endIndex = Math.min(startIndex + ENTRIES_PER_PAGE, allEntries.size());
 
-        List<StarGuideEntry> pageEntries = allEntries.subList(startIndex, endIndex);
-
-        List<StarGuideEntryResponse> entryResponses = pageEntries.stream()
-                .map(entry -> StarGuideEntryResponse.builder()
-                        .entryId(entry.getEntryId())
-                        .starName(entry.getStarName())
-                        .starSource(entry.getStarSource())
-                        .description(entry.getDescription())
-                        .build())
-                .collect(Collectors.toList());
+        List<StarGuideEntryResponse> entryResponses = allEntries.subList(startIndex, endIndex);
 
         return StarGuideResponse.builder()
                 .dialogues(dialogues)
@@ -130,20 +99,7 @@ public class InteractionServiceImpl implements InteractionService {
         interactionAsyncService.updateInteractionAsync(userId, InteractiveObjectType.CHARACTER_PROFILE);
         List<DialogueResponse> dialogues = dialogueService.getDialoguesByType("character_profile", userId);
 
-        List<Npc> npcs = npcRepository.findAll();
-        List<NpcProfileResponse> profileResponses = npcs.stream()
-                .map(npc -> {
-                    Optional<NpcProfile> profileOpt = npcProfileRepository.findByNpcId(npc.getNpcId());
-
-                    String description = profileOpt.map(NpcProfile::getDescription).orElse("");
-
-                    return NpcProfileResponse.builder()
-                            .npcId(npc.getNpcId())
-                            .npcName(npc.getNpcName())
-                            .description(description)
-                            .build();
-                })
-                .collect(Collectors.toList());
+        List<NpcProfileResponse> profileResponses = contentCatalog.current().getNpcProfiles();
 
         return CharacterProfileResponse.builder()
                 .dialogues(dialogues)
@@ -155,9 +111,10 @@ public class InteractionServiceImpl implements InteractionService {
     @Override
     @Transactional
     public List<DialogueResponse> getRequestForm(UUID userId) {
-        InteractiveObject requestFormObject = interactiveObjectRepository.findByObjectType(InteractiveObjectType.REQUEST_FORM)
-                .orElseThrow(() -> new BusinessException(ErrorCode.OBJECT_NOT_FOUND,
-                        "오브젝트를 찾을 수 없습니다: 의뢰서"));
+        InteractiveObject requestFormObject = contentCatalog.current().getInteractiveObject(InteractiveObjectType.REQUEST_FORM);
+        if (requestFormObject == null) {
+            throw new BusinessException(ErrorCode.OBJECT_NOT_FOUND, "오브젝트를 찾을 수 없습니다: 의뢰서");
+        }
 
         Optional<UserInteraction> interactionOpt = userInteractionRepository
                 .findByUserIdAndObjectId(userId, requestFormObject.getObjectId());
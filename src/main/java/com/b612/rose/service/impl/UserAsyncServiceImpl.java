@@ -1,38 +1,43 @@
 package com.b612.rose.service.impl;
 
-import com.b612.rose.entity.domain.GameProgress;
-import com.b612.rose.entity.enums.GameStage;
-import com.b612.rose.repository.GameProgressRepository;
 import com.b612.rose.service.service.UserAsyncService;
 import com.b612.rose.utils.GameStateManager;
-import jakarta.transaction.Transactional;
+import com.b612.rose.utils.UserLaneExecutor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
 import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class UserAsyncServiceImpl implements UserAsyncService {
 
-    private final GameProgressRepository gameProgressRepository;
     private final GameStateManager gameStateManager;
+    private final UserLaneExecutor userLaneExecutor;
 
-    @Async("taskExecutor")
-    @Transactional
+    // 같은 사용자의 다른 비동기 작업보다 먼저 제출되므로 lane 에서 가장 먼저 실행됨
+    // lane 이나 실행기가 가득 차서 거절되면 첫 조회 때 db 에서 상태를 불러옴
     @Override
     public void initializeGameStateAsync(UUID userId) {
-            try {
-                log.info("비동기 게임 상태 초기화 시작: userId={}", userId);
-                gameStateManager.handleGameStart(userId);
+        try {
+            userLaneExecutor.execute(userId, () -> initializeGameState(userId));
+        } catch (RejectedExecutionException e) {
+            log.warn("비동기 게임 상태 초기화 거절: userId={}, error={}", userId, e.getMessage());
+        }
+    }
+
+    private void initializeGameState(UUID userId) {
+        try {
+            log.info("비동기 게임 상태 초기화 시작: userId={}", userId);
+            gameStateManager.handleGameStart(userId);
 
-                log.info("비동기 게임 상태 초기화 완료: userId={}", userId);
-            } catch (Exception e) {
-                log.error("비동기 게임 상태 초기화 실패: userId={}, error={}",
-                        userId, e.getMessage(), e);
-            }
+            log.info("비동기 게임 상태 초기화 완료: userId={}", userId);
+        } catch (Exception e) {
+            log.error("비동기 게임 상태 초기화 실패: userId={}, error={}",
+                    userId, e.getMessage(), e);
         }
     }
+}
@@ -3,14 +3,18 @@ package com.b612.rose.service.impl;
 import com.b612.rose.dto.request.UserCreateRequest;
 import com.b612.rose.dto.response.UserResponse;
 import com.b612.rose.entity.domain.GameProgress;
+import com.b612.rose.entity.domain.GameStateSnapshot;
 import com.b612.rose.entity.domain.User;
 import com.b612.rose.entity.enums.GameStage;
 import com.b612.rose.exception.BusinessException;
 import com.b612.rose.exception.ErrorCode;
 import com.b612.rose.repository.GameProgressRepository;
+import com.b612.rose.repository.GameStateSnapshotRepository;
 import com.b612.rose.repository.UserRepository;
 import com.b612.rose.service.service.UserAsyncService;
 import com.b612.rose.service.service.UserService;
+import com.b612.rose.utils.UserExistenceFilter;
+import com.b612.rose.utils.UserNameCache;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -26,7 +30,10 @@ public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
     private final GameProgressRepository gameProgressRepository;
+    private final GameStateSnapshotRepository gameStateSnapshotRepository;
     private final UserAsyncService userAsyncService;
+    private final UserNameCache userNameCache;
+    private final UserExistenceFilter userExistenceFilter;
 
     // 사용자 생성
     @Override
@@ -47,11 +54,17 @@ public class UserServiceImpl implements UserService {
                 .build();
         gameProgressRepository.save(newProgress);
 
-        // 3. 트랜잭션 커밋 후 비동기 작업 시작을 보장
+        // 3. 조회용 스냅샷 행도 같이 만들어 두고, 이후 상태 변경은 이 행에 합쳐짐
+        gameStateSnapshotRepository.upsert(savedUser.getUserId(), GameStage.INTRO,
+                0, 0, 0, GameStateSnapshot.defaultActiveMask());
+
+        // 4. 트랜잭션 커밋 후 비동기 작업 시작을 보장
         final UUID userId = savedUser.getUserId();
         TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
             @Override
             public void afterCommit() {
+                userExistenceFilter.register(userId);
+                userNameCache.put(userId, savedUser.getUserName());
                 userAsyncService.initializeGameStateAsync(userId);
             }
         });
@@ -5,5 +5,5 @@ import com.b612.rose.dto.request.EmailRequest;
 import java.util.UUID;
 
 public interface EmailAsyncService {
-    void sendEmailAsync(UUID userId, EmailRequest request);
+    void enqueueEmail(UUID userId, EmailRequest request);
 }
@@ -1,10 +1,9 @@
 package com.b612.rose.service.service;
 
-import com.b612.rose.dto.request.EmailRequest;
-import com.b612.rose.dto.response.EmailResponse;
+import com.b612.rose.entity.domain.EmailLog;
 
-import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 public interface EmailService {
-    boolean sendEmail(UUID userId, EmailRequest request);
-}
\ No newline at end of file
+    CompletableFuture<String> sendQueuedEmail(EmailLog emailLog);
+}
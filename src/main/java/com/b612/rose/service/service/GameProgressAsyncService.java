@@ -5,8 +5,9 @@ import com.b612.rose.entity.enums.GameStage;
 
 import java.util.UUID;
 
+// 호출한 스레드에서 write-behind 큐에 바로 적재하고 돌아옴, db 반영만 비동기
 public interface GameProgressAsyncService {
-    void updateGameStageAsync(UUID userId, Integer progressId, GameStage newStage);
-    void processStarCollectionAsync(UUID userId, StarActionRequest request, GameStage newStage);
-    void processStarDeliveryAsync(UUID userId, StarActionRequest request, GameStage newStage);
+    void enqueueGameStage(UUID userId, GameStage newStage);
+    void enqueueStarCollection(UUID userId, StarActionRequest request, GameStage newStage);
+    void enqueueStarDelivery(UUID userId, StarActionRequest request, GameStage newStage);
 }
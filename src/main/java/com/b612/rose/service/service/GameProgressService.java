@@ -11,8 +11,8 @@ import java.util.UUID;
 
 public interface GameProgressService {
     GameStateResponse updateGameStage(UUID userId, GameStageUpdateRequest requestDto);
-    GameStateResponse onStarCollected(UUID userId, StarActionRequest request);
-    GameStateResponse onStarDelivered(UUID userId, StarActionRequest request);
+    GameStateResponse onStarCollected(UUID userId, StarActionRequest request, String idempotencyKey);
+    GameStateResponse onStarDelivered(UUID userId, StarActionRequest request, String idempotencyKey);
     GameStage getCurrentStage(UUID userId);
     GameStateResponse getCurrentGameState(UUID userId);
     GameStateResponse completeGameAndSendEmail(UUID userId, EmailRequest request);
@@ -0,0 +1,9 @@
+package com.b612.rose.service.service;
+
+import com.b612.rose.dto.response.GameSnapshotResponse;
+
+import java.util.UUID;
+
+public interface GameSnapshotService {
+    GameSnapshotResponse getSnapshot(UUID userId);
+}
@@ -0,0 +1,403 @@
+package com.b612.rose.utils;
+
+import com.b612.rose.dto.response.GameStateCacheStatsResponse;
+import com.b612.rose.entity.enums.GameStage;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+// 세그먼트별 LRU + 유휴 시간 기반으로 정리되는 게임 상태 저장소
+// 정리 대상이 dirty 상태면 writeBehind 로 db에 먼저 반영함
+// 항목마다 db 에 있다고 알려진 상태(persisted)를 같이 들고, 커밋 알림으로 메모리 상태가 다 들어가면 dirty 를 지움
+// 상태와 dirty 는 int 하나(word)에 담아 CAS 로 바꿈, 메모리에 있는 사용자의 compute 는 락도 할당도 없이 끝남
+// 락은 적재/삽입/정리와 LRU 순서 관리에만 씀 (CAS 로 바뀐 접근은 순서를 옮기지 않아 크기 초과 정리는 대략적인 LRU)
+@Slf4j
+public class BoundedGameStateStore implements GameStateStore {
+
+    private final Segment[] segments;
+    private final int maxSize;
+    private final long idleTimeoutNanos;
+    private final BiConsumer<UUID, GameStateCache> writeBehind;
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder sizeEvictionCount = new LongAdder();
+    private final LongAdder idleEvictionCount = new LongAdder();
+    private final LongAdder writeBehindCount = new LongAdder();
+    private final LongAdder writeBehindFailureCount = new LongAdder();
+
+    public BoundedGameStateStore(int maxSize, int segmentCount, long idleTimeoutMillis,
+                                 BiConsumer<UUID, GameStateCache> writeBehind) {
+        int count = Math.max(1, Math.min(segmentCount, maxSize));
+        int capacity = Math.max(1, maxSize / count);
+
+        this.segments = new Segment[count];
+        for (int i = 0; i < count; i++) {
+            segments[i] = new Segment(capacity);
+        }
+        this.maxSize = capacity * count;
+        this.idleTimeoutNanos = idleTimeoutMillis * 1_000_000L;
+        this.writeBehind = writeBehind;
+    }
+
+    @Override
+    public GameStateCache get(UUID userId) {
+        Segment segment = segmentFor(userId);
+        segment.lock.lock();
+        try {
+            Entry entry = segment.entries.get(userId);
+            if (entry == null) {
+                missCount.increment();
+                return null;
+            }
+            entry.lastAccessNanos = System.nanoTime();
+            hitCount.increment();
+            return Entry.stateOf(entry.word());
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    @Override
+    public void put(UUID userId, GameStateCache state) {
+        Segment segment = segmentFor(userId);
+        List<Evicted> evicted;
+        segment.lock.lock();
+        try {
+            Entry entry = segment.entries.get(userId);
+            if (entry == null) {
+                segment.insert(userId, new Entry(state));
+            } else {
+                entry.replace(state);
+            }
+            evicted = segment.drainEvicted();
+        } finally {
+            segment.lock.unlock();
+        }
+        sizeEvictionCount.add(evicted.size());
+        writeBehindDirty(evicted);
+    }
+
+    @Override
+    public GameStateCache putIfAbsent(UUID userId, GameStateCache state) {
+        Segment segment = segmentFor(userId);
+        List<Evicted> evicted;
+        GameStateCache resident;
+        segment.lock.lock();
+        try {
+            Entry entry = segment.entries.get(userId);
+            if (entry == null) {
+                entry = new Entry(state);
+                segment.insert(userId, entry);
+            }
+            entry.lastAccessNanos = System.nanoTime();
+            resident = Entry.stateOf(entry.word());
+            evicted = segment.drainEvicted();
+        } finally {
+            segment.lock.unlock();
+        }
+        sizeEvictionCount.add(evicted.size());
+        writeBehindDirty(evicted);
+        return resident;
+    }
+
+    @Override
+    public GameStateCache compute(UUID userId, Function<UUID, GameStateCache> loader,
+                                  UnaryOperator<GameStateCache> updater) {
+        Segment segment = segmentFor(userId);
+
+        // 메모리에 있으면 락 없이 word 를 CAS 로 바꿈, 그 사이 정리되어 빠졌으면 아래 락 경로로 다시 올림
+        Entry resident = segment.index.get(userId);
+        if (resident != null) {
+            GameStateCache updated = resident.update(updater);
+            if (updated != null) {
+                return updated;
+            }
+        }
+
+        List<Evicted> evicted;
+        GameStateCache updated;
+        segment.lock.lock();
+        try {
+            Entry entry = segment.entries.get(userId);
+            if (entry == null) {
+                // 확인과 적재 사이에 정리되는 틈이 없도록 락 안에서 읽어 옴, 없을 때만이라 드묾
+                missCount.increment();
+                entry = new Entry(loader.apply(userId));
+                segment.insert(userId, entry);
+            }
+            // 맵에 있는 항목은 락 안에서 정리되지 않으므로 항상 성공함
+            updated = entry.update(updater);
+            evicted = segment.drainEvicted();
+        } finally {
+            segment.lock.unlock();
+        }
+        sizeEvictionCount.add(evicted.size());
+        writeBehindDirty(evicted);
+        return updated;
+    }
+
+    @Override
+    public void markPersisted(UUID userId, GameStage stage, int collectedMask, int deliveredMask) {
+        Segment segment = segmentFor(userId);
+        segment.lock.lock();
+        try {
+            // 접근 순서는 바뀌지만 flush 는 변경 직후라 이미 끝쪽에 있음, 유휴 시간(lastAccessNanos)은 그대로 둠
+            Entry entry = segment.entries.get(userId);
+            if (entry == null) {
+                return;
+            }
+            entry.persisted = entry.persisted.merge(stage, collectedMask, deliveredMask);
+            entry.clearDirtyIfCoveredBy(entry.persisted);
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    @Override
+    public void evictIdle() {
+        long now = System.nanoTime();
+        for (Segment segment : segments) {
+            List<Evicted> expired = new ArrayList<>();
+            segment.lock.lock();
+            try {
+                // CAS 로 바뀐 접근은 순서를 옮기지 않으므로 중간에 멈추지 않고 전부 확인
+                Iterator<Map.Entry<UUID, Entry>> iterator = segment.entries.entrySet().iterator();
+                while (iterator.hasNext()) {
+                    Map.Entry<UUID, Entry> next = iterator.next();
+                    if (now - next.getValue().lastAccessNanos < idleTimeoutNanos) {
+                        continue;
+                    }
+                    iterator.remove();
+                    expired.add(segment.retire(next.getKey(), next.getValue()));
+                }
+            } finally {
+                segment.lock.unlock();
+            }
+            idleEvictionCount.add(expired.size());
+            writeBehindDirty(expired);
+        }
+    }
+
+    @Override
+    public void flushAll() {
+        for (Segment segment : segments) {
+            List<Evicted> dirty = new ArrayList<>();
+            segment.lock.lock();
+            try {
+                for (Map.Entry<UUID, Entry> entry : segment.entries.entrySet()) {
+                    int word = entry.getValue().takeDirty();
+                    if (word != Entry.CLEAN) {
+                        dirty.add(new Evicted(entry.getKey(), word));
+                    }
+                }
+            } finally {
+                segment.lock.unlock();
+            }
+            writeBehindDirty(dirty);
+        }
+    }
+
+    @Override
+    public GameStateCacheStatsResponse stats() {
+        int size = 0;
+        for (Segment segment : segments) {
+            segment.lock.lock();
+            try {
+                size += segment.entries.size();
+            } finally {
+                segment.lock.unlock();
+            }
+        }
+
+        return GameStateCacheStatsResponse.builder()
+                .size(size)
+                .maxSize(maxSize)
+                .hitCount(hitCount.sum())
+                .missCount(missCount.sum())
+                .sizeEvictionCount(sizeEvictionCount.sum())
+                .idleEvictionCount(idleEvictionCount.sum())
+                .writeBehindCount(writeBehindCount.sum())
+                .writeBehindFailureCount(writeBehindFailureCount.sum())
+                .build();
+    }
+
+    // 락 밖에서 호출, 정리된 항목 중 dirty 인 것만 db 반영
+    private void writeBehindDirty(List<Evicted> entries) {
+        for (Evicted entry : entries) {
+            if (!Entry.isDirty(entry.word())) {
+                continue;
+            }
+            try {
+                writeBehind.accept(entry.userId(), Entry.stateOf(entry.word()));
+                writeBehindCount.increment();
+            } catch (Exception e) {
+                writeBehindFailureCount.increment();
+                log.error("게임 상태 write-behind 실패: userId={}, error={}", entry.userId(), e.getMessage(), e);
+            }
+        }
+    }
+
+    private Segment segmentFor(UUID userId) {
+        int hash = userId.hashCode();
+        hash ^= (hash >>> 16);
+        return segments[Math.floorMod(hash, segments.length)];
+    }
+
+    // 정리되거나 flush 할 때 꺼낸 마지막 word
+    private record Evicted(UUID userId, int word) {
+    }
+
+    private static final class Entry {
+        // word = [GameStateCache bits][dirty 1bit], 정리되어 맵에서 빠진 항목은 RETIRED
+        private static final int DIRTY = 1;
+        private static final int RETIRED = -1;
+        // takeDirty 가 dirty 가 아니었음을 알리는 값
+        private static final int CLEAN = -2;
+        private static final VarHandle WORD;
+
+        static {
+            try {
+                WORD = MethodHandles.lookup().findVarHandle(Entry.class, "word", int.class);
+            } catch (ReflectiveOperationException e) {
+                throw new ExceptionInInitializerError(e);
+            }
+        }
+
+        private volatile int word;
+        private volatile long lastAccessNanos;
+        // db 에 반영됐다고 알려진 상태 (적재 시점 상태 + 이후 커밋 알림), 락 안에서만 읽고 씀
+        private GameStateCache persisted;
+
+        private Entry(GameStateCache state) {
+            this.word = pack(state, false);
+            this.persisted = state;
+            this.lastAccessNanos = System.nanoTime();
+        }
+
+        private static int pack(GameStateCache state, boolean dirty) {
+            return (state.getBits() << 1) | (dirty ? DIRTY : 0);
+        }
+
+        private static GameStateCache stateOf(int word) {
+            return GameStateCache.fromBits(word >>> 1);
+        }
+
+        private static boolean isDirty(int word) {
+            return (word & DIRTY) != 0;
+        }
+
+        private int word() {
+            return word;
+        }
+
+        // 바꾼 상태 반환, 이미 정리된 항목이면 null
+        private GameStateCache update(UnaryOperator<GameStateCache> updater) {
+            while (true) {
+                int current = word;
+                if (current == RETIRED) {
+                    return null;
+                }
+                GameStateCache updated = updater.apply(stateOf(current));
+                if (WORD.compareAndSet(this, current, pack(updated, true))) {
+                    lastAccessNanos = System.nanoTime();
+                    return updated;
+                }
+            }
+        }
+
+        // 락 안에서 호출
+        private void replace(GameStateCache state) {
+            word = pack(state, false);
+            persisted = state;
+            lastAccessNanos = System.nanoTime();
+        }
+
+        // 락 안에서 호출, 상태가 covered 에 다 들어 있을 때만 dirty 를 지움 (그 사이 바뀌었으면 CAS 가 실패해서 다시 확인)
+        private void clearDirtyIfCoveredBy(GameStateCache covered) {
+            while (true) {
+                int current = word;
+                if (!isDirty(current) || !stateOf(current).isCoveredBy(covered)) {
+                    return;
+                }
+                if (WORD.compareAndSet(this, current, current & ~DIRTY)) {
+                    return;
+                }
+            }
+        }
+
+        // 락 안에서 호출, dirty 면 지우고 그 순간의 word 반환 (아니면 CLEAN)
+        private int takeDirty() {
+            while (true) {
+                int current = word;
+                if (!isDirty(current)) {
+                    return CLEAN;
+                }
+                if (WORD.compareAndSet(this, current, current & ~DIRTY)) {
+                    return current;
+                }
+            }
+        }
+
+        // 락 안에서 맵에서 뺄 때 호출, 이후 CAS 는 모두 실패하므로 반환한 word 가 마지막 상태
+        private int retire() {
+            return (int) WORD.getAndSet(this, RETIRED);
+        }
+    }
+
+    private static final class Segment {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final List<Evicted> evicted = new ArrayList<>();
+        private final LinkedHashMap<UUID, Entry> entries;
+        // 락 없이 찾기 위한 색인, entries 와 같은 항목을 락 안에서 같이 넣고 뺌
+        private final ConcurrentHashMap<UUID, Entry> index = new ConcurrentHashMap<>();
+
+        private Segment(int capacity) {
+            this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<UUID, Entry> eldest) {
+                    if (size() > capacity) {
+                        evicted.add(retire(eldest.getKey(), eldest.getValue()));
+                        return true;
+                    }
+                    return false;
+                }
+            };
+        }
+
+        // 락을 잡은 상태에서 호출
+        private void insert(UUID userId, Entry entry) {
+            index.put(userId, entry);
+            entries.put(userId, entry);
+        }
+
+        // 락을 잡은 상태에서 호출
+        private Evicted retire(UUID userId, Entry entry) {
+            index.remove(userId, entry);
+            return new Evicted(userId, entry.retire());
+        }
+
+        // 락을 잡은 상태에서 호출
+        private List<Evicted> drainEvicted() {
+            if (evicted.isEmpty()) {
+                return List.of();
+            }
+            List<Evicted> drained = new ArrayList<>(evicted);
+            evicted.clear();
+            return drained;
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.b612.rose.utils;
+
+import com.b612.rose.dto.response.ContentStatusResponse;
+import com.b612.rose.repository.*;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+// 정적 컨텐츠 스냅샷 보관소, 읽는 쪽은 current() 로 받은 스냅샷 하나만 사용
+// 다시 읽을 때는 백그라운드에서 새 스냅샷을 다 만든 뒤 교체하므로 캐시가 비는 순간이 없음
+// 스냅샷에서 미리 만들어 두는 값이 있으면 addSwapListener 로 교체될 때마다 다시 만듦
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ContentCatalog {
+
+    private final DialogueRepository dialogueRepository;
+    private final StarRepository starRepository;
+    private final NpcRepository npcRepository;
+    private final StarGuideEntryRepository starGuideEntryRepository;
+    private final InteractiveObjectRepository interactiveObjectRepository;
+    private final ContentVersionRepository contentVersionRepository;
+
+    @Value("${game.content.poll-enabled:false}")
+    private boolean pollEnabled;
+
+    private final AtomicReference<ContentSnapshot> snapshot = new AtomicReference<>(ContentSnapshot.empty());
+    private final AtomicReference<CompletableFuture<ContentSnapshot>> inFlightReload = new AtomicReference<>();
+    private final AtomicLong versionSequence = new AtomicLong();
+    private final AtomicLong loadedContentVersion = new AtomicLong();
+    private final List<Consumer<ContentSnapshot>> swapListeners = new CopyOnWriteArrayList<>();
+
+    private final LongAdder reloadCount = new LongAdder();
+    private final LongAdder reloadFailureCount = new LongAdder();
+
+    private final ExecutorService reloadExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "content-reload");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // 서버 킬 때 데이터 미리 캐싱
+    // 실패하면 빈 스냅샷으로 요청을 받지 않도록 서버 시작을 멈춤
+    @PostConstruct
+    public void initCache() {
+        try {
+            load();
+        } catch (Exception e) {
+            log.error("컨텐츠 데이터 캐싱 중 오류 발생, 서버 시작 중단: {}", e.getMessage(), e);
+            throw new IllegalStateException("컨텐츠 데이터를 불러오지 못했습니다.", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        reloadExecutor.shutdownNow();
+    }
+
+    public ContentSnapshot current() {
+        return snapshot.get();
+    }
+
+    // 스냅샷이 교체된 뒤 교체한 스레드에서 호출됨 (시작 시 처음 읽을 때 포함)
+    public void addSwapListener(Consumer<ContentSnapshot> listener) {
+        swapListeners.add(listener);
+    }
+
+    // 백그라운드에서 다시 읽기, 이미 진행 중이면 그 작업을 같이 기다림
+    public CompletableFuture<ContentSnapshot> reloadAsync() {
+        CompletableFuture<ContentSnapshot> created = new CompletableFuture<>();
+        CompletableFuture<ContentSnapshot> existing = inFlightReload.compareAndExchange(null, created);
+        if (existing != null) {
+            return existing;
+        }
+
+        reloadExecutor.execute(() -> {
+            try {
+                created.complete(load());
+            } catch (Exception e) {
+                // 실패하면 기존 스냅샷을 그대로 씀
+                reloadFailureCount.increment();
+                log.error("컨텐츠 다시 읽기 실패, 기존 스냅샷 유지: version={}, error={}",
+                        current().getVersion(), e.getMessage(), e);
+                created.completeExceptionally(e);
+            } finally {
+                inFlightReload.set(null);
+            }
+        });
+        return created;
+    }
+
+    // db 의 컨텐츠 버전이 올라갔으면 다시 읽기
+    @Scheduled(fixedDelayString = "${game.content.poll-interval-ms:60000}")
+    public void pollContentVersion() {
+        if (!pollEnabled) {
+            return;
+        }
+
+        try {
+            long version = contentVersionRepository.findCurrentVersion();
+            if (version > loadedContentVersion.get()) {
+                log.info("컨텐츠 버전 변경 감지: {} -> {}", loadedContentVersion.get(), version);
+                reloadAsync();
+            }
+        } catch (Exception e) {
+            log.warn("컨텐츠 버전 확인 실패: {}", e.getMessage());
+        }
+    }
+
+    public ContentStatusResponse status() {
+        ContentSnapshot current = current();
+        return ContentStatusResponse.builder()
+                .snapshotVersion(current.getVersion())
+                .contentVersion(loadedContentVersion.get())
+                .loadedAt(current.getLoadedAt())
+                .reloading(inFlightReload.get() != null)
+                .dialogueTypeCount(current.getDialogueTypeCount())
+                .starCount(current.getStarCount())
+                .npcProfileCount(current.getNpcProfiles().size())
+                .starGuideEntryCount(current.getStarGuideEntries().size())
+                .reloadCount(reloadCount.sum())
+                .reloadFailureCount(reloadFailureCount.sum())
+                .build();
+    }
+
+    // 새 스냅샷을 다 만든 뒤에 교체하므로 읽는 쪽은 이전 또는 새 스냅샷 중 하나만 봄
+    private ContentSnapshot load() {
+        log.info("컨텐츠 데이터 캐싱 시작");
+        // 버전을 먼저 읽어야 읽는 도중 바뀐 내용을 다음 폴링에서 다시 가져감
+        long contentVersion = contentVersionRepository.findCurrentVersion();
+
+        ContentSnapshot loaded = ContentSnapshot.build(
+                versionSequence.incrementAndGet(),
+                dialogueRepository.findAllWithNpc(),
+                starRepository.findAll(),
+                npcRepository.findAll(),
+                npcRepository.findAllProfiles(),
+                starGuideEntryRepository.findAllByOrderByOrderIndexAsc(),
+                interactiveObjectRepository.findAll());
+        snapshot.set(loaded);
+        loadedContentVersion.set(contentVersion);
+        reloadCount.increment();
+        notifySwapListeners(loaded);
+
+        log.info("컨텐츠 데이터 캐싱 완료: version={}, contentVersion={}, 대화 유형 {} 개, 별 {} 개, 캐릭터 프로필 {} 개, 별 도감 {} 항목",
+                loaded.getVersion(), contentVersion, loaded.getDialogueTypeCount(), loaded.getStarCount(),
+                loaded.getNpcProfiles().size(), loaded.getStarGuideEntries().size());
+        return loaded;
+    }
+
+    // 한 곳이 실패해도 스냅샷 교체와 다른 곳의 갱신은 그대로 진행
+    private void notifySwapListeners(ContentSnapshot loaded) {
+        for (Consumer<ContentSnapshot> listener : swapListeners) {
+            try {
+                listener.accept(loaded);
+            } catch (RuntimeException e) {
+                log.error("컨텐츠 교체 후 갱신 실패: version={}, error={}", loaded.getVersion(), e.getMessage(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package com.b612.rose.utils;
+
+import com.b612.rose.dto.response.NpcProfileResponse;
+import com.b612.rose.dto.response.StarGuideEntryResponse;
+import com.b612.rose.entity.domain.Dialogue;
+import com.b612.rose.entity.domain.InteractiveObject;
+import com.b612.rose.entity.domain.Npc;
+import com.b612.rose.entity.domain.Star;
+import com.b612.rose.entity.domain.StarGuideEntry;
+import com.b612.rose.entity.enums.GameStage;
+import com.b612.rose.entity.enums.InteractiveObjectType;
+import com.b612.rose.entity.enums.StarType;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// 시드 데이터(대화, 별, npc, 프로필, 별 도감, 오브젝트)를 한 번에 읽어 만든 불변 스냅샷
+// 교체는 ContentCatalog 에서 참조 하나만 바꿔서 처리
+public final class ContentSnapshot {
+
+    private final long version;
+    private final LocalDateTime loadedAt;
+
+    private final EnumMap<GameStage, List<DialogueTemplate>> stageDialogues;
+    private final Map<String, List<DialogueTemplate>> typeDialogues;
+    // 대화 유형별로 npcId 를 인덱스로 쓰는 배열
+    private final Map<String, DialogueTemplate[]> typeNpcDialogues;
+
+    private final EnumMap<StarType, Star> stars;
+    private final List<Npc> npcs;
+    private final List<NpcProfileResponse> npcProfiles;
+    private final List<StarGuideEntryResponse> starGuideEntries;
+    private final List<InteractiveObject> interactiveObjects;
+    private final EnumMap<InteractiveObjectType, InteractiveObject> objectsByType;
+
+    private ContentSnapshot(long version,
+                            EnumMap<GameStage, List<DialogueTemplate>> stageDialogues,
+                            Map<String, List<DialogueTemplate>> typeDialogues,
+                            Map<String, DialogueTemplate[]> typeNpcDialogues,
+                            EnumMap<StarType, Star> stars,
+                            List<Npc> npcs,
+                            List<NpcProfileResponse> npcProfiles,
+                            List<StarGuideEntryResponse> starGuideEntries,
+                            List<InteractiveObject> interactiveObjects,
+                            EnumMap<InteractiveObjectType, InteractiveObject> objectsByType) {
+        this.version = version;
+        this.loadedAt = LocalDateTime.now();
+        this.stageDialogues = stageDialogues;
+        this.typeDialogues = typeDialogues;
+        this.typeNpcDialogues = typeNpcDialogues;
+        this.stars = stars;
+        this.npcs = npcs;
+        this.npcProfiles = npcProfiles;
+        this.starGuideEntries = starGuideEntries;
+        this.interactiveObjects = interactiveObjects;
+        this.objectsByType = objectsByType;
+    }
+
+    // dialogues 는 유형, npcId 순으로 정렬되어 있어야 함
+    public static ContentSnapshot build(long version,
+                                        List<Dialogue> dialogues,
+                                        List<Star> stars,
+                                        List<Npc> npcs,
+                                        List<NpcProfileResponse> npcProfiles,
+                                        List<StarGuideEntry> starGuideEntries,
+                                        List<InteractiveObject> interactiveObjects) {
+        Map<String, List<DialogueTemplate>> typeDialogues = new LinkedHashMap<>();
+        Map<String, Integer> maxNpcIds = new HashMap<>();
+        for (Dialogue dialogue : dialogues) {
+            typeDialogues.computeIfAbsent(dialogue.getDialogueType(), type -> new ArrayList<>())
+                    .add(DialogueTemplate.compile(dialogue));
+            if (dialogue.getNpcId() != null) {
+                maxNpcIds.merge(dialogue.getDialogueType(), dialogue.getNpcId(), Math::max);
+            }
+        }
+
+        Map<String, DialogueTemplate[]> typeNpcDialogues = new HashMap<>();
+        for (Map.Entry<String, List<DialogueTemplate>> entry : typeDialogues.entrySet()) {
+            entry.setValue(List.copyOf(entry.getValue()));
+
+            Integer maxNpcId = maxNpcIds.get(entry.getKey());
+            if (maxNpcId == null) {
+                continue;
+            }
+            DialogueTemplate[] byNpc = new DialogueTemplate[maxNpcId + 1];
+            for (DialogueTemplate template : entry.getValue()) {
+                Integer npcId = template.getNpcId();
+                // 같은 npc 대화가 여러 개면 기존 조회처럼 첫 번째 사용
+                if (npcId != null && npcId >= 0 && byNpc[npcId] == null) {
+                    byNpc[npcId] = template;
+                }
+            }
+            typeNpcDialogues.put(entry.getKey(), byNpc);
+        }
+
+        EnumMap<GameStage, List<DialogueTemplate>> stageDialogues = new EnumMap<>(GameStage.class);
+        for (GameStage stage : GameStage.values()) {
+            String dialogueType = dialogueTypeForStage(stage);
+            List<DialogueTemplate> templates = dialogueType != null ? typeDialogues.get(dialogueType) : null;
+            if (templates != null) {
+                stageDialogues.put(stage, templates);
+            }
+        }
+
+        EnumMap<StarType, Star> starsByType = new EnumMap<>(StarType.class);
+        for (Star star : stars) {
+            starsByType.put(star.getStarType(), star);
+        }
+
+        List<StarGuideEntryResponse> entryResponses = new ArrayList<>(starGuideEntries.size());
+        for (StarGuideEntry entry : starGuideEntries) {
+            entryResponses.add(StarGuideEntryResponse.builder()
+                    .entryId(entry.getEntryId())
+                    .starName(entry.getStarName())
+                    .starSource(entry.getStarSource())
+                    .description(entry.getDescription())
+                    .build());
+        }
+
+        EnumMap<InteractiveObjectType, InteractiveObject> objectsByType = new EnumMap<>(InteractiveObjectType.class);
+        for (InteractiveObject object : interactiveObjects) {
+            objectsByType.put(object.getObjectType(), object);
+        }
+
+        return new ContentSnapshot(version, stageDialogues, typeDialogues, typeNpcDialogues, starsByType,
+                List.copyOf(npcs), List.copyOf(npcProfiles), List.copyOf(entryResponses),
+                List.copyOf(interactiveObjects), objectsByType);
+    }
+
+    // 진척도에 맞는 대화 유형 매핑, 대화가 없는 스테이지는 null
+    public static String dialogueTypeForStage(GameStage stage) {
+        return switch (stage) {
+            case GAME_START -> "tutorial";
+            case COLLECT_PRIDE -> "click_pride";
+            case COLLECT_ENVY -> "click_envy";
+            case DELIVER_ENVY -> "deliver_envy";
+            case COLLECT_LONELY -> "click_lonely";
+            case DELIVER_LONELY -> "deliver_lonely";
+            case COLLECT_SAD -> "click_sad";
+            case DELIVER_SAD -> "deliver_sad";
+            case REQUEST_INPUT -> "quest_end";
+            case NPC_SELECTION -> "pick_npc";
+            case GAME_COMPLETE -> "game_clear";
+            default -> null;
+        };
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public LocalDateTime getLoadedAt() {
+        return loadedAt;
+    }
+
+    // 없으면 null
+    public List<DialogueTemplate> getStageDialogues(GameStage stage) {
+        return stageDialogues.get(stage);
+    }
+
+    // 없으면 null
+    public List<DialogueTemplate> getTypeDialogues(String dialogueType) {
+        return typeDialogues.get(dialogueType);
+    }
+
+    // 없으면 null
+    public DialogueTemplate getDialogue(String dialogueType, int npcId) {
+        DialogueTemplate[] byNpc = typeNpcDialogues.get(dialogueType);
+        if (byNpc == null || npcId < 0 || npcId >= byNpc.length) {
+            return null;
+        }
+        return byNpc[npcId];
+    }
+
+    public int getDialogueTypeCount() {
+        return typeDialogues.size();
+    }
+
+    // 없으면 null
+    public Star getStar(StarType starType) {
+        return stars.get(starType);
+    }
+
+    public int getStarCount() {
+        return stars.size();
+    }
+
+    public List<Npc> getNpcs() {
+        return npcs;
+    }
+
+    public List<NpcProfileResponse> getNpcProfiles() {
+        return npcProfiles;
+    }
+
+    public List<StarGuideEntryResponse> getStarGuideEntries() {
+        return starGuideEntries;
+    }
+
+    public List<InteractiveObject> getInteractiveObjects() {
+        return interactiveObjects;
+    }
+
+    // 없으면 null
+    public InteractiveObject getInteractiveObject(InteractiveObjectType objectType) {
+        return objectsByType.get(objectType);
+    }
+
+    public static ContentSnapshot empty() {
+        return build(0, Collections.emptyList(), Collections.emptyList(), Collections.emptyList(),
+                Collections.emptyList(), Collections.emptyList(), Collections.emptyList());
+    }
+}
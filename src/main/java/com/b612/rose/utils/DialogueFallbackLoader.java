@@ -0,0 +1,93 @@
+package com.b612.rose.utils;
+
+import com.b612.rose.repository.DialogueRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 컨텐츠 스냅샷에 없는 대화 유형을 db 에서 찾을 때 사용
+// 같은 유형을 동시에 찾으면 한 요청만 db 에 가고 나머지는 그 결과를 기다림
+// 없는 유형은 잠깐 동안 빈 결과로 기억해서 잘못된 경로 요청이 몰려도 db 를 두드리지 않음
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DialogueFallbackLoader {
+
+    private final DialogueRepository dialogueRepository;
+    private final ContentCatalog contentCatalog;
+
+    @Value("${game.dialogue.negative-ttl-ms:30000}")
+    private long negativeTtlMillis;
+
+    @Value("${game.dialogue.fallback-max-entries:1000}")
+    private int maxEntries;
+
+    private final ConcurrentHashMap<String, CompletableFuture<List<DialogueTemplate>>> inFlight = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, LoadedDialogues> loaded = new ConcurrentHashMap<>();
+
+    // 없으면 빈 목록
+    public List<DialogueTemplate> load(String dialogueType) {
+        long snapshotVersion = contentCatalog.current().getVersion();
+
+        LoadedDialogues cached = loaded.get(dialogueType);
+        if (cached != null && cached.isValid(snapshotVersion, System.currentTimeMillis())) {
+            return cached.templates();
+        }
+
+        CompletableFuture<List<DialogueTemplate>> created = new CompletableFuture<>();
+        CompletableFuture<List<DialogueTemplate>> existing = inFlight.putIfAbsent(dialogueType, created);
+        if (existing != null) {
+            return await(existing);
+        }
+
+        try {
+            List<DialogueTemplate> templates = DialogueTemplate.compileAll(
+                    dialogueRepository.findByDialogueTypeOrderByNpcId(dialogueType));
+
+            // 아무 문자열이나 들어올 수 있으므로 크기가 넘치면 통째로 비움
+            if (loaded.size() >= maxEntries) {
+                loaded.clear();
+            }
+            loaded.put(dialogueType, new LoadedDialogues(templates, snapshotVersion,
+                    System.currentTimeMillis() + negativeTtlMillis));
+
+            if (templates.isEmpty()) {
+                log.warn("존재하지 않는 대화 유형 요청: {}", dialogueType);
+            }
+            created.complete(templates);
+            return templates;
+        } catch (RuntimeException e) {
+            created.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(dialogueType, created);
+        }
+    }
+
+    private List<DialogueTemplate> await(CompletableFuture<List<DialogueTemplate>> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    // 찾은 대화는 스냅샷이 바뀔 때까지, 못 찾은 결과는 ttl 동안만 유효
+    private record LoadedDialogues(List<DialogueTemplate> templates, long snapshotVersion, long negativeExpiresAt) {
+        boolean isValid(long currentSnapshotVersion, long now) {
+            if (snapshotVersion != currentSnapshotVersion) {
+                return false;
+            }
+            return !templates.isEmpty() || now < negativeExpiresAt;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.b612.rose.utils;
+
+import com.b612.rose.dto.response.DialogueResponse;
+import com.b612.rose.entity.domain.Dialogue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// 캐싱 시점에 미리 쪼개 둔 대화 문구
+// 고정 문자열 사이사이에 {userName} 자리만 남겨두고, 요청마다 이름만 끼워 넣음
+// $n 줄바꿈 표시는 프론트에서 나누므로 고정 문자열에 그대로 둠
+public final class DialogueTemplate {
+
+    private static final String USER_NAME_PLACEHOLDER = "{userName}";
+
+    private final Integer dialogueId;
+    private final Integer npcId;
+    private final String npcName;
+    private final String[] literals;
+    private final int literalLength;
+
+    // 이름이 안 들어가는 대화는 응답 객체까지 공유
+    private final DialogueResponse constantResponse;
+
+    private DialogueTemplate(Integer dialogueId, Integer npcId, String npcName, String[] literals) {
+        this.dialogueId = dialogueId;
+        this.npcId = npcId;
+        this.npcName = npcName;
+        this.literals = literals;
+
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.literalLength = length;
+        this.constantResponse = literals.length == 1 ? toResponse(literals[0]) : null;
+    }
+
+    public static DialogueTemplate compile(Dialogue dialogue) {
+        String text = dialogue.getDialogueText() != null ? dialogue.getDialogueText() : "";
+
+        List<String> literals = new ArrayList<>();
+        int start = 0;
+        int index;
+        while ((index = text.indexOf(USER_NAME_PLACEHOLDER, start)) >= 0) {
+            literals.add(text.substring(start, index));
+            start = index + USER_NAME_PLACEHOLDER.length();
+        }
+        literals.add(text.substring(start));
+
+        return new DialogueTemplate(dialogue.getDialogueId(), dialogue.getNpcId(),
+                dialogue.getNpc() != null ? dialogue.getNpc().getNpcName() : null,
+                literals.toArray(new String[0]));
+    }
+
+    public static List<DialogueTemplate> compileAll(List<Dialogue> dialogues) {
+        List<DialogueTemplate> templates = new ArrayList<>(dialogues.size());
+        for (Dialogue dialogue : dialogues) {
+            templates.add(compile(dialogue));
+        }
+        return List.copyOf(templates);
+    }
+
+    // userName 이 null 이면(사용자 없음) 자리 표시를 그대로 둠
+    public DialogueResponse render(String userName) {
+        if (constantResponse != null) {
+            return constantResponse;
+        }
+
+        String slot = userName != null ? userName : USER_NAME_PLACEHOLDER;
+        StringBuilder text = new StringBuilder(literalLength + slot.length() * (literals.length - 1));
+        text.append(literals[0]);
+        for (int i = 1; i < literals.length; i++) {
+            text.append(slot).append(literals[i]);
+        }
+        return toResponse(text.toString());
+    }
+
+    public Integer getNpcId() {
+        return npcId;
+    }
+
+    public boolean needsUserName() {
+        return literals.length > 1;
+    }
+
+    private DialogueResponse toResponse(String text) {
+        return DialogueResponse.builder()
+                .dialogueId(dialogueId)
+                .npcId(npcId)
+                .npcName(npcName)
+                .dialogueText(text)
+                .build();
+    }
+}
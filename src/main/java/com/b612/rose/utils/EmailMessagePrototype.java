@@ -0,0 +1,58 @@
+package com.b612.rose.utils;
+
+import com.b612.rose.entity.domain.User;
+import com.b612.rose.entity.enums.StarType;
+
+import java.util.List;
+
+// npc 별로 미리 만들어 둔 완료 메일의 고정 부분 (보내는 사람, 제목, 본문 템플릿, 이미지)
+// 보낼 때는 사용자 값만 본문에 넣음
+public final class EmailMessagePrototype {
+
+    private final String npcName;
+    private final String senderEmail;
+    private final StarType starType;
+    private final String purifiedTypeName;
+    private final String subject;
+    private final EmailTemplate template;
+    private final List<InlineImage> inlineImages;
+
+    EmailMessagePrototype(String npcName, String senderEmail, StarType starType, String purifiedTypeName,
+                          String subject, EmailTemplate template, List<InlineImage> inlineImages) {
+        this.npcName = npcName;
+        this.senderEmail = senderEmail;
+        this.starType = starType;
+        this.purifiedTypeName = purifiedTypeName;
+        this.subject = subject;
+        this.template = template;
+        this.inlineImages = inlineImages;
+    }
+
+    public String renderContent(User user) {
+        return template.render(user.getUserName(), purifiedTypeName, user.getConcern());
+    }
+
+    public String getNpcName() {
+        return npcName;
+    }
+
+    public String getSenderEmail() {
+        return senderEmail;
+    }
+
+    public StarType getStarType() {
+        return starType;
+    }
+
+    public String getPurifiedTypeName() {
+        return purifiedTypeName;
+    }
+
+    public String getSubject() {
+        return subject;
+    }
+
+    public List<InlineImage> getInlineImages() {
+        return inlineImages;
+    }
+}
@@ -0,0 +1,191 @@
+package com.b612.rose.utils;
+
+import com.b612.rose.entity.domain.EmailLog;
+import com.b612.rose.entity.enums.EmailStatus;
+import com.b612.rose.repository.EmailLogRepository;
+import com.b612.rose.service.service.EmailService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+// email_log 를 대기열로 쓰는 전송 작업자
+// 주기적으로 보낼 차례가 된 행을 SKIP LOCKED 로 가져와 SENDING 으로 바꾸고(짧은 트랜잭션), 트랜잭션 밖에서 전송
+// 실패하면 지수 백오프로 다음 시도 시각을 잡고, max-attempts 를 넘으면 FAILED 로 둠
+// SENDING 인 채로 lease 가 끝난 행(전송 중 서버 종료)은 다시 가져감
+@Component
+@Slf4j
+public class EmailQueueWorker {
+
+    private final EmailLogRepository emailLogRepository;
+    private final EmailService emailService;
+    private final TransactionTemplate transactionTemplate;
+    private final Executor mailExecutor;
+    private final TaskScheduler taskScheduler;
+
+    private final boolean enabled;
+    private final int batchSize;
+    private final int maxInFlight;
+    private final long leaseMs;
+    private final int maxAttempts;
+    private final long backoffBaseMs;
+    private final long backoffMaxMs;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicBoolean wakeUpScheduled = new AtomicBoolean();
+
+    public EmailQueueWorker(EmailLogRepository emailLogRepository,
+                            EmailService emailService,
+                            TransactionTemplate transactionTemplate,
+                            @Qualifier("mailExecutor") Executor mailExecutor,
+                            TaskScheduler taskScheduler,
+                            @Value("${game.mail.queue.enabled:true}") boolean enabled,
+                            @Value("${game.mail.queue.batch-size:20}") int batchSize,
+                            @Value("${game.mail.queue.max-in-flight:100}") int maxInFlight,
+                            @Value("${game.mail.queue.lease-ms:300000}") long leaseMs,
+                            @Value("${game.mail.queue.max-attempts:5}") int maxAttempts,
+                            @Value("${game.mail.queue.backoff-base-ms:30000}") long backoffBaseMs,
+                            @Value("${game.mail.queue.backoff-max-ms:3600000}") long backoffMaxMs) {
+        this.emailLogRepository = emailLogRepository;
+        this.emailService = emailService;
+        this.transactionTemplate = transactionTemplate;
+        this.mailExecutor = mailExecutor;
+        this.taskScheduler = taskScheduler;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.maxInFlight = maxInFlight;
+        this.leaseMs = leaseMs;
+        this.maxAttempts = maxAttempts;
+        this.backoffBaseMs = backoffBaseMs;
+        this.backoffMaxMs = backoffMaxMs;
+    }
+
+    // 새 메일이 커밋되면 주기를 기다리지 않고 한 번 가져감
+    // 대기열 조회(db)가 요청 스레드에서 돌지 않도록 스케줄러 스레드에 맡김 (mailExecutor 는 가득 차면 호출한 쪽에서 실행함)
+    // 이미 깨워 둔 게 있으면 합쳐서 한 번만 가져감
+    public void wakeUp() {
+        if (!enabled || !wakeUpScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            taskScheduler.schedule(() -> {
+                wakeUpScheduled.set(false);
+                drain();
+            }, Instant.now());
+        } catch (RuntimeException e) {
+            // 스케줄러가 종료 중이어도 다음 주기에 가져감
+            wakeUpScheduled.set(false);
+            log.debug("이메일 작업자 깨우기 실패: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${game.mail.queue.poll-interval-ms:1000}")
+    public void drain() {
+        if (!enabled) {
+            return;
+        }
+
+        int capacity = maxInFlight - inFlight.get();
+        if (capacity <= 0) {
+            return;
+        }
+
+        List<EmailLog> claimed;
+        try {
+            claimed = claim(Math.min(batchSize, capacity));
+        } catch (Exception e) {
+            log.error("이메일 대기열 조회 실패: {}", e.getMessage());
+            return;
+        }
+
+        for (EmailLog emailLog : claimed) {
+            inFlight.incrementAndGet();
+            CompletableFuture.supplyAsync(() -> emailService.sendQueuedEmail(emailLog), mailExecutor)
+                    .thenCompose(Function.identity())
+                    .whenCompleteAsync((subject, error) -> {
+                        try {
+                            if (error == null) {
+                                onSent(emailLog, subject);
+                            } else {
+                                onFailed(emailLog, error);
+                            }
+                        } finally {
+                            inFlight.decrementAndGet();
+                        }
+                    }, mailExecutor);
+        }
+    }
+
+    // 잠근 행을 SENDING 으로 바꾸고 바로 커밋해서 잠금을 오래 잡지 않음
+    private List<EmailLog> claim(int limit) {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<EmailLog> due = emailLogRepository.lockDueEmails(now, limit);
+            if (!due.isEmpty()) {
+                emailLogRepository.markSending(due.stream().map(EmailLog::getEmailLogId).toList(),
+                        now.plusNanos(leaseMs * 1_000_000));
+            }
+            return due;
+        });
+    }
+
+    private void onSent(EmailLog emailLog, String subject) {
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    emailLogRepository.markSent(emailLog.getEmailLogId(), subject, LocalDateTime.now()));
+            log.info("이메일 전송 성공: emailLogId={}, 이메일: {}", emailLog.getEmailLogId(), emailLog.getRecipientEmail());
+        } catch (Exception e) {
+            // 상태를 못 남기면 lease 가 끝난 뒤 한 번 더 보내질 수 있음
+            log.error("이메일 전송 결과 저장 실패: emailLogId={}, error={}", emailLog.getEmailLogId(), e.getMessage());
+        }
+    }
+
+    private void onFailed(EmailLog emailLog, Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        int attempt = emailLog.getAttempts() + 1;
+        boolean giveUp = attempt >= maxAttempts;
+        LocalDateTime nextAttemptAt = LocalDateTime.now().plusNanos(backoffMillis(attempt) * 1_000_000);
+        String lastError = truncate(cause.getClass().getSimpleName() + ": " + cause.getMessage());
+
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    emailLogRepository.markFailed(emailLog.getEmailLogId(),
+                            (giveUp ? EmailStatus.FAILED : EmailStatus.PENDING).name(), nextAttemptAt, lastError));
+        } catch (Exception e) {
+            log.error("이메일 실패 상태 저장 실패: emailLogId={}, error={}", emailLog.getEmailLogId(), e.getMessage());
+        }
+
+        if (giveUp) {
+            log.error("이메일 전송 포기: emailLogId={}, 시도: {}, 오류: {}", emailLog.getEmailLogId(), attempt, lastError);
+        } else {
+            log.warn("이메일 전송 실패, 재시도 예정: emailLogId={}, 시도: {}, 다음 시도: {}, 오류: {}",
+                    emailLog.getEmailLogId(), attempt, nextAttemptAt, lastError);
+        }
+    }
+
+    // base * 2^(attempt-1), 최대값 제한, 여러 메일이 한꺼번에 재시도하지 않게 ±20% 흔듦
+    long backoffMillis(int attempt) {
+        long delay = backoffBaseMs << Math.min(Math.max(attempt - 1, 0), 20);
+        delay = Math.min(delay, backoffMaxMs);
+        double jitter = 0.8 + ThreadLocalRandom.current().nextDouble() * 0.4;
+        return (long) (delay * jitter);
+    }
+
+    private static String truncate(String message) {
+        return message.length() > 500 ? message.substring(0, 500) : message;
+    }
+}
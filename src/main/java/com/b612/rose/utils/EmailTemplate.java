@@ -0,0 +1,116 @@
+package com.b612.rose.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// 시작 시 한 번 쪼개 둔 이메일 본문
+// 고정 문자열과 {{userName}}, {{purifiedType}}, {{concern}} 자리를 번갈아 두고, 보낼 때는 값만 escape 해서 끼워 넣음
+// 모르는 {{...}} 는 고정 문자열로 그대로 둠
+public final class EmailTemplate {
+
+    enum Field {
+        USER_NAME("{{userName}}"),
+        PURIFIED_TYPE("{{purifiedType}}"),
+        CONCERN("{{concern}}");
+
+        private final String placeholder;
+
+        Field(String placeholder) {
+            this.placeholder = placeholder;
+        }
+    }
+
+    private static final Field[] FIELDS = Field.values();
+
+    // literals.length == fields.length + 1
+    private final String[] literals;
+    private final Field[] fields;
+    private final int literalLength;
+
+    private EmailTemplate(String[] literals, Field[] fields) {
+        this.literals = literals;
+        this.fields = fields;
+
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.literalLength = length;
+    }
+
+    public static EmailTemplate compile(String source) {
+        List<String> literals = new ArrayList<>();
+        List<Field> fields = new ArrayList<>();
+
+        StringBuilder literal = new StringBuilder();
+        int start = 0;
+        int index;
+        while ((index = source.indexOf("{{", start)) >= 0) {
+            Field field = fieldAt(source, index);
+            if (field == null) {
+                literal.append(source, start, index + 2);
+                start = index + 2;
+                continue;
+            }
+            literal.append(source, start, index);
+            literals.add(literal.toString());
+            literal.setLength(0);
+            fields.add(field);
+            start = index + field.placeholder.length();
+        }
+        literal.append(source, start, source.length());
+        literals.add(literal.toString());
+
+        return new EmailTemplate(literals.toArray(new String[0]), fields.toArray(new Field[0]));
+    }
+
+    public String render(String userName, String purifiedType, String concern) {
+        StringBuilder out = new StringBuilder(literalLength + fields.length * 32);
+        render(userName, purifiedType, concern, out);
+        return out.toString();
+    }
+
+    // 호출하는 쪽 버퍼에 이어 씀, null 값은 빈 문자열
+    public void render(String userName, String purifiedType, String concern, StringBuilder out) {
+        out.append(literals[0]);
+        for (int i = 0; i < fields.length; i++) {
+            String value = switch (fields[i]) {
+                case USER_NAME -> userName;
+                case PURIFIED_TYPE -> purifiedType;
+                case CONCERN -> concern;
+            };
+            appendEscaped(value, out);
+            out.append(literals[i + 1]);
+        }
+    }
+
+    int fieldCount() {
+        return fields.length;
+    }
+
+    static void appendEscaped(String value, StringBuilder out) {
+        if (value == null) {
+            return;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '<' -> out.append("&lt;");
+                case '>' -> out.append("&gt;");
+                case '&' -> out.append("&amp;");
+                case '"' -> out.append("&quot;");
+                case '\'' -> out.append("&#39;");
+                default -> out.append(c);
+            }
+        }
+    }
+
+    private static Field fieldAt(String source, int index) {
+        for (Field field : FIELDS) {
+            if (source.startsWith(field.placeholder, index)) {
+                return field;
+            }
+        }
+        return null;
+    }
+}
@@ -1,28 +1,29 @@
 package com.b612.rose.utils;
 
 import com.b612.rose.entity.domain.Star;
-import com.b612.rose.entity.domain.User;
 import com.b612.rose.entity.enums.StarType;
 import com.b612.rose.exception.BusinessException;
 import com.b612.rose.exception.ErrorCode;
-import com.b612.rose.repository.StarRepository;
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.ResourceLoader;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
-import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @Component
 @RequiredArgsConstructor
+@Slf4j
 public class EmailTemplateManager {
-    private final StarRepository starRepository;
+    private final ContentCatalog contentCatalog;
     private final ResourceLoader resourceLoader;
 
     private final Map<String, String> npcEmailMap = new HashMap<>();
@@ -30,6 +31,11 @@ public class EmailTemplateManager {
     private final Map<String, String> npcTemplatePathMap = new HashMap<>();
     private final Map<String, String> npcImagePathMap = new HashMap<>();
     private final Map<String, String> npcCharacterImageMap = new HashMap<>();
+    private final Map<String, EmailTemplate> npcTemplateMap = new HashMap<>();
+    private final Map<String, InlineImage> inlineImageCache = new HashMap<>();
+    private final Map<String, List<InlineImage>> npcInlineImageMap = new HashMap<>();
+    private List<InlineImage> defaultInlineImages = List.of();
+    private volatile Map<String, EmailMessagePrototype> prototypes = Map.of();
 
     // npc별 이메일 데이터 초기화
     @PostConstruct
@@ -55,59 +61,124 @@ public class EmailTemplateManager {
         npcImagePathMap.put("바오밥", "static/images/stars/BaobobStar.png");
 
         npcCharacterImageMap.put("여우", "static/images/character/fox_character.png");
+
+        // 템플릿은 시작할 때 한 번만 읽어서 쪼개 둠 (jar 안에서도 읽히도록 stream 으로)
+        npcTemplatePathMap.forEach((npcName, templatePath) ->
+                npcTemplateMap.put(npcName, loadTemplate(npcName, templatePath)));
+
+        // 이미지도 경로별로 한 번만 읽고 인코딩, npc 별로 넣을 이미지 목록을 만들어 둠
+        npcTemplatePathMap.keySet().forEach(npcName ->
+                npcInlineImageMap.put(npcName, buildInlineImages(npcName)));
+        defaultInlineImages = buildInlineImages(null);
+
+        // 메일 원형은 지금 스냅샷으로 만들어 두고, 컨텐츠가 다시 읽히면 교체한 스레드에서 새로 만듦
+        rebuildPrototypes(contentCatalog.current());
+        contentCatalog.addSwapListener(this::rebuildPrototypes);
     }
 
     // 캐릭터 이름으로 보내는 사람 이메일 가져오기
-    public String getSenderEmail(String npcName) {
+    private String getSenderEmail(String npcName) {
         return npcEmailMap.getOrDefault(npcName, "noreply@b612.rose.com");
     }
 
     // 캐릭터 이름으로 별 정보 불러오기
-    public StarType getStarTypeForNpc(String npcName) {
+    private StarType getStarTypeForNpc(String npcName) {
         return npcStarTypeMap.get(npcName);
     }
 
     // 제목 작성
-    public String getSubject(String npcName, String purifiedTypeName) {
+    private String getSubject(String npcName, String purifiedTypeName) {
         return npcName + "의 선물 - " + purifiedTypeName + "의 별";
     }
 
     // 캐릭터별 별의 이미지 불러오기
-    public String getStarImagePath(String npcName) {
+    private String getStarImagePath(String npcName) {
         return npcImagePathMap.getOrDefault(npcName, "static/images/stars/default-star.png");
     }
 
     // 캐릭터 이미지 불러오기
-    public String getCharacterImagePath(String npcName) {
+    private String getCharacterImagePath(String npcName) {
         return npcCharacterImageMap.getOrDefault(npcName, "static/images/character/default-character.png");
     }
 
-    // 이메일 내용 작성
-    public String getEmailContent(User user, String npcName) {
+    // npc 의 메일 원형, 미리 만들어 둔 것을 그대로 씀
+    public EmailMessagePrototype getPrototype(String npcName) {
+        EmailMessagePrototype prototype = prototypes.get(npcName);
+        if (prototype == null) {
+            // 등록되지 않았거나 별이 없어 못 만든 npc 는 원래대로 별 조회 실패로 처리
+            prototype = buildPrototype(npcName, contentCatalog.current());
+        }
+        return prototype;
+    }
+
+    private void rebuildPrototypes(ContentSnapshot snapshot) {
+        Map<String, EmailMessagePrototype> byNpc = new HashMap<>();
+        for (String npcName : npcStarTypeMap.keySet()) {
+            try {
+                byNpc.put(npcName, buildPrototype(npcName, snapshot));
+            } catch (BusinessException e) {
+                log.warn("이메일 원형 생성 실패: npc={}, error={}", npcName, e.getMessage());
+            }
+        }
+        prototypes = Map.copyOf(byNpc);
+        log.info("이메일 원형 생성: version={}, npc {} 명", snapshot.getVersion(), byNpc.size());
+    }
+
+    private EmailMessagePrototype buildPrototype(String npcName, ContentSnapshot snapshot) {
         StarType starType = getStarTypeForNpc(npcName);
-        Star star = starRepository.findByStarType(starType)
-                .orElseThrow(() -> new BusinessException(ErrorCode.STAR_NOT_FOUND, "해당 타입의 별을 찾을 수 없습니다. " + starType));
+        Star star = starType != null ? snapshot.getStar(starType) : null;
+        if (star == null) {
+            throw new BusinessException(ErrorCode.STAR_NOT_FOUND, "해당 타입의 별을 찾을 수 없습니다. " + starType);
+        }
 
         String purifiedTypeName = star.getPurifiedType().getDescription();
-        String templatePath = npcTemplatePathMap.getOrDefault(npcName, "classpath:templates/emails/default-email.html");
+        EmailTemplate template = npcTemplateMap.get(npcName);
+        if (template == null) {
+            template = fallbackTemplate(npcName);
+        }
 
-        try {
-            Resource resource = resourceLoader.getResource(templatePath);
-            String template = Files.readString(Paths.get(resource.getURI()));
+        return new EmailMessagePrototype(npcName, getSenderEmail(npcName), starType, purifiedTypeName,
+                getSubject(npcName, purifiedTypeName), template,
+                npcInlineImageMap.getOrDefault(npcName, defaultInlineImages));
+    }
 
-            template = template.replace("{{userName}}", user.getUserName())
-                    .replace("{{purifiedType}}", purifiedTypeName);
+    private List<InlineImage> buildInlineImages(String npcName) {
+        List<InlineImage> images = new ArrayList<>(2);
+        addInlineImage(images, "starImage", getStarImagePath(npcName));
+        addInlineImage(images, "characterImage", getCharacterImagePath(npcName));
+        return List.copyOf(images);
+    }
 
-            if (user.getConcern() != null && !user.getConcern().isEmpty()) {
-                template = template.replace("{{concern}}", user.getConcern());
+    private void addInlineImage(List<InlineImage> images, String contentId, String imagePath) {
+        InlineImage image = inlineImageCache.computeIfAbsent(contentId + ":" + imagePath, key -> {
+            try {
+                return InlineImage.load(contentId, resourceLoader.getResource("classpath:" + imagePath));
+            } catch (IOException e) {
+                log.error("이메일 이미지 읽기 실패, 이미지 없이 전송: path={}, error={}", imagePath, e.getMessage());
+                return null;
             }
+        });
+        if (image != null) {
+            images.add(image);
+        }
+    }
 
-            return template;
+    private EmailTemplate loadTemplate(String npcName, String templatePath) {
+        Resource resource = resourceLoader.getResource(templatePath);
+        try (InputStream inputStream = resource.getInputStream()) {
+            return EmailTemplate.compile(new String(inputStream.readAllBytes(), StandardCharsets.UTF_8));
         } catch (IOException e) {
-            return "<div style='font-family: Arial, sans-serif;'>" +
-                    "<h2>안녕하세요, " + user.getUserName() + "님!</h2>" +
-                    "<p>" + npcName + "의 힘으로 정화한 " + purifiedTypeName + "의 별입니다.</p>" +
-                    "</div>";
+            log.error("이메일 템플릿 읽기 실패, 기본 본문 사용: npc={}, path={}, error={}", npcName, templatePath, e.getMessage());
+            return fallbackTemplate(npcName);
         }
     }
+
+    private EmailTemplate fallbackTemplate(String npcName) {
+        StringBuilder escapedNpcName = new StringBuilder();
+        EmailTemplate.appendEscaped(npcName, escapedNpcName);
+        return EmailTemplate.compile("<div style='font-family: Arial, sans-serif;'>" +
+                "<h2>안녕하세요, {{userName}}님!</h2>" +
+                "<p>" + escapedNpcName + "의 힘으로 정화한 {{purifiedType}}의 별입니다.</p>" +
+                "</div>");
+    }
 }
@@ -0,0 +1,179 @@
+package com.b612.rose.utils;
+
+import com.b612.rose.dto.response.ExecutorStatsResponse;
+import org.springframework.core.task.TaskDecorator;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+// 비동기 실행기 하나의 대기/실행/거절 지표
+// TaskDecorator 로 감싸서 제출 시각부터 시작/종료까지 측정함
+// permits 가 있으면 limiting 으로 감싼 실행기에 제출하는 쪽에서 permit 을 잡아 동시에 실행되는 작업 수를 제한함
+// (워커 스레드에서 기다리면 permit 을 못 받은 작업이 풀 스레드를 잡고 있게 되므로 제출 전에 기다림)
+public class ExecutorMetrics implements TaskDecorator {
+
+    private final String name;
+    private final String mode;
+    private final Semaphore permits;
+    private final int permitCount;
+
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicInteger active = new AtomicInteger();
+    private final LongAdder submittedCount = new LongAdder();
+    private final LongAdder completedCount = new LongAdder();
+    private final LongAdder failedCount = new LongAdder();
+    private final LongAdder rejectedCount = new LongAdder();
+    private final LongAdder callerRunsCount = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private final LongAdder totalRunNanos = new LongAdder();
+    private final LongAccumulator maxWaitNanos = new LongAccumulator(Math::max, 0);
+    private final LongAccumulator maxRunNanos = new LongAccumulator(Math::max, 0);
+
+    // 지금 스레드에서 실행 중인 작업이 잡고 있는 permit
+    private final ThreadLocal<Permit> heldPermit = new ThreadLocal<>();
+
+    public ExecutorMetrics(String name, String mode, int permitCount) {
+        this.name = name;
+        this.mode = mode;
+        this.permitCount = permitCount;
+        this.permits = permitCount > 0 ? new Semaphore(permitCount, true) : null;
+    }
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        long submittedAt = System.nanoTime();
+        submittedCount.increment();
+        queued.incrementAndGet();
+
+        return () -> {
+            long startedAt = System.nanoTime();
+            queued.decrementAndGet();
+            recordWait(startedAt - submittedAt);
+
+            active.incrementAndGet();
+            try {
+                runnable.run();
+                completedCount.increment();
+            } catch (RuntimeException | Error e) {
+                failedCount.increment();
+                throw e;
+            } finally {
+                active.decrementAndGet();
+                recordRun(System.nanoTime() - startedAt);
+            }
+        };
+    }
+
+    // 제출하는 스레드에서 permit 을 잡은 뒤 delegate 에 넘기고, 작업이 끝나거나 delegate 가 거절하면 반납함
+    // permit 을 잡고 실행 중인 작업이 다시 제출하면 (사용자 lane 이 이어서 올라가거나 다음 단계를 올리는 경우, 보통 작업 끝)
+    // 자기 permit 을 먼저 반납함, permit 을 쥔 채로 다른 permit 을 기다리다 모두 서로를 기다리는 일이 없도록
+    public Executor limiting(Executor delegate) {
+        if (permits == null) {
+            return delegate;
+        }
+        return task -> {
+            Permit current = heldPermit.get();
+            if (current != null) {
+                current.release();
+            }
+            Permit permit = acquirePermit();
+            try {
+                delegate.execute(() -> runHolding(permit, task));
+            } catch (RuntimeException | Error e) {
+                permit.release();
+                throw e;
+            }
+        };
+    }
+
+    // 거절 건수를 세고 실제 처리는 delegate 에 맡김
+    public RejectedExecutionHandler countingRejections(RejectedExecutionHandler delegate) {
+        return (runnable, executor) -> {
+            if (delegate instanceof ThreadPoolExecutor.CallerRunsPolicy && !executor.isShutdown()) {
+                // 요청 스레드에서 바로 실행되므로 대기 수는 decorate 한 작업이 시작될 때 빠짐
+                // (종료 중이면 CallerRunsPolicy 도 실행하지 않고 버리므로 거절로 셈)
+                callerRunsCount.increment();
+            } else {
+                rejectedCount.increment();
+                queued.decrementAndGet();
+            }
+            delegate.rejectedExecution(runnable, executor);
+        };
+    }
+
+    public ExecutorStatsResponse stats() {
+        long completed = completedCount.sum() + failedCount.sum();
+        return ExecutorStatsResponse.builder()
+                .name(name)
+                .mode(mode)
+                .permits(permitCount)
+                .availablePermits(permits != null ? permits.availablePermits() : -1)
+                .queuedCount(queued.get())
+                .activeCount(active.get())
+                .submittedCount(submittedCount.sum())
+                .completedCount(completedCount.sum())
+                .failedCount(failedCount.sum())
+                .rejectedCount(rejectedCount.sum())
+                .callerRunsCount(callerRunsCount.sum())
+                .averageWaitMillis(completed == 0 ? 0 : totalWaitNanos.sum() / completed / 1_000_000.0)
+                .maxWaitMillis(maxWaitNanos.get() / 1_000_000.0)
+                .averageRunMillis(completed == 0 ? 0 : totalRunNanos.sum() / completed / 1_000_000.0)
+                .maxRunMillis(maxRunNanos.get() / 1_000_000.0)
+                .build();
+    }
+
+    private Permit acquirePermit() {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            rejectedCount.increment();
+            throw new RejectedExecutionException("permit 을 기다리다 인터럽트됨: " + name, e);
+        }
+        return new Permit();
+    }
+
+    // caller-runs 로 제출한 스레드에서 바로 실행될 수 있으므로 원래 잡고 있던 permit 을 되돌려 둠
+    private void runHolding(Permit permit, Runnable task) {
+        Permit outer = heldPermit.get();
+        heldPermit.set(permit);
+        try {
+            task.run();
+        } finally {
+            permit.release();
+            if (outer != null) {
+                heldPermit.set(outer);
+            } else {
+                heldPermit.remove();
+            }
+        }
+    }
+
+    private void recordWait(long nanos) {
+        totalWaitNanos.add(nanos);
+        maxWaitNanos.accumulate(nanos);
+    }
+
+    private void recordRun(long nanos) {
+        totalRunNanos.add(nanos);
+        maxRunNanos.accumulate(nanos);
+    }
+
+    // 한 번만 반납되는 permit (작업 종료와 거절 처리, 먼저 반납이 겹쳐도 한 번만 셈)
+    private final class Permit {
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private void release() {
+            if (released.compareAndSet(false, true)) {
+                permits.release();
+            }
+        }
+    }
+}
@@ -0,0 +1,370 @@
+package com.b612.rose.utils;
+
+import com.b612.rose.dto.response.WriteBehindStatsResponse;
+import com.b612.rose.entity.enums.GameStage;
+import com.b612.rose.entity.enums.StarType;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.NonTransientDataAccessException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.SQLRecoverableException;
+import java.sql.SQLTransientException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+// 게임 진척도 write-behind 큐
+// 같은 사용자의 변경은 flush 전까지 하나로 합치고, 여러 사용자를 한 트랜잭션/배치로 반영함
+// db 가 내려가 있으면(연결/타임아웃 등 일시적 오류) 버리지 않고 간격을 늘려가며 계속 다시 시도
+// 데이터 문제로 max-attempts 번 실패한 변경만 저널의 .dead 파일로 옮기고 큐에서 뺌
+// 반영이 커밋된 변경은 addPersistedListener 로 등록한 쪽에 알림 (메모리 상태의 dirty 정리용)
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class GameProgressWriteQueue {
+
+    private final GameStateWriter gameStateWriter;
+    private final ProgressJournal progressJournal;
+    private final ProgressEventRecorder progressEventRecorder;
+
+    @Value("${game.write-behind.max-batch-size:100}")
+    private int maxBatchSize;
+
+    @Value("${game.write-behind.max-pending:5000}")
+    private int maxPending;
+
+    // 일시적 오류가 아닌 실패를 몇 번까지 다시 시도할지
+    @Value("${game.write-behind.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${game.write-behind.retry-backoff-base-ms:500}")
+    private long retryBackoffBaseMs;
+
+    @Value("${game.write-behind.retry-backoff-max-ms:30000}")
+    private long retryBackoffMaxMs;
+
+    @Value("${game.write-behind.shutdown-timeout-ms:10000}")
+    private long shutdownTimeoutMs;
+
+    private final ConcurrentHashMap<UUID, PendingProgress> pending = new ConcurrentHashMap<>();
+    // flushUserInCurrentTransaction 으로 꺼냈지만 호출한 트랜잭션이 아직 안 끝난 변경
+    private final Set<PendingProgress> inFlight = ConcurrentHashMap.newKeySet();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final List<Consumer<PendingProgress>> persistedListeners = new CopyOnWriteArrayList<>();
+    // db 장애 중 다음 시도 시각, flushLock 안에서만 바꿈
+    private volatile long retryAtNanos;
+    private int consecutiveFailures;
+
+    private final LongAdder enqueuedCount = new LongAdder();
+    private final LongAdder flushedCount = new LongAdder();
+    private final LongAdder batchCount = new LongAdder();
+    private final LongAdder retryCount = new LongAdder();
+    private final LongAdder deadLetteredCount = new LongAdder();
+    private final LongAdder backpressureCount = new LongAdder();
+
+    // 지난 실행에서 db 에 반영되지 못한 변경을 다시 큐에 올림, 다음 flush 에서 반영
+    @PostConstruct
+    public void replayJournal() {
+        int replayed = progressJournal.replay(progress ->
+                pending.merge(progress.getUserId(), progress, PendingProgress::merge));
+        if (replayed > 0) {
+            log.info("write-behind 저널 복구: 기록 {} 건, 사용자 {} 명", replayed, pending.size());
+        }
+    }
+
+    // 스테이지 변경, 요청 하나가 이벤트 하나 (사용자별로 합쳐지기 전에 기록)
+    public void enqueueStage(UUID userId, GameStage stage) {
+        enqueue(PendingProgress.of(userId, stage, 0, 0));
+        progressEventRecorder.recordStage(userId, stage);
+    }
+
+    // 별 수집/전달 + 그에 따른 스테이지 변경
+    public void enqueueStarAction(UUID userId, StarType starType, boolean collected, boolean delivered, GameStage stage) {
+        int bit = GameStateCache.bitOf(starType);
+        enqueue(PendingProgress.of(userId, stage, collected ? bit : 0, delivered ? bit : 0));
+        progressEventRecorder.recordStarAction(userId, starType, collected, delivered, stage);
+    }
+
+    // 메모리에서 내려가는 상태 전체, 이미 이벤트로 남은 변경이라 다시 기록하지 않음
+    public void enqueueState(UUID userId, GameStateCache state) {
+        enqueue(PendingProgress.of(userId, state.getCurrentStage(), state.getCollectedMask(), state.getDeliveredMask()));
+    }
+
+    // 반영이 커밋된 뒤 반영한 스레드에서 호출됨
+    public void addPersistedListener(Consumer<PendingProgress> listener) {
+        persistedListeners.add(listener);
+    }
+
+    // 아직 db 에 반영되지 않은 사용자 변경 (없으면 null)
+    public PendingProgress getPending(UUID userId) {
+        return pending.get(userId);
+    }
+
+    @Scheduled(fixedDelayString = "${game.write-behind.flush-interval-ms:500}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            // db 장애로 기다리는 중이면 다음 시도 시각까지 건너뜀 (저널은 그대로 둠)
+            if (isBackingOff()) {
+                return;
+            }
+            // 이번 flush 동안 계속 쌓이는 요청 때문에 끝나지 않는 일이 없도록 시작 시점 기준으로 횟수 제한
+            int rounds = pending.size() / maxBatchSize + 1;
+            for (int i = 0; i < rounds && !pending.isEmpty(); i++) {
+                if (!writeBatch(drainBatch())) {
+                    break;
+                }
+            }
+            // 이 시점에 반영 중인 배치는 없으므로 반영 안 된 건 pending 과 커밋 전인 in-flight 뿐
+            progressJournal.checkpoint(this::unwritten);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    // 호출한 트랜잭션 안에서 이 사용자의 밀린 변경을 바로 반영 (게임 완료처럼 이후 쓰기가 그 변경에 기대는 경우)
+    // 진행 중인 flush 가 끝난 뒤 꺼내고, 트랜잭션이 롤백되면 다시 큐에 올림
+    public void flushUserInCurrentTransaction(UUID userId) {
+        flushLock.lock();
+        try {
+            PendingProgress progress = pending.get(userId);
+            if (progress == null) {
+                return;
+            }
+            // 호출한 트랜잭션이 커밋될 때까지는 저널에서 지우면 안 되므로 in-flight 로 옮겨 둠
+            inFlight.add(progress);
+            pending.remove(userId, progress);
+
+            if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+                try {
+                    gameStateWriter.writeBatch(List.of(progress));
+                } catch (RuntimeException e) {
+                    pending.merge(userId, progress, (current, failed) -> failed.merge(current));
+                    inFlight.remove(progress);
+                    throw e;
+                }
+                inFlight.remove(progress);
+                flushedCount.increment();
+                notifyPersisted(progress);
+                return;
+            }
+
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        // 롤백되면 다시 저널에 남기고 큐에 올린 뒤에 in-flight 에서 뺌
+                        progressJournal.append(progress, () ->
+                                pending.merge(userId, progress, (current, failed) -> failed.merge(current)));
+                    }
+                    inFlight.remove(progress);
+                    if (status == STATUS_COMMITTED) {
+                        notifyPersisted(progress);
+                    }
+                }
+            });
+            gameStateWriter.writeBatch(List.of(progress));
+            flushedCount.increment();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    // 종료 전에 남은 변경 전부 반영, 제한 시간 안에 못 하면 저널에 남겨 두고 다음 시작 때 다시 반영
+    @PreDestroy
+    public void flushOnShutdown() {
+        log.info("write-behind 종료 flush 시작: {} 건", pending.size());
+        long deadline = System.nanoTime() + shutdownTimeoutMs * 1_000_000;
+        while (!pending.isEmpty() && deadline - System.nanoTime() > 0) {
+            long waitNanos = Math.min(retryAtNanos, deadline) - System.nanoTime();
+            if (waitNanos > 0) {
+                try {
+                    Thread.sleep(waitNanos / 1_000_000 + 1);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+            flush();
+        }
+        if (!pending.isEmpty()) {
+            log.error("write-behind 종료 flush 후에도 {} 건이 반영되지 못해 저널에 남겨 둡니다.", pending.size());
+        }
+    }
+
+    public WriteBehindStatsResponse stats() {
+        return WriteBehindStatsResponse.builder()
+                .pendingCount(pending.size())
+                .enqueuedCount(enqueuedCount.sum())
+                .flushedCount(flushedCount.sum())
+                .batchCount(batchCount.sum())
+                .retryCount(retryCount.sum())
+                .deadLetteredCount(deadLetteredCount.sum())
+                .backingOff(isBackingOff())
+                .backpressureCount(backpressureCount.sum())
+                .build();
+    }
+
+    private void enqueue(PendingProgress progress) {
+        // 저널에 먼저 적고 큐에 넣음 (응답은 메모리 반영만으로 바로 나감)
+        progressJournal.append(progress,
+                () -> pending.merge(progress.getUserId(), progress, PendingProgress::merge));
+        enqueuedCount.increment();
+
+        // 밀린 게 너무 많으면 요청 스레드에서 직접 비우면서 속도를 맞춤
+        // (db 장애 중에는 바로 돌아오고, 사용자별로 합쳐지므로 큐는 사용자 수 이상 커지지 않음)
+        if (pending.size() >= maxPending) {
+            backpressureCount.increment();
+            flush();
+        }
+    }
+
+    private List<PendingProgress> drainBatch() {
+        List<PendingProgress> batch = new ArrayList<>(Math.min(maxBatchSize, pending.size()));
+        Iterator<UUID> iterator = pending.keySet().iterator();
+        while (iterator.hasNext() && batch.size() < maxBatchSize) {
+            PendingProgress progress = pending.remove(iterator.next());
+            if (progress != null) {
+                batch.add(progress);
+            }
+        }
+        return batch;
+    }
+
+    // db 에 닿지 못해 더 진행할 수 없으면 false
+    private boolean writeBatch(List<PendingProgress> batch) {
+        if (batch.isEmpty()) {
+            return true;
+        }
+
+        try {
+            gameStateWriter.writeBatch(batch);
+            batchCount.increment();
+            flushedCount.add(batch.size());
+            consecutiveFailures = 0;
+            batch.forEach(this::notifyPersisted);
+            return true;
+        } catch (Exception e) {
+            if (isTransient(e)) {
+                batch.forEach(this::requeue);
+                backOff(e);
+                return false;
+            }
+            log.warn("write-behind 배치 반영 실패, 사용자별로 다시 시도: {} 건, error={}", batch.size(), e.getMessage());
+        }
+
+        // 한 사용자 때문에 배치 전체가 계속 실패하지 않도록 나눠서 처리
+        boolean anyWritten = false;
+        Exception lastTransient = null;
+        for (PendingProgress progress : batch) {
+            try {
+                gameStateWriter.writeBatch(List.of(progress));
+                flushedCount.increment();
+                anyWritten = true;
+                notifyPersisted(progress);
+            } catch (Exception e) {
+                if (isTransient(e)) {
+                    requeue(progress);
+                    lastTransient = e;
+                } else {
+                    retryOrDeadLetter(progress, e);
+                }
+            }
+        }
+
+        if (lastTransient != null && !anyWritten) {
+            backOff(lastTransient);
+            return false;
+        }
+        consecutiveFailures = 0;
+        return true;
+    }
+
+    private List<PendingProgress> unwritten() {
+        List<PendingProgress> unwritten = new ArrayList<>(pending.values());
+        unwritten.addAll(inFlight);
+        return unwritten;
+    }
+
+    // 알림이 실패해도 이미 커밋된 반영은 그대로 둠 (dirty 가 남으면 정리될 때 한 번 더 쓸 뿐)
+    private void notifyPersisted(PendingProgress progress) {
+        for (Consumer<PendingProgress> listener : persistedListeners) {
+            try {
+                listener.accept(progress);
+            } catch (RuntimeException e) {
+                log.error("write-behind 반영 알림 실패: userId={}, error={}", progress.getUserId(), e.getMessage(), e);
+            }
+        }
+    }
+
+    // 일시적 오류는 횟수를 세지 않고 그대로 다시 올림
+    private void requeue(PendingProgress progress) {
+        retryCount.increment();
+        // 그 사이 들어온 최신 변경이 실패한 이전 변경보다 우선
+        pending.merge(progress.getUserId(), progress, (current, failed) -> failed.merge(current));
+    }
+
+    // 데이터 문제로 보이는 실패는 max-attempts 번까지만 다시 시도하고, 그 뒤에는 버리지 않고 .dead 파일로 옮김
+    private void retryOrDeadLetter(PendingProgress progress, Exception cause) {
+        PendingProgress retry = progress.nextAttempt();
+        if (retry.getAttempts() < maxAttempts) {
+            requeue(retry);
+            return;
+        }
+
+        progressJournal.deadLetter(progress);
+        deadLetteredCount.increment();
+        log.error("write-behind 반영 포기, {} 에 보관: userId={}, stage={}, error={}",
+                progressJournal.getDeadLetterPath(), progress.getUserId(), progress.getStage(),
+                cause.getMessage(), cause);
+    }
+
+    // 연속으로 실패할수록 다음 시도까지 간격을 늘림 (최대 retry-backoff-max-ms)
+    private void backOff(Exception cause) {
+        consecutiveFailures++;
+        long delayMs = Math.min(retryBackoffBaseMs << Math.min(consecutiveFailures - 1, 16), retryBackoffMaxMs);
+        retryAtNanos = System.nanoTime() + delayMs * 1_000_000;
+        log.warn("write-behind db 반영 실패, {}ms 후 다시 시도: 대기 {} 명, 연속 실패 {} 회, error={}",
+                delayMs, pending.size(), consecutiveFailures, cause.getMessage());
+    }
+
+    private boolean isBackingOff() {
+        return consecutiveFailures > 0 && retryAtNanos - System.nanoTime() > 0;
+    }
+
+    // db 연결/타임아웃/락 대기처럼 다시 시도하면 되는 오류인지
+    static boolean isTransient(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof DataAccessResourceFailureException
+                    || cause instanceof TransientDataAccessException
+                    || cause instanceof RecoverableDataAccessException
+                    || cause instanceof TransactionException
+                    || cause instanceof SQLTransientException
+                    || cause instanceof SQLRecoverableException) {
+                return true;
+            }
+            if (cause instanceof NonTransientDataAccessException) {
+                return false;
+            }
+        }
+        return false;
+    }
+}
@@ -2,33 +2,132 @@ package com.b612.rose.utils;
 
 import com.b612.rose.entity.enums.GameStage;
 import com.b612.rose.entity.enums.StarType;
-import lombok.Builder;
-import lombok.Getter;
 
-import java.util.EnumMap;
-import java.util.Map;
+// 스테이지 + 별 수집/전달 여부를 int 하나에 담은 불변 값
+// [stage ordinal][delivered 4bit][collected 4bit], 가능한 조합이 적어서 전부 미리 만들어 두고 공유함
+public final class GameStateCache {
+    private static final int STAR_BITS = 4;
+    private static final int STAR_MASK = (1 << STAR_BITS) - 1;
+    private static final int DELIVERED_SHIFT = STAR_BITS;
+    private static final int STAGE_SHIFT = STAR_BITS * 2;
 
-@Builder
-@Getter
-public class GameStateCache {
-    private GameStage currentStage;
-    private Map<StarType, Boolean> collectedStars;
-    private Map<StarType, Boolean> deliveredStars;
+    private static final GameStage[] STAGES = GameStage.values();
+    private static final GameStateCache[] VALUES = new GameStateCache[STAGES.length << STAGE_SHIFT];
+
+    static {
+        for (int bits = 0; bits < VALUES.length; bits++) {
+            VALUES[bits] = new GameStateCache(bits);
+        }
+    }
+
+    private final int bits;
+
+    private GameStateCache(int bits) {
+        this.bits = bits;
+    }
+
+    public static GameStateCache of(GameStage stage, int collectedMask, int deliveredMask) {
+        return VALUES[(stage.ordinal() << STAGE_SHIFT)
+                | ((deliveredMask & STAR_MASK) << DELIVERED_SHIFT)
+                | (collectedMask & STAR_MASK)];
+    }
+
+    // getBits 로 꺼낸 값을 되돌림
+    public static GameStateCache fromBits(int bits) {
+        return VALUES[bits];
+    }
 
     // 캐시 초기화
     public static GameStateCache createInitial() {
-        Map<StarType, Boolean> collected = new EnumMap<>(StarType.class);
-        Map<StarType, Boolean> delivered = new EnumMap<>(StarType.class);
+        return of(GameStage.INTRO, 0, 0);
+    }
 
-        for (StarType type : StarType.values()) {
-            collected.put(type, false);
-            delivered.put(type, false);
-        }
+    // db에서 스테이지만 읽어온 경우
+    public static GameStateCache ofStage(GameStage stage) {
+        return of(stage, 0, 0);
+    }
+
+    public static int bitOf(StarType starType) {
+        return 1 << starType.ordinal();
+    }
+
+    public static int allStarsMask() {
+        return (1 << StarType.values().length) - 1;
+    }
+
+    public GameStage getCurrentStage() {
+        return STAGES[bits >>> STAGE_SHIFT];
+    }
+
+    public int getCollectedMask() {
+        return bits & STAR_MASK;
+    }
+
+    public int getDeliveredMask() {
+        return (bits >>> DELIVERED_SHIFT) & STAR_MASK;
+    }
+
+    public int getBits() {
+        return bits;
+    }
+
+    public boolean isCollected(StarType starType) {
+        return (getCollectedMask() & bitOf(starType)) != 0;
+    }
+
+    public boolean isDelivered(StarType starType) {
+        return (getDeliveredMask() & bitOf(starType)) != 0;
+    }
+
+    public boolean isAllCollectedAndDelivered() {
+        int all = allStarsMask();
+        return getCollectedMask() == all && getDeliveredMask() == all;
+    }
+
+    public GameStateCache withStage(GameStage stage) {
+        return of(stage, getCollectedMask(), getDeliveredMask());
+    }
+
+    // 스테이지는 앞으로만 진행, 같거나 앞선 스테이지로는 바꾸지 않음
+    public GameStateCache advanceStage(GameStage stage) {
+        return stage.isAfter(getCurrentStage()) ? withStage(stage) : this;
+    }
+
+    // 수집/전달은 true 로만 바뀌고, 전달은 수집된 별에만 반영됨 (db upsert 와 같은 규칙)
+    public GameStateCache withStar(StarType starType, boolean collected, boolean delivered) {
+        int bit = bitOf(starType);
+        int collectedMask = collected ? getCollectedMask() | bit : getCollectedMask();
+        int deliveredMask = delivered && (collectedMask & bit) != 0 ? getDeliveredMask() | bit : getDeliveredMask();
+        return of(getCurrentStage(), collectedMask, deliveredMask);
+    }
+
+    // 다른 곳에서 온 변경을 합침, 스테이지는 더 뒤의 것(null 이면 유지)이고 별은 OR
+    public GameStateCache merge(GameStage stage, int collectedMask, int deliveredMask) {
+        return of(PendingProgress.laterStage(getCurrentStage(), stage),
+                getCollectedMask() | collectedMask, getDeliveredMask() | deliveredMask);
+    }
+
+    // other 에 이 상태의 스테이지와 별이 모두 들어 있는지
+    public boolean isCoveredBy(GameStateCache other) {
+        return !getCurrentStage().isAfter(other.getCurrentStage())
+                && (getCollectedMask() & ~other.getCollectedMask()) == 0
+                && (getDeliveredMask() & ~other.getDeliveredMask()) == 0;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || (o instanceof GameStateCache other && other.bits == bits);
+    }
+
+    @Override
+    public int hashCode() {
+        return bits;
+    }
 
-        return GameStateCache.builder()
-                .currentStage(GameStage.INTRO)
-                .collectedStars(collected)
-                .deliveredStars(delivered)
-                .build();
+    @Override
+    public String toString() {
+        return "GameStateCache(stage=" + getCurrentStage()
+                + ", collected=" + Integer.toBinaryString(getCollectedMask())
+                + ", delivered=" + Integer.toBinaryString(getDeliveredMask()) + ")";
     }
 }
@@ -2,35 +2,31 @@ package com.b612.rose.utils;
 
 import com.b612.rose.entity.domain.*;
 import com.b612.rose.entity.enums.GameStage;
-import com.b612.rose.entity.enums.InteractiveObjectType;
 import com.b612.rose.entity.enums.StarType;
 import com.b612.rose.exception.BusinessException;
 import com.b612.rose.exception.ErrorCode;
 import com.b612.rose.repository.*;
+import jakarta.annotation.PreDestroy;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 import org.springframework.validation.BindException;
 
-import java.time.LocalDateTime;
-import java.util.EnumMap;
-import java.util.List;
-import java.util.Map;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
 
 @Component
 @RequiredArgsConstructor
 public class GameStateManager {
 
-    private final StarRepository starRepository;
+    private final ContentCatalog contentCatalog;
     private final UserRepository userRepository;
     private final CollectedStarRepository collectedStarRepository;
     private final GameProgressRepository gameProgressRepository;
-    private final InteractiveObjectRepository interactiveObjectRepository;
-    private final UserInteractionRepository userInteractionRepository;
-
-    private final Map<UUID, GameStateCache> userGameStates = new ConcurrentHashMap<>();
+    private final GameStateStore gameStateStore;
+    private final GameStateSnapshotRepository gameStateSnapshotRepository;
+    private final ProgressEventRecorder progressEventRecorder;
+    private final GameProgressWriteQueue gameProgressWriteQueue;
 
     // 게임 시작때 필요한 로직
     @Transactional
@@ -39,41 +35,24 @@ public class GameStateManager {
                 .orElseThrow(() -> new BusinessException(ErrorCode.USER_NOT_FOUND,
                         "사용자를 찾을 수 없습니다. userId: " + userId));
 
-        List<Star> allStars = starRepository.findAll();
-
-        for (Star star : allStars) {
-            CollectedStar collectedStar = CollectedStar.builder()
-                    .userId(userId)
-                    .starId(star.getStarId())
-                    .collected(false)
-                    .delivered(false)
-                    .build();
+        // 별/상호작용 행은 처음 바뀔 때 만들어지므로 여기서는 메모리 상태만 준비
+        // 비동기 초기화 전에 이미 진행한 상태가 있으면 덮어쓰지 않음
+        gameStateStore.putIfAbsent(userId, GameStateCache.createInitial());
+    }
 
-            collectedStarRepository.save(collectedStar);
-        }
-        initUserInteractions(userId);
-        userGameStates.put(userId, GameStateCache.createInitial());
+    // 메모리에 올라와 있는 상태만 조회, 없으면 null (db 로드 안 함)
+    public GameStateCache getResidentState(UUID userId) {
+        return gameStateStore.get(userId);
     }
 
     // 현재 스테이지 조회: 메모리에서 찾고 없으면 db
     public GameStage getCurrentStage(UUID userId) {
-        GameStateCache cache = userGameStates.get(userId);
+        GameStateCache cache = gameStateStore.get(userId);
         if (cache != null) {
             return cache.getCurrentStage();
         }
 
-        GameStage stage = gameProgressRepository.findByUserId(userId)
-                .map(GameProgress::getCurrentStage)
-                .orElse(GameStage.INTRO);
-
-        GameStateCache newCache = GameStateCache.builder()
-                .currentStage(stage)
-                .collectedStars(new EnumMap<>(StarType.class))
-                .deliveredStars(new EnumMap<>(StarType.class))
-                .build();
-        userGameStates.put(userId, newCache);
-
-        return stage;
+        return loadGameState(userId).getCurrentStage();
     }
 
     // 별 줍는 거에 따라 어떤 스테이지로 업데이트할지
@@ -103,197 +82,132 @@ public class GameStateManager {
 
     // 메모리 캐시 업데이트, db 작업은 별도로 함
     public void updateMemoryGameState(UUID userId, StarType starType, boolean collected, boolean delivered) {
-        userGameStates.compute(userId, (key, existingCache) -> {
-            GameStateCache cache = existingCache != null ? existingCache : GameStateCache.createInitial();
-
-            Map<StarType, Boolean> collectedMap = new EnumMap<>(cache.getCollectedStars());
-            Map<StarType, Boolean> deliveredMap = new EnumMap<>(cache.getDeliveredStars());
-
-            collectedMap.put(starType, collected);
-            deliveredMap.put(starType, delivered);
-
-            return GameStateCache.builder()
-                    .currentStage(cache.getCurrentStage())
-                    .collectedStars(collectedMap)
-                    .deliveredStars(deliveredMap)
-                    .build();
-        });
+        gameStateStore.compute(userId, this::loadFromDatabase,
+                cache -> cache.withStar(starType, collected, delivered));
     }
 
-    // 메모리 스테이지 업데이트
-    public void updateMemoryStage(UUID userId, GameStage newStage) {
-        userGameStates.compute(userId, (key, existingCache) -> {
-            GameStateCache cache = existingCache != null ? existingCache : GameStateCache.createInitial();
-
-            return GameStateCache.builder()
-                    .currentStage(newStage)
-                    .collectedStars(cache.getCollectedStars())
-                    .deliveredStars(cache.getDeliveredStars())
-                    .build();
-        });
-    }
-
-    // 별 주웠다고 업데이트
-    @Transactional
-    public void markStarAsCollected(UUID userId, StarType starType) {
-        Star star = starRepository.findByStarType(starType)
-                .orElseThrow(() -> new BusinessException(ErrorCode.STAR_NOT_FOUND,
-                        "해당 별을 찾을 수 없습니다. " + starType));
-
-        CollectedStar oldCollectedStar = collectedStarRepository.findByUserIdAndStarStarType(userId, starType)
-                .orElseThrow(() ->new BusinessException(ErrorCode.RESOURCE_NOT_FOUND,
-                        "수집된 별을 찾을 수 없습니다. userId : " + userId + " 별 종류: " + starType));
-
-        if (oldCollectedStar.isCollected() && starType != StarType.PRIDE) {
-            throw new BusinessException(ErrorCode.STAR_ALREADY_COLLECTED,
-                    "이 별은 이미 수집되었습니다. : " + starType);
+    // 이미 반영된 별 동작인지 (재시도 요청 판별용)
+    // 별 비트가 켜져 있고 스테이지도 targetStage 이상이면 반영된 것
+    // 메모리에 없으면 db 의 스테이지와 별 상태를 올려서 판단함, 다시 반영하더라도 스테이지는 앞으로만 움직임
+    public boolean isStarActionApplied(UUID userId, StarType starType, boolean delivered, GameStage targetStage) {
+        GameStateCache cache = gameStateStore.get(userId);
+        if (cache == null) {
+            cache = loadGameState(userId);
         }
-
-        CollectedStar updatedCollectedStar = CollectedStar.builder()
-                .collectionId(oldCollectedStar.getCollectionId())
-                .userId(userId)
-                .starId(star.getStarId())
-                .collected(true)
-                .delivered(oldCollectedStar.isDelivered())
-                .collectedAt(LocalDateTime.now())
-                .deliveredAt(oldCollectedStar.getDeliveredAt())
-                .build();
-
-        collectedStarRepository.save(updatedCollectedStar);
-        updateMemoryGameState(userId, starType, true, oldCollectedStar.isDelivered());
+        if (targetStage.isAfter(cache.getCurrentStage())) {
+            return false;
+        }
+        return delivered ? cache.isDelivered(starType) : cache.isCollected(starType);
     }
 
-    // 별 줬다고 업데이트
+    // Idempotency-Key 가 있는 별 동작은 collected_star 행을 읽은 버전 조건으로 바로 바꿔서
+    // 다른 서버로 간 같은 재시도와 겨룸, 이미 반영돼 있거나 버전이 달라 진 쪽이면 false
     @Transactional
-    public void markStarAsDelivered(UUID userId, StarType starType) {
-        Star star = starRepository.findByStarType(starType)
-                .orElseThrow(() -> new BusinessException(ErrorCode.STAR_NOT_FOUND,
-                        "해당 타입의 별을 찾을 수 없습니다. :  " + starType));
-
-        CollectedStar oldCollectedStar = collectedStarRepository.findByUserIdAndStarStarType(userId, starType)
-                .orElseThrow(() -> new BusinessException(ErrorCode.RESOURCE_NOT_FOUND,
-                        "사용자에게서 수집된 별을 찾을 수 없습니다. : " + userId + " 별의 종류: " + starType));
-
-        if (!oldCollectedStar.isCollected()) {
-            throw new BusinessException(ErrorCode.STAR_NOT_COLLECTED,
-                    "별 전달을 위해선 먼저 수집해야합니다. " + starType);
-        }
-
-        if (oldCollectedStar.isDelivered() && starType != StarType.PRIDE) {
-            throw new BusinessException(ErrorCode.STAR_ALREADY_COLLECTED,
-                    "이미 전달된 별입니다. " + starType);
+    public boolean claimStarAction(UUID userId, StarType starType, boolean collected, boolean delivered) {
+        CollectedStar star = collectedStarRepository.findByUserIdAndStarStarType(userId, starType).orElse(null);
+        if (star == null) {
+            return collectedStarRepository.insertStarStateIfAbsent(userId, starType.name(), collected, delivered) == 1;
         }
-        CollectedStar updatedCollectedStar = CollectedStar.builder()
-                .collectionId(oldCollectedStar.getCollectionId())
-                .userId(userId)
-                .starId(star.getStarId())
-                .collected(oldCollectedStar.isCollected())
-                .delivered(true)
-                .collectedAt(oldCollectedStar.getCollectedAt())
-                .deliveredAt(LocalDateTime.now())
-                .build();
-
-        collectedStarRepository.save(updatedCollectedStar);
-        updateMemoryGameState(userId, starType, oldCollectedStar.isCollected(), true);
-
-        if (starType == StarType.SAD) {
-            activateRequestForm(userId);
+        if (delivered ? star.isDelivered() : star.isCollected()) {
+            return false;
         }
+        return collectedStarRepository.updateStarStateIfVersion(
+                star.getCollectionId(), collected, delivered, star.getVersion()) == 1;
     }
 
-    @Transactional
-    public void updateDatabaseGameStage(UUID userId, GameStage newStage) {
-        GameProgress currentProgress = gameProgressRepository.findByUserId(userId)
-                .orElseThrow(() -> new BusinessException(ErrorCode.GAME_PROGRESS_NOT_FOUND));
-
-        GameProgress updatedProgress = GameProgress.builder()
-                .progressId(currentProgress.getProgressId())
-                .userId(userId)
-                .currentStage(newStage)
-                .build();
-
-        gameProgressRepository.save(updatedProgress);
+    // 메모리 스테이지 업데이트, 앞으로만 옮기고 반영 후 스테이지 반환
+    public GameStage updateMemoryStage(UUID userId, GameStage newStage) {
+        return gameStateStore.compute(userId, this::loadFromDatabase, cache -> cache.advanceStage(newStage))
+                .getCurrentStage();
     }
 
-    // 의뢰서 활성화
+    // 조회 없이 조건부 update 한 번, 바뀐 게 없을 때만 행이 있는지 확인
     @Transactional
-    protected void activateRequestForm(UUID userId) {
-        InteractiveObject requestFormObject = interactiveObjectRepository
-                .findByObjectType(InteractiveObjectType.REQUEST_FORM)
-                .orElseThrow(() -> new BusinessException(ErrorCode.OBJECT_NOT_FOUND,
-                        "요청 오브젝트를 찾을 수 없습니다."));
-
-        UserInteraction interaction = userInteractionRepository
-                .findByUserIdAndObjectId(userId, requestFormObject.getObjectId())
-                .orElse(null);
-
-        if (interaction == null) {
-            interaction = UserInteraction.builder()
-                    .userId(userId)
-                    .objectId(requestFormObject.getObjectId())
-                    .hasInteracted(false)
-                    .isActive(true)
-                    .build();
-        } else {
-            interaction = UserInteraction.builder()
-                    .interactionId(interaction.getInteractionId())
-                    .userId(interaction.getUserId())
-                    .objectId(interaction.getObjectId())
-                    .hasInteracted(interaction.isHasInteracted())
-                    .isActive(true)
-                    .interactedAt(interaction.getInteractedAt())
-                    .build();
+    public void updateDatabaseGameStage(UUID userId, GameStage newStage) {
+        if (gameProgressRepository.advanceStage(userId, newStage) == 0
+                && !gameProgressRepository.existsByUserId(userId)) {
+            throw new BusinessException(ErrorCode.GAME_PROGRESS_NOT_FOUND);
         }
-
-        userInteractionRepository.save(interaction);
+        gameStateSnapshotRepository.mergeState(userId, newStage, 0, 0, 0, 0);
     }
 
     // 게임 완료 처리
+    // 마지막 전달처럼 아직 write-behind 큐에 있는 변경을 같은 트랜잭션에서 먼저 반영하고 완료 스테이지를 씀
     @Transactional
     public void completeGame(UUID userId, String email, String concern, String selectedNpc) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new BusinessException(ErrorCode.USER_NOT_FOUND,
-                        "사용자를 찾을 수 없습니다: " + userId));
+        gameProgressWriteQueue.flushUserInCurrentTransaction(userId);
 
-        User updatedUser = User.builder()
-                .userId(user.getUserId())
-                .userName(user.getUserName())
-                .email(email)
-                .concern(concern)
-                .selectedNpc(selectedNpc)
-                .isCompleted(true)
-                .build();
+        if (userRepository.completeUser(userId, email, concern, selectedNpc) == 0) {
+            throw new BusinessException(ErrorCode.USER_NOT_FOUND,
+                    "사용자를 찾을 수 없습니다: " + userId);
+        }
 
-        userRepository.save(updatedUser);
         updateDatabaseGameStage(userId, GameStage.GAME_COMPLETE);
+        progressEventRecorder.recordGameCompleted(userId);
     }
 
 
     // 별 다 줍고 전달했는지 검증
+    // 메모리 마스크는 db 와 같은 규칙(수집된 별만 전달)으로 채워지므로 다 찼으면 바로 통과
+    // 아니면 db 확인 (db 에서 스테이지만 올린 경우 메모리 마스크가 비어 있음)
+    // 행이 없는 별은 아직 수집 안 한 것
     public boolean areAllStarsCollectedAndDelivered(UUID userId) {
-        List<CollectedStar> stars = collectedStarRepository.findAllByUserId(userId);
+        GameStateCache cache = gameStateStore.get(userId);
+        if (cache != null && cache.isAllCollectedAndDelivered()) {
+            return true;
+        }
 
-        if (stars.isEmpty()) {
+        int totalStars = contentCatalog.current().getStarCount();
+        if (totalStars == 0) {
             return false;
         }
 
-        return stars.stream().allMatch(star -> star.isCollected() && star.isDelivered());
+        return collectedStarRepository.countByUserIdAndCollectedTrueAndDeliveredTrue(userId) == totalStars;
+    }
+
+    // 오래 접근 안 한 사용자 상태 정리
+    @Scheduled(fixedDelayString = "${game.state-cache.sweep-interval-ms:60000}")
+    public void evictIdleGameStates() {
+        gameStateStore.evictIdle();
+    }
+
+    // 종료 전에 db에 반영 안 된 상태 내보내기
+    @PreDestroy
+    public void flushGameStates() {
+        gameStateStore.flushAll();
     }
 
-    private void initUserInteractions(UUID userId) {
-        List<InteractiveObject> objects = interactiveObjectRepository.findAll();
+    // 메모리에 없으면 db에서 스테이지를 읽어와 올림
+    private GameStateCache loadGameState(UUID userId) {
+        return gameStateStore.putIfAbsent(userId, loadFromDatabase(userId));
+    }
 
-        for (InteractiveObject object : objects) {
-            boolean isActive = object.getObjectType() != InteractiveObjectType.REQUEST_FORM;
+    // 진척도는 가입과 같은 트랜잭션에서 만들어지므로 없으면 없는 사용자, 메모리에 올리지 않음
+    // 별 상태도 함께 읽어서 다시 올린 뒤에도 이미 한 수집/전달을 알 수 있게 함
+    // 메모리에서 내려간 뒤 아직 write-behind 큐에 남아 있는 변경이 있으면 그 위에 얹음
+    private GameStateCache loadFromDatabase(UUID userId) {
+        GameStage stage = gameProgressRepository.findByUserId(userId)
+                .map(GameProgress::getCurrentStage)
+                .orElseThrow(() -> new BusinessException(ErrorCode.USER_NOT_FOUND,
+                        "사용자를 찾을 수 없습니다. userId: " + userId));
 
-            UserInteraction interaction = UserInteraction.builder()
-                    .userId(userId)
-                    .objectId(object.getObjectId())
-                    .hasInteracted(false)
-                    .isActive(isActive)
-                    .build();
+        int collectedMask = 0;
+        int deliveredMask = 0;
+        for (CollectedStar collectedStar : collectedStarRepository.findAllWithStarByUserId(userId)) {
+            int bit = GameStateCache.bitOf(collectedStar.getStar().getStarType());
+            if (collectedStar.isCollected()) {
+                collectedMask |= bit;
+            }
+            if (collectedStar.isDelivered()) {
+                deliveredMask |= bit;
+            }
+        }
 
-            userInteractionRepository.save(interaction);
+        PendingProgress pending = gameProgressWriteQueue.getPending(userId);
+        if (pending == null) {
+            return GameStateCache.of(stage, collectedMask, deliveredMask);
         }
+        return GameStateCache.of(PendingProgress.laterStage(stage, pending.getStage()),
+                collectedMask | pending.getCollectedMask(), deliveredMask | pending.getDeliveredMask());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,38 @@
+package com.b612.rose.utils;
+
+import com.b612.rose.dto.response.GameStateCacheStatsResponse;
+import com.b612.rose.entity.enums.GameStage;
+
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+// 사용자별 게임 상태를 메모리에 보관하는 저장소
+public interface GameStateStore {
+
+    // 메모리에 있으면 반환, 없으면 null
+    GameStateCache get(UUID userId);
+
+    // db와 동기화된 상태로 저장 (dirty 아님)
+    void put(UUID userId, GameStateCache state);
+
+    // 이미 있으면 기존 상태 유지, 최종적으로 메모리에 있는 상태 반환
+    GameStateCache putIfAbsent(UUID userId, GameStateCache state);
+
+    // 메모리 상태 변경, db 반영 전이므로 dirty 로 표시
+    // 메모리에 없으면 같은 락 안에서 loader 로 db 상태를 읽어 올린 뒤 변경함 (loader 가 실패하면 아무것도 올리지 않음)
+    // 경합하면 updater 가 여러 번 불릴 수 있으므로 부수 효과 없이 새 값만 돌려줘야 함
+    GameStateCache compute(UUID userId, Function<UUID, GameStateCache> loader, UnaryOperator<GameStateCache> updater);
+
+    // 이 사용자의 변경이 db 에 커밋됨, 메모리 상태가 지금까지 반영된 내용에 다 들어 있으면 dirty 를 지움
+    // stage 가 null 이면 스테이지 변경 없음
+    void markPersisted(UUID userId, GameStage stage, int collectedMask, int deliveredMask);
+
+    // 오래 접근하지 않은 상태 정리
+    void evictIdle();
+
+    // dirty 상태 전부 db로 내보내기 (종료 시)
+    void flushAll();
+
+    GameStateCacheStatsResponse stats();
+}
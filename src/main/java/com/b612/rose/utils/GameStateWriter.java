@@ -0,0 +1,81 @@
+package com.b612.rose.utils;
+
+import com.b612.rose.entity.domain.GameStateSnapshot;
+import com.b612.rose.entity.enums.GameStage;
+import com.b612.rose.entity.enums.InteractiveObjectType;
+import com.b612.rose.entity.enums.StarType;
+import com.b612.rose.repository.CollectedStarRepository;
+import com.b612.rose.repository.GameProgressRepository;
+import com.b612.rose.repository.GameStateSnapshotRepository;
+import com.b612.rose.repository.UserInteractionRepository;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class GameStateWriter {
+
+    private final GameProgressRepository gameProgressRepository;
+    private final CollectedStarRepository collectedStarRepository;
+    private final UserInteractionRepository userInteractionRepository;
+    private final GameStateSnapshotRepository gameStateSnapshotRepository;
+
+    // write-behind 큐에서 모인 사용자들의 변경을 한 트랜잭션으로 반영
+    @Transactional
+    public void writeBatch(List<PendingProgress> batch) {
+        Map<UUID, PendingProgress> byUser = new HashMap<>();
+        for (PendingProgress progress : batch) {
+            byUser.merge(progress.getUserId(), progress, PendingProgress::merge);
+        }
+
+        // 스테이지는 조회 없이 목표 스테이지별로 묶어 앞으로만 옮기는 조건부 update
+        Map<GameStage, List<UUID>> usersByStage = new EnumMap<>(GameStage.class);
+        for (PendingProgress progress : byUser.values()) {
+            if (progress.getStage() != null) {
+                usersByStage.computeIfAbsent(progress.getStage(), stage -> new ArrayList<>()).add(progress.getUserId());
+            }
+        }
+        int stageUpdates = 0;
+        for (Map.Entry<GameStage, List<UUID>> entry : usersByStage.entrySet()) {
+            stageUpdates += gameProgressRepository.advanceStageForUsers(entry.getValue(), entry.getKey());
+        }
+
+        // 별 행은 처음 바뀔 때 만들어지므로 upsert 로 반영
+        int starUpdates = 0;
+        for (PendingProgress progress : byUser.values()) {
+            int activeMask = 0;
+            for (StarType starType : StarType.values()) {
+                boolean collected = progress.isCollected(starType);
+                boolean delivered = progress.isDelivered(starType);
+                if (!collected && !delivered) {
+                    continue;
+                }
+
+                starUpdates += collectedStarRepository.upsertStarState(
+                        progress.getUserId(), starType.name(), collected, delivered);
+
+                // 슬픔의 별을 전달하면 의뢰서 활성화
+                if (starType == StarType.SAD && delivered) {
+                    userInteractionRepository.activateRequestForm(progress.getUserId());
+                    activeMask = GameStateSnapshot.objectBit(InteractiveObjectType.REQUEST_FORM);
+                }
+            }
+
+            gameStateSnapshotRepository.mergeState(progress.getUserId(), progress.getStage(),
+                    progress.getCollectedMask(), progress.getDeliveredMask(), 0, activeMask);
+        }
+
+        log.info("write-behind 배치 반영 완료: 사용자 {} 명, 스테이지 {} 건, 별 {} 건",
+                byUser.size(), stageUpdates, starUpdates);
+    }
+}
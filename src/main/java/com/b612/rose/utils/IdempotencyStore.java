@@ -0,0 +1,156 @@
+package com.b612.rose.utils;
+
+import com.b612.rose.entity.domain.IdempotencyRecord;
+import com.b612.rose.entity.enums.GameStage;
+import com.b612.rose.exception.BusinessException;
+import com.b612.rose.exception.ErrorCode;
+import com.b612.rose.repository.IdempotencyRecordRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+// Idempotency-Key 가 붙은 요청의 결과 기록
+// 메모리(최근 키, 개수 제한)에서 먼저 찾고 없으면 db, 같은 키가 동시에 들어오면 한 요청만 처리하고 나머지는 결과를 기다림
+// db 기록은 호출한 트랜잭션 안에서 바로 남겨서, 응답 직후 다른 서버로 간 재시도도 기록을 봄
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class IdempotencyStore {
+
+    static final int MAX_KEY_LENGTH = 100;
+
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${game.idempotency.max-entries:10000}")
+    private int maxEntries;
+
+    @Value("${game.idempotency.ttl-ms:86400000}")
+    private long ttlMillis;
+
+    private final Map<String, GameStage> recent = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, GameStage> eldest) {
+            return size() > maxEntries;
+        }
+    };
+
+    private final ConcurrentHashMap<String, CompletableFuture<GameStage>> inFlight = new ConcurrentHashMap<>();
+
+    // 키가 없으면 그냥 실행, 있으면 처음 한 번만 실행하고 이후에는 기록된 결과를 돌려줌
+    // 키가 있으면 트랜잭션 안에서 호출해야 함 (결과 기록이 같은 트랜잭션으로 커밋됨)
+    public GameStage execute(UUID userId, String action, String idempotencyKey, Supplier<GameStage> handler) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return handler.get();
+        }
+        if (idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new BusinessException(ErrorCode.INVALID_INPUT_VALUE,
+                    "Idempotency-Key 는 " + MAX_KEY_LENGTH + "자 이하여야 합니다.");
+        }
+
+        String id = userId + ":" + action + ":" + idempotencyKey;
+        GameStage recorded = findRecorded(id);
+        if (recorded != null) {
+            log.info("중복 요청, 기록된 결과로 응답: userId={}, action={}, key={}", userId, action, idempotencyKey);
+            return recorded;
+        }
+
+        CompletableFuture<GameStage> created = new CompletableFuture<>();
+        CompletableFuture<GameStage> existing = inFlight.putIfAbsent(id, created);
+        if (existing != null) {
+            return await(existing);
+        }
+
+        try {
+            // 기다리는 사이 앞 요청이 끝났을 수 있음
+            GameStage result = findRecordedInMemory(id);
+            if (result == null) {
+                result = persist(id, userId, action, handler.get());
+                remember(id, result);
+            }
+            created.complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            // 실패한 요청은 기록하지 않음, 같은 키로 다시 시도 가능
+            created.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(id, created);
+        }
+    }
+
+    // 오래된 기록 정리
+    @Scheduled(fixedDelayString = "${game.idempotency.purge-interval-ms:3600000}")
+    public void purgeExpired() {
+        try {
+            int deleted = transactionTemplate.execute(status -> idempotencyRecordRepository.deleteCreatedBefore(
+                    LocalDateTime.now().minusNanos(ttlMillis * 1_000_000)));
+            if (deleted > 0) {
+                log.info("만료된 Idempotency 기록 삭제: {} 건", deleted);
+            }
+        } catch (Exception e) {
+            log.warn("Idempotency 기록 정리 실패: {}", e.getMessage());
+        }
+    }
+
+    private GameStage findRecorded(String id) {
+        GameStage recorded = findRecordedInMemory(id);
+        if (recorded != null) {
+            return recorded;
+        }
+
+        return idempotencyRecordRepository.findById(id)
+                .filter(record -> record.getCreatedAt().isAfter(LocalDateTime.now().minusNanos(ttlMillis * 1_000_000)))
+                .map(record -> {
+                    remember(id, record.getResultStage());
+                    return record.getResultStage();
+                })
+                .orElse(null);
+    }
+
+    private GameStage findRecordedInMemory(String id) {
+        synchronized (recent) {
+            return recent.get(id);
+        }
+    }
+
+    private void remember(String id, GameStage result) {
+        synchronized (recent) {
+            recent.put(id, result);
+        }
+    }
+
+    // 실패하면 요청도 실패, 재시도는 이미 반영된 별 동작으로 판별되어 상태를 다시 바꾸지 않음
+    // 같은 키가 다른 서버에서 먼저 기록됐으면 그 결과로 응답
+    private GameStage persist(String id, UUID userId, String action, GameStage result) {
+        if (idempotencyRecordRepository.insertIfAbsent(id, userId, action, result.name()) == 1) {
+            return result;
+        }
+        return idempotencyRecordRepository.findById(id)
+                .map(IdempotencyRecord::getResultStage)
+                .orElse(result);
+    }
+
+    private GameStage await(CompletableFuture<GameStage> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.b612.rose.utils;
+
+import jakarta.activation.DataHandler;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Part;
+import jakarta.mail.internet.MimeBodyPart;
+import jakarta.mail.internet.PreencodedMimeBodyPart;
+import jakarta.mail.util.ByteArrayDataSource;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+// 메일 본문에 cid 로 넣는 이미지, 시작 시 한 번 읽어서 base64 로 미리 인코딩해 둠
+// 메일마다 파트 객체만 새로 만들고 인코딩된 바이트는 그대로 씀
+public final class InlineImage {
+
+    private final String contentId;
+    private final String contentType;
+    private final byte[] encoded;
+
+    private InlineImage(String contentId, String contentType, byte[] encoded) {
+        this.contentId = contentId;
+        this.contentType = contentType;
+        this.encoded = encoded;
+    }
+
+    public static InlineImage load(String contentId, Resource resource) throws IOException {
+        try (InputStream inputStream = resource.getInputStream()) {
+            return of(contentId, contentTypeOf(resource.getFilename()), inputStream.readAllBytes());
+        }
+    }
+
+    static InlineImage of(String contentId, String contentType, byte[] bytes) {
+        // mime 규격대로 76자마다 CRLF
+        String encoded = Base64.getMimeEncoder().encodeToString(bytes);
+        return new InlineImage(contentId, contentType, encoded.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    // MimeMessageHelper.addInline 과 같은 헤더 (inline, Content-ID), 본문은 다시 인코딩하지 않음
+    public MimeBodyPart toBodyPart() throws MessagingException {
+        MimeBodyPart part = new PreencodedMimeBodyPart("base64");
+        part.setDisposition(Part.INLINE);
+        part.setContentID("<" + contentId + ">");
+        part.setDataHandler(new DataHandler(new ByteArrayDataSource(encoded, contentType)));
+        part.setHeader("Content-Type", contentType);
+        return part;
+    }
+
+    public String getContentId() {
+        return contentId;
+    }
+
+    int getEncodedLength() {
+        return encoded.length;
+    }
+
+    private static String contentTypeOf(String filename) {
+        if (filename != null) {
+            String lower = filename.toLowerCase();
+            if (lower.endsWith(".png")) {
+                return "image/png";
+            }
+            if (lower.endsWith(".jpg") || lower.endsWith(".jpeg")) {
+                return "image/jpeg";
+            }
+            if (lower.endsWith(".gif")) {
+                return "image/gif";
+            }
+        }
+        return "application/octet-stream";
+    }
+}
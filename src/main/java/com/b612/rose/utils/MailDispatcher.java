@@ -0,0 +1,241 @@
+package com.b612.rose.utils;
+
+import com.b612.rose.dto.response.MailDispatcherStatsResponse;
+import com.b612.rose.exception.BusinessException;
+import com.b612.rose.exception.ErrorCode;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// smtp 전송 전용 dispatcher
+// 연결(Transport) 하나당 작업 스레드 하나를 두고, 연결은 인증된 상태로 유지해서 메일마다 새로 접속하지 않음
+// 큐에 쌓인 메일은 한 번에 max-batch-size 만큼 꺼내 같은 연결로 보내고, 연결마다 초당 전송 수를 제한함
+@Component
+@Slf4j
+public class MailDispatcher {
+
+    // 테스트에서 가짜 Transport 를 넣기 위한 연결 생성기
+    @FunctionalInterface
+    interface TransportFactory {
+        Transport connect() throws MessagingException;
+    }
+
+    private final TransportFactory transportFactory;
+    private final int connections;
+    private final int maxBatchSize;
+    private final long sendIntervalNanos;
+    private final long idleTimeoutMs;
+    private final BlockingQueue<OutgoingMail> queue;
+
+    private final List<Thread> workers = new ArrayList<>();
+    private volatile boolean running;
+
+    private final LongAdder submittedCount = new LongAdder();
+    private final LongAdder sentCount = new LongAdder();
+    private final LongAdder failedCount = new LongAdder();
+    private final LongAdder rejectedCount = new LongAdder();
+    private final LongAdder batchCount = new LongAdder();
+    private final LongAdder connectCount = new LongAdder();
+
+    @Autowired
+    public MailDispatcher(JavaMailSenderImpl mailSender,
+                          @Value("${game.mail.connections:2}") int connections,
+                          @Value("${game.mail.max-batch-size:20}") int maxBatchSize,
+                          @Value("${game.mail.rate-per-second:5}") double ratePerSecond,
+                          @Value("${game.mail.idle-timeout-ms:30000}") long idleTimeoutMs,
+                          @Value("${game.mail.queue-capacity:1000}") int queueCapacity) {
+        this(() -> {
+            Transport transport = mailSender.getSession().getTransport(mailSender.getProtocol());
+            transport.connect(mailSender.getHost(), mailSender.getPort(),
+                    mailSender.getUsername(), mailSender.getPassword());
+            return transport;
+        }, connections, maxBatchSize, ratePerSecond, idleTimeoutMs, queueCapacity);
+    }
+
+    MailDispatcher(TransportFactory transportFactory, int connections, int maxBatchSize,
+                   double ratePerSecond, long idleTimeoutMs, int queueCapacity) {
+        this.transportFactory = transportFactory;
+        this.connections = Math.max(connections, 1);
+        this.maxBatchSize = Math.max(maxBatchSize, 1);
+        this.sendIntervalNanos = ratePerSecond > 0 ? (long) (TimeUnit.SECONDS.toNanos(1) / ratePerSecond) : 0;
+        this.idleTimeoutMs = idleTimeoutMs;
+        this.queue = new ArrayBlockingQueue<>(Math.max(queueCapacity, 1));
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        for (int i = 0; i < connections; i++) {
+            Thread worker = new Thread(new Worker(), "mail-dispatch-" + i);
+            worker.setDaemon(true);
+            worker.start();
+            workers.add(worker);
+        }
+        log.info("메일 dispatcher 시작: 연결 {} 개, 배치 {}, 연결당 전송 간격 {}ms",
+                connections, maxBatchSize, TimeUnit.NANOSECONDS.toMillis(sendIntervalNanos));
+    }
+
+    // 남은 메일을 보낼 시간을 조금 주고 종료
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        for (Thread worker : workers) {
+            try {
+                worker.join(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        if (!queue.isEmpty()) {
+            log.warn("메일 dispatcher 종료 시 미전송 메일: {} 건", queue.size());
+        }
+    }
+
+    // 전송은 작업 스레드에서 진행, 결과는 future 로 받음
+    public CompletableFuture<Void> submit(MimeMessage message) {
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        if (!running || !queue.offer(new OutgoingMail(message, result))) {
+            rejectedCount.increment();
+            result.completeExceptionally(new BusinessException(ErrorCode.EMAIL_SENDING_FAILED,
+                    "메일 전송 대기열이 가득 찼습니다: " + queue.size()));
+            return result;
+        }
+        submittedCount.increment();
+        return result;
+    }
+
+    public MailDispatcherStatsResponse stats() {
+        return MailDispatcherStatsResponse.builder()
+                .connections(connections)
+                .queuedCount(queue.size())
+                .submittedCount(submittedCount.sum())
+                .sentCount(sentCount.sum())
+                .failedCount(failedCount.sum())
+                .rejectedCount(rejectedCount.sum())
+                .batchCount(batchCount.sum())
+                .connectCount(connectCount.sum())
+                .build();
+    }
+
+    private record OutgoingMail(MimeMessage message, CompletableFuture<Void> result) {
+    }
+
+    // 연결 하나를 들고 큐를 비우는 작업 스레드
+    private class Worker implements Runnable {
+
+        private Transport transport;
+        private long lastSentAt;
+        private long lastUsedAt;
+
+        @Override
+        public void run() {
+            List<OutgoingMail> batch = new ArrayList<>(maxBatchSize);
+            try {
+                while (running || !queue.isEmpty()) {
+                    OutgoingMail first = queue.poll(Math.min(idleTimeoutMs, 1000), TimeUnit.MILLISECONDS);
+                    if (first == null) {
+                        closeIfIdle();
+                        continue;
+                    }
+                    batch.add(first);
+                    queue.drainTo(batch, maxBatchSize - 1);
+                    sendBatch(batch);
+                    batch.clear();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                for (OutgoingMail mail : batch) {
+                    mail.result().completeExceptionally(new BusinessException(ErrorCode.EMAIL_SENDING_FAILED,
+                            "메일 dispatcher 종료"));
+                }
+                close();
+            }
+        }
+
+        private void sendBatch(List<OutgoingMail> batch) throws InterruptedException {
+            batchCount.increment();
+            for (OutgoingMail mail : batch) {
+                throttle();
+                try {
+                    Transport connected = connection();
+                    MimeMessage message = mail.message();
+                    if (message.getSentDate() == null) {
+                        message.setSentDate(new Date());
+                    }
+                    message.saveChanges();
+                    connected.sendMessage(message, message.getAllRecipients());
+                    lastUsedAt = System.nanoTime();
+                    sentCount.increment();
+                    mail.result().complete(null);
+                } catch (MessagingException e) {
+                    // 연결 문제일 수 있으니 다음 메일은 새 연결로 보냄
+                    failedCount.increment();
+                    log.warn("smtp 전송 실패: {}", e.getMessage());
+                    close();
+                    mail.result().completeExceptionally(e);
+                } catch (RuntimeException e) {
+                    failedCount.increment();
+                    mail.result().completeExceptionally(e);
+                }
+            }
+        }
+
+        // 연결당 전송 간격 유지 (제공자 전송 제한 대응)
+        private void throttle() throws InterruptedException {
+            if (sendIntervalNanos <= 0) {
+                return;
+            }
+            long waitNanos = lastSentAt + sendIntervalNanos - System.nanoTime();
+            if (lastSentAt != 0 && waitNanos > 0) {
+                TimeUnit.NANOSECONDS.sleep(waitNanos);
+            }
+            lastSentAt = System.nanoTime();
+        }
+
+        private Transport connection() throws MessagingException {
+            if (transport == null || !transport.isConnected()) {
+                close();
+                transport = transportFactory.connect();
+                lastUsedAt = System.nanoTime();
+                connectCount.increment();
+            }
+            return transport;
+        }
+
+        private void closeIfIdle() {
+            if (transport != null && System.nanoTime() - lastUsedAt >= TimeUnit.MILLISECONDS.toNanos(idleTimeoutMs)) {
+                close();
+            }
+        }
+
+        private void close() {
+            if (transport == null) {
+                return;
+            }
+            try {
+                transport.close();
+            } catch (MessagingException e) {
+                log.debug("smtp 연결 종료 실패: {}", e.getMessage());
+            }
+            transport = null;
+        }
+    }
+}
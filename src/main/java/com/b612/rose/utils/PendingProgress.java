@@ -0,0 +1,53 @@
+package com.b612.rose.utils;
+
+import com.b612.rose.entity.enums.GameStage;
+import com.b612.rose.entity.enums.StarType;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.UUID;
+
+// write-behind 큐에서 한 사용자에 대해 합쳐진 변경분
+// 스테이지는 앞으로만 진행하므로 더 뒤의 값이 이기고, 별 수집/전달은 true 로만 바뀌므로 OR 로 합침
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public final class PendingProgress {
+    private final UUID userId;
+    private final GameStage stage;
+    private final int collectedMask;
+    private final int deliveredMask;
+    private final int attempts;
+
+    public static PendingProgress of(UUID userId, GameStage stage, int collectedMask, int deliveredMask) {
+        return new PendingProgress(userId, stage, collectedMask, deliveredMask, 0);
+    }
+
+    // newer 가 나중에 들어온 변경
+    public PendingProgress merge(PendingProgress newer) {
+        return new PendingProgress(userId,
+                laterStage(stage, newer.stage),
+                collectedMask | newer.collectedMask,
+                deliveredMask | newer.deliveredMask,
+                Math.max(attempts, newer.attempts));
+    }
+
+    public PendingProgress nextAttempt() {
+        return new PendingProgress(userId, stage, collectedMask, deliveredMask, attempts + 1);
+    }
+
+    public static GameStage laterStage(GameStage stage, GameStage other) {
+        if (stage == null || (other != null && other.isAfter(stage))) {
+            return other;
+        }
+        return stage;
+    }
+
+    public boolean isCollected(StarType starType) {
+        return (collectedMask & GameStateCache.bitOf(starType)) != 0;
+    }
+
+    public boolean isDelivered(StarType starType) {
+        return (deliveredMask & GameStateCache.bitOf(starType)) != 0;
+    }
+}
@@ -0,0 +1,164 @@
+package com.b612.rose.utils;
+
+import com.b612.rose.dto.response.ProgressReplayResponse;
+import com.b612.rose.entity.domain.ProgressEvent;
+import com.b612.rose.entity.enums.GameStage;
+import com.b612.rose.entity.enums.ProgressEventType;
+import com.b612.rose.entity.enums.StarType;
+import com.b612.rose.repository.ProgressEventRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+// 진척도 이벤트 기록/재생
+// 수집/전달/스테이지 변경이 write-behind 큐에 들어가는 시점에 요청 하나당 이벤트로 모아 두고, 주기적으로 한 번에 insert
+// 메모리에서 내려가는 상태(정리/종료/저널 복구)는 이미 기록된 변경이라 다시 남기지 않음
+// 기존 테이블(game_progress, collected_star)은 현재 상태 스냅샷 역할
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ProgressEventRecorder {
+
+    private static final short NONE = -1;
+
+    private final ProgressEventRepository progressEventRepository;
+
+    @Value("${game.progress-events.enabled:false}")
+    private boolean enabled;
+
+    @Value("${game.progress-events.max-pending:10000}")
+    private int maxPending;
+
+    private final Queue<ProgressEvent> buffer = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger bufferedCount = new AtomicInteger();
+    private final LongAdder droppedCount = new LongAdder();
+
+    // 스테이지 변경 요청
+    public void recordStage(UUID userId, GameStage stage) {
+        if (!enabled) {
+            return;
+        }
+        append(event(userId, ProgressEventType.STAGE_CHANGED, stage, null, LocalDateTime.now()));
+    }
+
+    // 별 수집/전달 요청 + 그에 따른 스테이지 변경
+    public void recordStarAction(UUID userId, StarType starType, boolean collected, boolean delivered, GameStage stage) {
+        if (!enabled) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        if (collected) {
+            append(event(userId, ProgressEventType.STAR_COLLECTED, null, starType, now));
+        }
+        if (delivered) {
+            append(event(userId, ProgressEventType.STAR_DELIVERED, null, starType, now));
+        }
+        if (stage != null) {
+            append(event(userId, ProgressEventType.STAGE_CHANGED, stage, null, now));
+        }
+    }
+
+    // 완료는 완료 트랜잭션 안에서 바로 저장 (재생할 때 스테이지는 앞으로만 옮기므로 순서가 앞서도 결과는 같음)
+    public void recordGameCompleted(UUID userId) {
+        if (!enabled) {
+            return;
+        }
+        progressEventRepository.save(event(userId, ProgressEventType.GAME_COMPLETED,
+                GameStage.GAME_COMPLETE, null, LocalDateTime.now()));
+    }
+
+    // 모아 둔 이벤트를 한 번에 insert (jdbc 배치)
+    @Scheduled(fixedDelayString = "${game.write-behind.flush-interval-ms:500}")
+    public void flush() {
+        List<ProgressEvent> events = new ArrayList<>();
+        ProgressEvent event;
+        while ((event = buffer.poll()) != null) {
+            events.add(event);
+        }
+        if (events.isEmpty()) {
+            return;
+        }
+        bufferedCount.addAndGet(-events.size());
+
+        try {
+            progressEventRepository.saveAll(events);
+        } catch (Exception e) {
+            // 이벤트는 현재 상태와 별개인 기록이라 진척도 반영은 막지 않음
+            droppedCount.add(events.size());
+            log.error("진척도 이벤트 저장 실패: {} 건, error={}", events.size(), e.getMessage(), e);
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    public long getDroppedCount() {
+        return droppedCount.sum();
+    }
+
+    // 이벤트를 처음부터 다시 적용해서 상태 계산
+    // 스테이지는 앞으로만, 별은 true 로만 바뀌고 전달은 수집된 별에만 반영 (실제 반영 규칙과 같음)
+    public ProgressReplayResponse replay(UUID userId) {
+        List<ProgressEvent> events = progressEventRepository.findAllByUserIdOrderByEventIdAsc(userId);
+
+        GameStateCache state = GameStateCache.createInitial();
+        boolean completed = false;
+        StarType[] starTypes = StarType.values();
+        GameStage[] stages = GameStage.values();
+        for (ProgressEvent event : events) {
+            switch (ProgressEventType.fromCode(event.getEventType())) {
+                case STAGE_CHANGED -> state = state.advanceStage(stages[event.getStage()]);
+                case STAR_COLLECTED -> state = state.withStar(starTypes[event.getStarType()], true, false);
+                case STAR_DELIVERED -> state = state.withStar(starTypes[event.getStarType()], false, true);
+                case GAME_COMPLETED -> {
+                    state = state.advanceStage(GameStage.GAME_COMPLETE);
+                    completed = true;
+                }
+            }
+        }
+
+        return ProgressReplayResponse.builder()
+                .userId(userId)
+                .currentStage(state.getCurrentStage())
+                .collectedMask(state.getCollectedMask())
+                .deliveredMask(state.getDeliveredMask())
+                .completed(completed)
+                .eventCount(events.size())
+                .build();
+    }
+
+    // 저장이 계속 밀리면 메모리가 늘지 않도록 새 이벤트를 버림
+    private void append(ProgressEvent event) {
+        if (bufferedCount.incrementAndGet() > maxPending) {
+            bufferedCount.decrementAndGet();
+            droppedCount.increment();
+            return;
+        }
+        buffer.add(event);
+    }
+
+    private ProgressEvent event(UUID userId, ProgressEventType type, GameStage stage, StarType starType,
+                                LocalDateTime createdAt) {
+        return ProgressEvent.builder()
+                .userId(userId)
+                .eventType(type.getCode())
+                .stage(stage != null ? (short) stage.ordinal() : NONE)
+                .starType(starType != null ? (short) starType.ordinal() : NONE)
+                .createdAt(createdAt)
+                .build();
+    }
+}
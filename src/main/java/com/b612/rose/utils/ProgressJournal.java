@@ -0,0 +1,285 @@
+package com.b612.rose.utils;
+
+import com.b612.rose.entity.enums.GameStage;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.zip.CRC32;
+
+// write-behind 큐에 들어간 변경을 db 에 반영되기 전까지 로컬 파일에 먼저 적어두는 저널
+// 서버가 죽었다 살아나면 남은 기록을 큐에 다시 넣고, db 에 반영되지 않은 변경이 하나도 없을 때만 파일을 비움
+// 다시 시도해도 반영할 수 없는 변경은 버리지 않고 별도 파일(.dead)에 옮겨 둠
+// 기록 형식 (고정 28 바이트): uuid(16) stage(2, -1=변경 없음) collected(2) delivered(2) reserved(2) crc32(4)
+@Component
+@Slf4j
+public class ProgressJournal {
+
+    static final int RECORD_SIZE = 28;
+    private static final int PAYLOAD_SIZE = RECORD_SIZE - 4;
+
+    private final boolean enabled;
+    private final Path path;
+    private final Path deadLetterPath;
+    private final boolean fsync;
+    private final long compactThresholdBytes;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ByteBuffer writeBuffer = ByteBuffer.allocate(RECORD_SIZE);
+    private FileChannel channel;
+
+    public ProgressJournal(@Value("${game.journal.enabled:true}") boolean enabled,
+                           @Value("${game.journal.path:./data/progress.journal}") String path,
+                           @Value("${game.journal.fsync:false}") boolean fsync,
+                           @Value("${game.journal.compact-threshold-bytes:4194304}") long compactThresholdBytes) {
+        this.enabled = enabled;
+        this.path = Path.of(path);
+        this.deadLetterPath = this.path.resolveSibling(this.path.getFileName() + ".dead");
+        this.fsync = fsync;
+        this.compactThresholdBytes = compactThresholdBytes;
+    }
+
+    // 남아 있는 기록을 순서대로 넘김, 끝이 깨진 기록(쓰다 죽은 경우)은 버림
+    public int replay(Consumer<PendingProgress> consumer) {
+        if (!enabled) {
+            return 0;
+        }
+
+        lock.lock();
+        try {
+            FileChannel journal = channel();
+            long validBytes = 0;
+            int count = 0;
+            ByteBuffer buffer = ByteBuffer.allocate(RECORD_SIZE);
+            journal.position(0);
+            while (true) {
+                buffer.clear();
+                while (buffer.hasRemaining()) {
+                    if (journal.read(buffer) <= 0) {
+                        break;
+                    }
+                }
+                if (buffer.hasRemaining()) {
+                    break;
+                }
+                buffer.flip();
+                PendingProgress progress = decode(buffer);
+                if (progress == null) {
+                    log.warn("진척도 저널 손상된 기록 발견, 이후 기록 무시: offset={}", validBytes);
+                    break;
+                }
+                consumer.accept(progress);
+                validBytes += RECORD_SIZE;
+                count++;
+            }
+            journal.truncate(validBytes);
+            journal.position(validBytes);
+            if (count > 0) {
+                log.info("진척도 저널 복구: {} 건", count);
+            }
+            return count;
+        } catch (IOException e) {
+            throw new UncheckedIOException("진척도 저널 읽기 실패: " + path, e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 기록 후 afterAppend 실행, 둘 다 같은 락 안에서 해서 checkpoint 와 엇갈리지 않게 함
+    public void append(PendingProgress progress, Runnable afterAppend) {
+        if (!enabled) {
+            afterAppend.run();
+            return;
+        }
+
+        lock.lock();
+        try {
+            writeBuffer.clear();
+            encode(progress, writeBuffer);
+            writeBuffer.flip();
+            FileChannel journal = channel();
+            while (writeBuffer.hasRemaining()) {
+                journal.write(writeBuffer);
+            }
+            if (fsync) {
+                journal.force(false);
+            }
+        } catch (IOException e) {
+            // 저널에 못 써도 메모리 큐로는 계속 진행
+            log.error("진척도 저널 기록 실패: userId={}, error={}", progress.getUserId(), e.getMessage());
+        } finally {
+            try {
+                afterAppend.run();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    // flush 가 끝난 뒤 호출: db 에 반영되지 않은 변경(큐에 남은 것 + 커밋 대기 중인 것)이 없으면 파일을 비우고,
+    // 있으면 커졌을 때 그 변경만 다시 씀, unwritten 은 append 와 같은 락 안에서 읽음
+    public void checkpoint(Supplier<Collection<PendingProgress>> unwritten) {
+        if (!enabled) {
+            return;
+        }
+
+        lock.lock();
+        try {
+            FileChannel journal = channel();
+            long size = journal.size();
+            if (size == 0) {
+                return;
+            }
+
+            Collection<PendingProgress> remaining = unwritten.get();
+            if (remaining.isEmpty()) {
+                journal.truncate(0);
+                journal.position(0);
+                return;
+            }
+
+            if (size >= compactThresholdBytes) {
+                compact(remaining);
+            }
+        } catch (IOException e) {
+            log.error("진척도 저널 정리 실패: {}", e.getMessage());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 반영할 수 없는 변경을 따로 보관 (다시 읽지 않음, 운영자가 확인 후 처리)
+    public void deadLetter(PendingProgress progress) {
+        ByteBuffer buffer = ByteBuffer.allocate(RECORD_SIZE);
+        encode(progress, buffer);
+        buffer.flip();
+
+        lock.lock();
+        try {
+            Path parent = deadLetterPath.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+        } catch (IOException e) {
+            log.warn("진척도 반영 실패 기록 폴더 생성 실패: {}", e.getMessage());
+        }
+        try (FileChannel out = FileChannel.open(deadLetterPath, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            while (buffer.hasRemaining()) {
+                out.write(buffer);
+            }
+            out.force(false);
+        } catch (IOException e) {
+            log.error("진척도 반영 실패 기록 저장 실패: userId={}, error={}", progress.getUserId(), e.getMessage());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public Path getDeadLetterPath() {
+        return deadLetterPath;
+    }
+
+    @PreDestroy
+    public void close() {
+        lock.lock();
+        try {
+            if (channel != null) {
+                channel.force(true);
+                channel.close();
+                channel = null;
+            }
+        } catch (IOException e) {
+            log.warn("진척도 저널 닫기 실패: {}", e.getMessage());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 남은 변경만 임시 파일에 쓰고 교체
+    private void compact(Collection<PendingProgress> remaining) throws IOException {
+        Path temp = path.resolveSibling(path.getFileName() + ".compact");
+        try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocate(RECORD_SIZE);
+            for (PendingProgress progress : remaining) {
+                buffer.clear();
+                encode(progress, buffer);
+                buffer.flip();
+                while (buffer.hasRemaining()) {
+                    out.write(buffer);
+                }
+            }
+            out.force(true);
+        }
+
+        channel.close();
+        channel = null;
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        log.info("진척도 저널 압축: {} 건", remaining.size());
+    }
+
+    private FileChannel channel() throws IOException {
+        if (channel == null) {
+            Path parent = path.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+            channel.position(channel.size());
+        }
+        return channel;
+    }
+
+    static void encode(PendingProgress progress, ByteBuffer buffer) {
+        int start = buffer.position();
+        buffer.putLong(progress.getUserId().getMostSignificantBits());
+        buffer.putLong(progress.getUserId().getLeastSignificantBits());
+        buffer.putShort((short) (progress.getStage() != null ? progress.getStage().ordinal() : -1));
+        buffer.putShort((short) progress.getCollectedMask());
+        buffer.putShort((short) progress.getDeliveredMask());
+        buffer.putShort((short) 0);
+
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), buffer.arrayOffset() + start, PAYLOAD_SIZE);
+        buffer.putInt((int) crc.getValue());
+    }
+
+    // crc 가 맞지 않으면 null
+    static PendingProgress decode(ByteBuffer buffer) {
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), buffer.arrayOffset() + buffer.position(), PAYLOAD_SIZE);
+
+        UUID userId = new UUID(buffer.getLong(), buffer.getLong());
+        short stage = buffer.getShort();
+        short collectedMask = buffer.getShort();
+        short deliveredMask = buffer.getShort();
+        buffer.getShort();
+        int checksum = buffer.getInt();
+
+        GameStage[] stages = GameStage.values();
+        if (checksum != (int) crc.getValue() || stage < -1 || stage >= stages.length) {
+            return null;
+        }
+        return PendingProgress.of(userId, stage < 0 ? null : stages[stage], collectedMask, deliveredMask);
+    }
+}
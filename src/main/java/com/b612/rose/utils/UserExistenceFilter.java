@@ -0,0 +1,324 @@
+package com.b612.rose.utils;
+
+import com.b612.rose.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+// 사용자 존재 여부 사전 판별
+// 한 번 확인된 사용자는 기억해 두고 db 를 다시 보지 않음 (사용자는 삭제되지 않음)
+// 블룸 필터에 없으면 최근 가입자를 한 번 더 불러와 보고, 그래도 없으면 db 조회 없이 거절
+// 블룸 필터가 있다고 해도 오탐일 수 있으므로 db 확인 후 없으면 잠깐 동안 기억
+// 전체 사용자는 시작할 때(와 필터가 가득 찼을 때)만 불러오고, 이후에는 최근 가입자만 주기적으로 추가
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class UserExistenceFilter {
+
+    private final UserRepository userRepository;
+
+    @Value("${game.user-filter.expected-users:100000}")
+    private int expectedUsers;
+
+    @Value("${game.user-filter.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    @Value("${game.user-filter.negative-ttl-ms:10000}")
+    private long negativeTtlMillis;
+
+    @Value("${game.user-filter.negative-max-entries:10000}")
+    private int negativeMaxEntries;
+
+    @Value("${game.user-filter.positive-max-entries:100000}")
+    private int positiveMaxEntries;
+
+    // 서버 간 시계 차이와 늦게 커밋된 가입을 놓치지 않도록 겹쳐서 조회
+    @Value("${game.user-filter.refresh-overlap-ms:60000}")
+    private long refreshOverlapMillis;
+
+    // 없는 id 가 몰려도 최근 가입자 조회가 이 간격보다 자주 돌지 않음
+    @Value("${game.user-filter.miss-refresh-min-interval-ms:100}")
+    private long missRefreshMinIntervalMillis;
+
+    private volatile BloomFilter bloomFilter;
+    // 다시 채우는 동안 가입한 사용자, 새 필터로 바꿀 때 같이 넣음
+    private Set<UUID> registeredDuringReseed;
+    private final Set<UUID> knownUsers = ConcurrentHashMap.newKeySet();
+    private final ConcurrentHashMap<UUID, Long> negativeCache = new ConcurrentHashMap<>();
+
+    // 전체/최근 가입자 조회는 한 번에 하나만
+    private final Object refreshLock = new Object();
+    private LocalDateTime loadedUntil;
+    private volatile long lastRefreshStartedNanos;
+
+    private final LongAdder bloomRejectCount = new LongAdder();
+    private final LongAdder positiveHitCount = new LongAdder();
+    private final LongAdder negativeHitCount = new LongAdder();
+    private final LongAdder databaseCheckCount = new LongAdder();
+    private final LongAdder missRefreshCount = new LongAdder();
+
+    @PostConstruct
+    public void init() {
+        try {
+            reseed();
+        } catch (Exception e) {
+            // 채우지 못하면 다음 갱신 때까지 모든 사용자를 db 로 확인
+            bloomFilter = null;
+            log.error("사용자 필터 초기화 실패, db 확인으로 대체: {}", e.getMessage(), e);
+        }
+    }
+
+    // 전체 사용자로 새 필터를 만듦, 사용자 수 증가에 맞춰 크기 조정
+    public void reseed() {
+        synchronized (refreshLock) {
+            synchronized (this) {
+                registeredDuringReseed = new HashSet<>();
+            }
+
+            try {
+                lastRefreshStartedNanos = System.nanoTime();
+                LocalDateTime startedAt = LocalDateTime.now();
+                List<UUID> userIds = userRepository.findAllUserIds();
+                BloomFilter rebuilt = BloomFilter.create(Math.max(expectedUsers, userIds.size() * 2), falsePositiveRate);
+                for (UUID userId : userIds) {
+                    rebuilt.add(userId);
+                }
+
+                synchronized (this) {
+                    for (UUID userId : registeredDuringReseed) {
+                        rebuilt.add(userId);
+                    }
+                    bloomFilter = rebuilt;
+                }
+                loadedUntil = startedAt;
+                log.info("사용자 필터 갱신 완료: {} 명", userIds.size());
+            } finally {
+                synchronized (this) {
+                    registeredDuringReseed = null;
+                }
+            }
+        }
+    }
+
+    // 다른 서버에서 가입한 사용자 반영, 마지막 조회 이후(겹치는 구간 포함)에 만들어진 사용자만 가져옴
+    @Scheduled(fixedDelayString = "${game.user-filter.refresh-interval-ms:1000}",
+            initialDelayString = "${game.user-filter.refresh-interval-ms:1000}")
+    public void refresh() {
+        try {
+            synchronized (refreshLock) {
+                refreshLocked();
+            }
+        } catch (Exception e) {
+            log.warn("사용자 필터 최근 가입자 반영 실패: {}", e.getMessage());
+        }
+    }
+
+    // 가입 커밋 직후 호출
+    public synchronized void register(UUID userId) {
+        negativeCache.remove(userId);
+        remember(userId);
+        if (bloomFilter != null) {
+            bloomFilter.add(userId);
+        }
+        if (registeredDuringReseed != null) {
+            registeredDuringReseed.add(userId);
+        }
+    }
+
+    public boolean exists(UUID userId) {
+        if (knownUsers.contains(userId)) {
+            positiveHitCount.increment();
+            return true;
+        }
+
+        BloomFilter filter = bloomFilter;
+        if (filter != null && !filter.mightContain(userId)) {
+            if (!refreshOnMiss(userId)) {
+                bloomRejectCount.increment();
+                return false;
+            }
+            if (knownUsers.contains(userId)) {
+                positiveHitCount.increment();
+                return true;
+            }
+        }
+
+        Long expiresAt = negativeCache.get(userId);
+        if (expiresAt != null) {
+            if (expiresAt > System.currentTimeMillis()) {
+                negativeHitCount.increment();
+                return false;
+            }
+            negativeCache.remove(userId, expiresAt);
+        }
+
+        databaseCheckCount.increment();
+        boolean exists = userRepository.existsById(userId);
+        if (exists) {
+            remember(userId);
+        } else {
+            if (negativeCache.size() >= negativeMaxEntries) {
+                negativeCache.clear();
+            }
+            negativeCache.put(userId, System.currentTimeMillis() + negativeTtlMillis);
+        }
+        return exists;
+    }
+
+    public long getBloomRejectCount() {
+        return bloomRejectCount.sum();
+    }
+
+    public long getPositiveHitCount() {
+        return positiveHitCount.sum();
+    }
+
+    public long getNegativeHitCount() {
+        return negativeHitCount.sum();
+    }
+
+    public long getDatabaseCheckCount() {
+        return databaseCheckCount.sum();
+    }
+
+    public long getMissRefreshCount() {
+        return missRefreshCount.sum();
+    }
+
+    // 방금 다른 서버에서 가입한 사용자일 수 있으므로 거절하기 전에 최근 가입자를 한 번 더 확인
+    // 기다리는 동안 다른 요청이 조회를 시작했으면 그 결과를 같이 씀
+    private boolean refreshOnMiss(UUID userId) {
+        long missAt = System.nanoTime();
+        try {
+            synchronized (refreshLock) {
+                if (lastRefreshStartedNanos - missAt < 0) {
+                    if (missAt - lastRefreshStartedNanos < missRefreshMinIntervalMillis * 1_000_000) {
+                        return false;
+                    }
+                    missRefreshCount.increment();
+                    refreshLocked();
+                }
+            }
+        } catch (Exception e) {
+            log.warn("사용자 필터 최근 가입자 확인 실패: {}", e.getMessage());
+            return false;
+        }
+        BloomFilter filter = bloomFilter;
+        return filter == null || filter.mightContain(userId);
+    }
+
+    private void refreshLocked() {
+        BloomFilter filter = bloomFilter;
+        if (filter == null || loadedUntil == null) {
+            reseed();
+            return;
+        }
+
+        lastRefreshStartedNanos = System.nanoTime();
+        LocalDateTime startedAt = LocalDateTime.now();
+        List<UUID> userIds = userRepository.findUserIdsCreatedSince(
+                loadedUntil.minusNanos(refreshOverlapMillis * 1_000_000));
+        for (UUID userId : userIds) {
+            filter.add(userId);
+            negativeCache.remove(userId);
+            remember(userId);
+        }
+        loadedUntil = startedAt;
+
+        // 처음 잡은 크기를 넘으면 오탐이 늘어나므로 전체를 다시 불러와 크기를 키움
+        if (filter.isOverCapacity()) {
+            reseed();
+        }
+    }
+
+    private void remember(UUID userId) {
+        if (knownUsers.size() >= positiveMaxEntries) {
+            knownUsers.clear();
+        }
+        knownUsers.add(userId);
+    }
+
+    // uuid 두 long 값으로 해시 두 개를 만들고 조합해서 k 개 위치 사용
+    static final class BloomFilter {
+        private final AtomicLongArray words;
+        private final long bitCount;
+        private final int hashCount;
+        private final int capacity;
+        // 새로 비트를 켠 추가 횟수 (이미 있던 사용자는 세지 않음)
+        private final AtomicInteger insertions = new AtomicInteger();
+
+        private BloomFilter(long bitCount, int hashCount, int capacity) {
+            this.words = new AtomicLongArray((int) ((bitCount + 63) / 64));
+            this.bitCount = (long) words.length() * 64;
+            this.hashCount = hashCount;
+            this.capacity = capacity;
+        }
+
+        static BloomFilter create(int expectedInsertions, double falsePositiveRate) {
+            int n = Math.max(expectedInsertions, 1);
+            long bits = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+            int hashes = Math.max(1, (int) Math.round((double) bits / n * Math.log(2)));
+            return new BloomFilter(Math.max(bits, 64), hashes, n);
+        }
+
+        void add(UUID userId) {
+            long hash1 = mix(userId.getMostSignificantBits());
+            long hash2 = mix(userId.getLeastSignificantBits());
+            boolean changed = false;
+            for (int i = 0; i < hashCount; i++) {
+                long bit = Math.floorMod(hash1 + i * hash2, bitCount);
+                int index = (int) (bit >>> 6);
+                long mask = 1L << bit;
+                long word;
+                do {
+                    word = words.get(index);
+                    if ((word & mask) != 0) {
+                        break;
+                    }
+                } while (!words.compareAndSet(index, word, word | mask));
+                changed |= (word & mask) == 0;
+            }
+            if (changed) {
+                insertions.incrementAndGet();
+            }
+        }
+
+        boolean isOverCapacity() {
+            return insertions.get() > capacity;
+        }
+
+        boolean mightContain(UUID userId) {
+            long hash1 = mix(userId.getMostSignificantBits());
+            long hash2 = mix(userId.getLeastSignificantBits());
+            for (int i = 0; i < hashCount; i++) {
+                long bit = Math.floorMod(hash1 + i * hash2, bitCount);
+                if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static long mix(long value) {
+            value ^= value >>> 33;
+            value *= 0xff51afd7ed558ccdL;
+            value ^= value >>> 33;
+            value *= 0xc4ceb9fe1a85ec53L;
+            value ^= value >>> 33;
+            return value;
+        }
+    }
+}
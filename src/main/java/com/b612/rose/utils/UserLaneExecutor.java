@@ -0,0 +1,130 @@
+package com.b612.rose.utils;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+// 사용자별 순서 보장 실행기
+// userId 를 해시해서 N 개의 lane 중 하나에 넣고, lane 마다 한 번에 작업 하나만 실행 중인 executor 에 올림
+// 같은 사용자의 작업은 넣은 순서대로 실행되고, 다른 lane 의 사용자들은 병렬로 실행됨
+// lane 대기열은 크기를 제한하고, 가득 차면 거절 (호출한 쪽에서 실행하면 같은 사용자의 순서가 깨짐)
+// lane 은 한 번에 최대 maxTasksPerRun 개만 실행하고 executor 에 다시 올라가서 다른 작업에 스레드를 양보함
+// executor 가 가득 차서 제출한 스레드에서 바로 실행하려 하면(caller-runs) lane 은 실행하지 않고 거절로 돌려보냄
+// (요청 스레드가 다른 사용자들의 작업까지 떠안고, 끝나면서 다시 올린 lane 을 또 그 자리에서 실행하는 일이 없도록)
+@Slf4j
+public class UserLaneExecutor {
+
+    private final Executor delegate;
+    private final Lane[] lanes;
+    private final int laneCapacity;
+    private final int maxTasksPerRun;
+
+    private final LongAdder rejectedCount = new LongAdder();
+
+    // 지금 스레드가 submit 에서 lane 을 올리는 중인지
+    private final ThreadLocal<Boolean> submitting = ThreadLocal.withInitial(() -> false);
+
+    public UserLaneExecutor(Executor delegate, int laneCount, int laneCapacity, int maxTasksPerRun) {
+        this.delegate = delegate;
+        this.laneCapacity = Math.max(1, laneCapacity);
+        this.maxTasksPerRun = Math.max(1, maxTasksPerRun);
+        this.lanes = new Lane[Math.max(1, laneCount)];
+        for (int i = 0; i < lanes.length; i++) {
+            lanes[i] = new Lane();
+        }
+    }
+
+    // lane 이 가득 차거나 executor 가 받지 않으면 RejectedExecutionException (작업은 실행되지 않음)
+    public void execute(UUID userId, Runnable task) {
+        laneFor(userId).submit(task);
+    }
+
+    public int getLaneCount() {
+        return lanes.length;
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount.sum();
+    }
+
+    private Lane laneFor(UUID userId) {
+        int hash = userId.hashCode();
+        hash ^= (hash >>> 16);
+        return lanes[Math.floorMod(hash, lanes.length)];
+    }
+
+    private final class Lane implements Runnable {
+        private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger size = new AtomicInteger();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        void submit(Runnable task) {
+            if (size.incrementAndGet() > laneCapacity) {
+                size.decrementAndGet();
+                rejectedCount.increment();
+                throw new RejectedExecutionException("사용자 lane 대기열이 가득 참: capacity=" + laneCapacity);
+            }
+            tasks.add(task);
+            submitting.set(true);
+            try {
+                schedule();
+            } catch (RuntimeException e) {
+                if (tasks.remove(task)) {
+                    size.decrementAndGet();
+                }
+                rejectedCount.increment();
+                throw e;
+            } finally {
+                submitting.set(false);
+            }
+        }
+
+        private void schedule() {
+            if (!tasks.isEmpty() && scheduled.compareAndSet(false, true)) {
+                try {
+                    delegate.execute(this);
+                } catch (RuntimeException e) {
+                    scheduled.set(false);
+                    throw e;
+                }
+            }
+        }
+
+        // lane 작업을 한 번에 하나씩, 최대 maxTasksPerRun 개 실행하고 남은 작업은 다시 올려서 이어감
+        @Override
+        public void run() {
+            if (submitting.get()) {
+                throw new RejectedExecutionException("사용자 lane 은 제출한 스레드에서 실행하지 않음");
+            }
+            try {
+                Runnable task;
+                int executed = 0;
+                while (executed < maxTasksPerRun && (task = tasks.poll()) != null) {
+                    size.decrementAndGet();
+                    executed++;
+                    try {
+                        task.run();
+                    } catch (RuntimeException e) {
+                        log.error("사용자 lane 작업 실패: {}", e.getMessage(), e);
+                    }
+                }
+            } finally {
+                scheduled.set(false);
+                // 남은 작업 또는 비우고 나가는 사이에 들어온 작업
+                try {
+                    schedule();
+                } catch (RuntimeException e) {
+                    // 남은 작업은 다음 제출 때 다시 올라감
+                    log.warn("사용자 lane 다시 올리기 실패: {}", e.getMessage());
+                }
+            }
+        }
+    }
+}
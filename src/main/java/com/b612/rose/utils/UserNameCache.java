@@ -0,0 +1,52 @@
+package com.b612.rose.utils;
+
+import com.b612.rose.entity.domain.User;
+import com.b612.rose.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+// 대화 포맷팅용 사용자 이름 캐시, 이름은 가입 후 바뀌지 않음
+// 없는 사용자는 캐싱하지 않음 (곧 가입될 수 있음)
+@Component
+@RequiredArgsConstructor
+public class UserNameCache {
+
+    private final UserRepository userRepository;
+
+    @Value("${game.user-name-cache.max-size:10000}")
+    private int maxSize;
+
+    private final Map<UUID, String> names = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<UUID, String> eldest) {
+            return size() > maxSize;
+        }
+    };
+
+    public String getUserName(UUID userId) {
+        synchronized (names) {
+            String name = names.get(userId);
+            if (name != null) {
+                return name;
+            }
+        }
+
+        String name = userRepository.findById(userId).map(User::getUserName).orElse(null);
+        if (name != null) {
+            put(userId, name);
+        }
+        return name;
+    }
+
+    // 가입 직후 바로 대화가 이어지므로 미리 넣어둠
+    public void put(UUID userId, String userName) {
+        synchronized (names) {
+            names.put(userId, userName);
+        }
+    }
+}
@@ -0,0 +1,4 @@
+-- 운영(prod) 기본 데이터, 서버 시작 때마다 실행되므로 이미 있으면 건너뜀
+
+-- 컨텐츠 버전 (컨텐츠 수정 후 version 을 올리면 서버가 다시 읽어감)
+INSERT INTO content_version (id, version, updated_at) VALUES (1, 1, now()) ON CONFLICT (id) DO NOTHING;
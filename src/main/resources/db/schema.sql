@@ -0,0 +1,73 @@
+-- 운영(prod) 스키마 보강 스크립트, 서버 시작 시 hibernate 검증(validate) 전에 실행됨
+-- 기존 테이블(users, game_progress, collected_star, user_interaction, email_log ...)은 이미 있다고 가정
+-- 여러 번 실행해도 같은 결과가 되도록 IF NOT EXISTS 만 사용
+
+-- 게임 상태 스냅샷 (사용자당 한 행)
+CREATE TABLE IF NOT EXISTS game_state_snapshot (
+    user_id         uuid         NOT NULL PRIMARY KEY,
+    current_stage   varchar(255) NOT NULL,
+    collected_mask  integer      NOT NULL DEFAULT 0,
+    delivered_mask  integer      NOT NULL DEFAULT 0,
+    interacted_mask integer      NOT NULL DEFAULT 0,
+    active_mask     integer      NOT NULL DEFAULT 0,
+    updated_at      timestamp(6)
+);
+
+-- 컨텐츠 버전 (컨텐츠 수정 후 version 을 올리면 서버가 다시 읽어감)
+CREATE TABLE IF NOT EXISTS content_version (
+    id         integer      NOT NULL PRIMARY KEY,
+    version    bigint       NOT NULL,
+    updated_at timestamp(6)
+);
+
+-- 진척도 이벤트
+CREATE SEQUENCE IF NOT EXISTS progress_event_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS progress_event (
+    event_id   bigint       NOT NULL PRIMARY KEY,
+    user_id    uuid         NOT NULL,
+    event_type smallint     NOT NULL,
+    stage      smallint     NOT NULL,
+    star_type  smallint     NOT NULL,
+    created_at timestamp(6) NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_progress_event_user ON progress_event (user_id, event_id);
+
+-- Idempotency-Key 요청 결과
+CREATE TABLE IF NOT EXISTS idempotency_record (
+    idempotency_id varchar(200) NOT NULL PRIMARY KEY,
+    user_id        uuid         NOT NULL,
+    action         varchar(32)  NOT NULL,
+    result_stage   varchar(255) NOT NULL,
+    created_at     timestamp(6) NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_idempotency_record_created_at ON idempotency_record (created_at);
+
+-- 메일 전송 대기열 컬럼
+ALTER TABLE email_log ADD COLUMN IF NOT EXISTS selected_npc varchar(255);
+ALTER TABLE email_log ADD COLUMN IF NOT EXISTS status varchar(16);
+ALTER TABLE email_log ADD COLUMN IF NOT EXISTS attempts integer NOT NULL DEFAULT 0;
+ALTER TABLE email_log ADD COLUMN IF NOT EXISTS next_attempt_at timestamp(6);
+ALTER TABLE email_log ADD COLUMN IF NOT EXISTS locked_until timestamp(6);
+ALTER TABLE email_log ADD COLUMN IF NOT EXISTS last_error varchar(500);
+ALTER TABLE email_log ADD COLUMN IF NOT EXISTS created_at timestamp(6);
+
+CREATE INDEX IF NOT EXISTS idx_email_log_status_next_attempt ON email_log (status, next_attempt_at);
+
+-- 대기열 이전에 기록된 메일은 결과에 맞춰 상태만 채움 (다시 보내지 않음)
+UPDATE email_log SET status = CASE WHEN is_delivered THEN 'SENT' ELSE 'FAILED' END WHERE status IS NULL;
+
+-- 사용자 필터의 최근 가입자 조회 기준
+ALTER TABLE users ADD COLUMN IF NOT EXISTS created_at timestamp(6);
+
+CREATE INDEX IF NOT EXISTS idx_users_created_at ON users (created_at);
+
+-- 진척도/별 행 버전 (조건부 update 에서 함께 올림)
+ALTER TABLE game_progress ADD COLUMN IF NOT EXISTS version bigint NOT NULL DEFAULT 0;
+ALTER TABLE collected_star ADD COLUMN IF NOT EXISTS version bigint NOT NULL DEFAULT 0;
+
+-- upsert(ON CONFLICT) 대상, 중복 행이 남아 있으면 정리한 뒤 실행해야 함
+CREATE UNIQUE INDEX IF NOT EXISTS uk_collected_star_user_star ON collected_star (user_id, star_id);
+CREATE UNIQUE INDEX IF NOT EXISTS uk_user_interaction_user_object ON user_interaction (user_id, object_id);
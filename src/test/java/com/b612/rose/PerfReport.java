@@ -0,0 +1,46 @@
+package com.b612.rose;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+// @Tag("perf") 테스트에서 쓰는 간단한 측정/출력 도구 (./gradlew perfTest)
+// 워밍업 뒤 정해진 횟수만큼 돌려서 초당 처리량을 출력함, 값은 비교용이고 테스트 통과 기준으로는 쓰지 않음
+public final class PerfReport {
+
+    public static final String TAG = "perf";
+
+    private PerfReport() {
+    }
+
+    // 한 번 호출이 작업 하나
+    public static double throughput(String name, int warmupIterations, int iterations, Runnable iteration) {
+        for (int i = 0; i < warmupIterations; i++) {
+            iteration.run();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            iteration.run();
+        }
+        return report(name, iterations, System.nanoTime() - start);
+    }
+
+    public static double report(String name, long operations, long elapsedNanos) {
+        double perSecond = operations * (double) TimeUnit.SECONDS.toNanos(1) / Math.max(elapsedNanos, 1);
+        System.out.printf("[perf] %s: %d 건, %.1f ms, 초당 %.0f 건%n",
+                name, operations, elapsedNanos / 1_000_000.0, perSecond);
+        return perSecond;
+    }
+
+    // 요청별 지연 분포 (나노초 배열은 정렬됨)
+    public static void latency(String name, long[] latencyNanos) {
+        Arrays.sort(latencyNanos);
+        System.out.printf("[perf] %s 지연: p50 %.2f ms, p95 %.2f ms, p99 %.2f ms, max %.2f ms%n", name,
+                percentile(latencyNanos, 0.50), percentile(latencyNanos, 0.95),
+                percentile(latencyNanos, 0.99), latencyNanos[latencyNanos.length - 1] / 1_000_000.0);
+    }
+
+    private static double percentile(long[] sorted, double fraction) {
+        int index = (int) Math.ceil(fraction * sorted.length) - 1;
+        return sorted[Math.max(index, 0)] / 1_000_000.0;
+    }
+}
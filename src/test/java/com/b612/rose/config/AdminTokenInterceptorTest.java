@@ -0,0 +1,51 @@
+package com.b612.rose.config;
+
+import com.b612.rose.exception.BusinessException;
+import com.b612.rose.exception.ErrorCode;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AdminTokenInterceptorTest {
+
+    @Test
+    void preHandle_WithMatchingToken_ShouldAllow() {
+        // Given
+        AdminTokenInterceptor interceptor = new AdminTokenInterceptor("secret");
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/admin/mail/stats");
+        request.addHeader(AdminTokenInterceptor.HEADER, "secret");
+
+        // When & Then
+        assertTrue(interceptor.preHandle(request, new MockHttpServletResponse(), new Object()));
+    }
+
+    @Test
+    void preHandle_WithMissingOrWrongToken_ShouldReject() {
+        // Given
+        AdminTokenInterceptor interceptor = new AdminTokenInterceptor("secret");
+        MockHttpServletRequest missing = new MockHttpServletRequest("POST", "/api/v1/admin/content/reload");
+        MockHttpServletRequest wrong = new MockHttpServletRequest("POST", "/api/v1/admin/content/reload");
+        wrong.addHeader(AdminTokenInterceptor.HEADER, "secreT");
+
+        // When & Then
+        BusinessException exception = assertThrows(BusinessException.class,
+                () -> interceptor.preHandle(missing, new MockHttpServletResponse(), new Object()));
+        assertEquals(ErrorCode.ADMIN_UNAUTHORIZED, exception.getErrorCode());
+        assertThrows(BusinessException.class,
+                () -> interceptor.preHandle(wrong, new MockHttpServletResponse(), new Object()));
+    }
+
+    @Test
+    void preHandle_WhenTokenNotConfigured_ShouldRejectEvenEmptyHeader() {
+        // Given
+        AdminTokenInterceptor interceptor = new AdminTokenInterceptor("");
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/admin/executors/stats");
+        request.addHeader(AdminTokenInterceptor.HEADER, "");
+
+        // When & Then
+        assertThrows(BusinessException.class,
+                () -> interceptor.preHandle(request, new MockHttpServletResponse(), new Object()));
+    }
+}
@@ -0,0 +1,67 @@
+package com.b612.rose.config;
+
+import com.b612.rose.utils.ExecutorMetrics;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AsyncConfigTest {
+
+    @Test
+    void init_ShouldResolveModeOnceForAllExecutors() {
+        // Given
+        AsyncConfig asyncConfig = new AsyncConfig();
+        ReflectionTestUtils.setField(asyncConfig, "mode", "virtual");
+
+        // When
+        asyncConfig.init();
+        // 판단이 끝난 뒤 설정이 바뀌어도 실행기마다 다시 판단하지 않음
+        ReflectionTestUtils.setField(asyncConfig, "mode", "pool");
+        ExecutorMetrics persistenceMetrics = asyncConfig.persistenceExecutorMetrics();
+        ExecutorMetrics mailMetrics = asyncConfig.mailExecutorMetrics();
+
+        // Then
+        String expected = Runtime.version().feature() >= 21 ? "virtual" : "pool";
+        assertEquals(expected, persistenceMetrics.stats().getMode());
+        assertEquals(expected, mailMetrics.stats().getMode());
+    }
+
+    @Test
+    void persistenceExecutor_InPoolMode_ShouldCountCallerRuns() {
+        // Given
+        AsyncConfig asyncConfig = new AsyncConfig();
+        ReflectionTestUtils.setField(asyncConfig, "mode", "pool");
+        ReflectionTestUtils.setField(asyncConfig, "rejectionPolicy", "caller-runs");
+        ReflectionTestUtils.setField(asyncConfig, "persistenceCoreSize", 1);
+        ReflectionTestUtils.setField(asyncConfig, "persistenceMaxSize", 1);
+        ReflectionTestUtils.setField(asyncConfig, "persistenceQueueCapacity", 1);
+        asyncConfig.init();
+        ExecutorMetrics metrics = asyncConfig.persistenceExecutorMetrics();
+        Executor taskExecutor = asyncConfig.persistenceTaskExecutor(metrics);
+        Executor executor = asyncConfig.persistenceExecutor(metrics, taskExecutor);
+
+        // When: 실행 중 1 + 대기 1 이 찬 뒤 제출
+        CountDownLatch release = new CountDownLatch(1);
+        executor.execute(() -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        executor.execute(() -> { });
+        executor.execute(() -> { });
+        release.countDown();
+
+        // Then
+        assertEquals(1, metrics.stats().getCallerRunsCount());
+        assertEquals(0, metrics.stats().getRejectedCount());
+        ((ThreadPoolTaskExecutor) taskExecutor).shutdown();
+    }
+}
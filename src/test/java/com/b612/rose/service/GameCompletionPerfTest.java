@@ -0,0 +1,140 @@
+package com.b612.rose.service;
+
+import com.b612.rose.PerfReport;
+import com.b612.rose.dto.request.EmailRequest;
+import com.b612.rose.dto.response.GameStateResponse;
+import com.b612.rose.entity.enums.GameStage;
+import com.b612.rose.repository.GameProgressRepository;
+import com.b612.rose.repository.StarRepository;
+import com.b612.rose.repository.UserRepository;
+import com.b612.rose.service.impl.GameProgressServiceImpl;
+import com.b612.rose.service.service.DialogueService;
+import com.b612.rose.service.service.EmailAsyncService;
+import com.b612.rose.service.service.GameProgressAsyncService;
+import com.b612.rose.utils.GameStateManager;
+import com.b612.rose.utils.IdempotencyStore;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+// 동시에 여러 사용자가 게임을 완료할 때 completeGameAndSendEmail 의 요청별 지연과 처리량
+// db 는 쓰기/커밋에 걸리는 시간만 흉내 냄 (DB_WRITE_MILLIS, COMMIT_MILLIS), 실제 db 수치는 운영과 같은 db 에서 따로 봐야 함
+@Tag(PerfReport.TAG)
+public class GameCompletionPerfTest {
+
+    private static final int THREADS = 32;
+    private static final int COMPLETIONS = 2_000;
+    private static final long DB_WRITE_MILLIS = 2;
+    private static final long COMMIT_MILLIS = 1;
+
+    @Test
+    void completeGameAndSendEmail_UnderConcurrentCompletions() throws Exception {
+        // Given
+        GameStateManager gameStateManager = mock(GameStateManager.class, withSettings().stubOnly());
+        when(gameStateManager.areAllStarsCollectedAndDelivered(any())).thenReturn(true);
+        when(gameStateManager.updateMemoryStage(any(), any())).thenReturn(GameStage.GAME_COMPLETE);
+        when(gameStateManager.getCurrentStage(any())).thenReturn(GameStage.GAME_COMPLETE);
+        doAnswer(invocation -> {
+            sleep(DB_WRITE_MILLIS);
+            return null;
+        }).when(gameStateManager).completeGame(any(), anyString(), any(), anyString());
+
+        // 메일 대기열 등록은 완료 처리와 같은 트랜잭션 안에서만 일어나야 함
+        AtomicInteger enqueuedInTransaction = new AtomicInteger();
+        EmailAsyncService emailAsyncService = mock(EmailAsyncService.class, withSettings().stubOnly());
+        doAnswer(invocation -> {
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                enqueuedInTransaction.incrementAndGet();
+            }
+            return null;
+        }).when(emailAsyncService).enqueueEmail(any(), any());
+
+        DialogueService dialogueService = mock(DialogueService.class, withSettings().stubOnly());
+        when(dialogueService.getDialoguesForCurrentStage(any(), any())).thenReturn(List.of());
+
+        GameProgressServiceImpl gameProgressService = new GameProgressServiceImpl(
+                mock(GameProgressRepository.class), mock(UserRepository.class), mock(StarRepository.class),
+                dialogueService, gameStateManager, emailAsyncService, mock(GameProgressAsyncService.class),
+                new TransactionTemplate(new SimulatedTransactionManager()), mock(IdempotencyStore.class));
+
+        EmailRequest request = EmailRequest.builder()
+                .email("user@example.com")
+                .concern("요즘 잠을 잘 못 자요")
+                .selectedNpc("여우")
+                .build();
+
+        // When
+        long[] latencyNanos = new long[COMPLETIONS];
+        ExecutorService clients = Executors.newFixedThreadPool(THREADS);
+        try {
+            long start = System.nanoTime();
+            List<Future<GameStateResponse>> responses = new ArrayList<>(COMPLETIONS);
+            for (int i = 0; i < COMPLETIONS; i++) {
+                int index = i;
+                responses.add(clients.submit(() -> {
+                    long requestStart = System.nanoTime();
+                    GameStateResponse response = gameProgressService.completeGameAndSendEmail(UUID.randomUUID(), request);
+                    latencyNanos[index] = System.nanoTime() - requestStart;
+                    return response;
+                }));
+            }
+            for (Future<GameStateResponse> response : responses) {
+                assertEquals(GameStage.GAME_COMPLETE, response.get().getCurrentStage());
+            }
+            PerfReport.report("동시 완료 처리 (클라이언트 " + THREADS + " 개)", COMPLETIONS, System.nanoTime() - start);
+        } finally {
+            clients.shutdownNow();
+        }
+        PerfReport.latency("completeGameAndSendEmail", latencyNanos);
+
+        // Then
+        assertEquals(COMPLETIONS, enqueuedInTransaction.get());
+    }
+
+    // 커밋에 걸리는 시간만 흉내 내는 트랜잭션 관리자, 트랜잭션 동기화(afterCommit)는 실제처럼 동작함
+    private static class SimulatedTransactionManager extends AbstractPlatformTransactionManager {
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+            sleep(COMMIT_MILLIS);
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
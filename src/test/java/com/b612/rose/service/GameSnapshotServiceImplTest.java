@@ -0,0 +1,192 @@
+package com.b612.rose.service;
+
+import com.b612.rose.dto.response.GameSnapshotResponse;
+import com.b612.rose.dto.response.ObjectStatusResponse;
+import com.b612.rose.entity.domain.CollectedStar;
+import com.b612.rose.entity.domain.GameProgress;
+import com.b612.rose.entity.domain.GameStateSnapshot;
+import com.b612.rose.entity.domain.InteractiveObject;
+import com.b612.rose.entity.domain.Star;
+import com.b612.rose.entity.domain.UserInteraction;
+import com.b612.rose.entity.enums.GameStage;
+import com.b612.rose.entity.enums.InteractiveObjectType;
+import com.b612.rose.entity.enums.StarType;
+import com.b612.rose.exception.BusinessException;
+import com.b612.rose.repository.CollectedStarRepository;
+import com.b612.rose.repository.GameProgressRepository;
+import com.b612.rose.repository.GameStateSnapshotRepository;
+import com.b612.rose.repository.UserInteractionRepository;
+import com.b612.rose.service.impl.GameSnapshotServiceImpl;
+import com.b612.rose.service.service.DialogueService;
+import com.b612.rose.utils.GameStateCache;
+import com.b612.rose.utils.GameStateManager;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class GameSnapshotServiceImplTest {
+
+    @Mock
+    private GameStateSnapshotRepository gameStateSnapshotRepository;
+
+    @Mock
+    private GameProgressRepository gameProgressRepository;
+
+    @Mock
+    private CollectedStarRepository collectedStarRepository;
+
+    @Mock
+    private UserInteractionRepository userInteractionRepository;
+
+    @Mock
+    private GameStateManager gameStateManager;
+
+    @Mock
+    private DialogueService dialogueService;
+
+    @InjectMocks
+    private GameSnapshotServiceImpl gameSnapshotService;
+
+    private final UUID userId = UUID.randomUUID();
+
+    @Test
+    void getSnapshot_WhenSnapshotMissing_ShouldRebuildFromSourceTablesAndSave() {
+        // Given: 스냅샷 테이블이 생기기 전부터 있던 사용자
+        when(gameStateSnapshotRepository.findById(userId)).thenReturn(Optional.empty());
+        when(gameProgressRepository.findByUserId(userId)).thenReturn(Optional.of(
+                GameProgress.builder().userId(userId).currentStage(GameStage.COLLECT_ENVY).build()));
+        when(collectedStarRepository.findAllWithStarByUserId(userId)).thenReturn(List.of(
+                collectedStar(StarType.PRIDE, true, true),
+                collectedStar(StarType.ENVY, true, false)));
+        when(userInteractionRepository.findAllWithObjectByUserId(userId)).thenReturn(List.of(
+                UserInteraction.builder()
+                        .userId(userId)
+                        .hasInteracted(true)
+                        .isActive(true)
+                        .interactiveObject(InteractiveObject.builder()
+                                .objectType(InteractiveObjectType.STAR_GUIDE).build())
+                        .build()));
+        when(dialogueService.getDialoguesForCurrentStage(userId, GameStage.COLLECT_ENVY))
+                .thenReturn(Collections.emptyList());
+
+        // When
+        GameSnapshotResponse response = gameSnapshotService.getSnapshot(userId);
+
+        // Then
+        int prideBit = GameStateCache.bitOf(StarType.PRIDE);
+        int envyBit = GameStateCache.bitOf(StarType.ENVY);
+        int starGuideBit = GameStateSnapshot.objectBit(InteractiveObjectType.STAR_GUIDE);
+        int activeMask = GameStateSnapshot.defaultActiveMask();
+        assertEquals(GameStage.COLLECT_ENVY, response.getCurrentStage());
+        assertEquals(prideBit | envyBit, response.getCollectedMask());
+        assertEquals(prideBit, response.getDeliveredMask());
+        verify(gameStateSnapshotRepository).upsert(userId, GameStage.COLLECT_ENVY,
+                prideBit | envyBit, prideBit, starGuideBit, activeMask);
+
+        ObjectStatusResponse requestForm = status(response, InteractiveObjectType.REQUEST_FORM);
+        assertFalse(requestForm.isActive());
+        assertTrue(status(response, InteractiveObjectType.STAR_GUIDE).isHasInteracted());
+    }
+
+    @Test
+    void getSnapshot_WhenProgressMissing_ShouldThrow() {
+        // Given
+        when(gameStateSnapshotRepository.findById(userId)).thenReturn(Optional.empty());
+        when(gameProgressRepository.findByUserId(userId)).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThrows(BusinessException.class, () -> gameSnapshotService.getSnapshot(userId));
+        verify(gameStateSnapshotRepository, never()).upsert(any(), any(), anyInt(), anyInt(), anyInt(), anyInt());
+    }
+
+    @Test
+    void getSnapshot_WithResidentState_ShouldMergeUnflushedChanges() {
+        // Given: db 스냅샷보다 메모리 상태가 앞서 있음
+        int prideBit = GameStateCache.bitOf(StarType.PRIDE);
+        int envyBit = GameStateCache.bitOf(StarType.ENVY);
+        when(gameStateSnapshotRepository.findById(userId)).thenReturn(Optional.of(snapshot(GameStage.COLLECT_PRIDE,
+                prideBit, prideBit)));
+        when(gameStateManager.getResidentState(userId)).thenReturn(
+                GameStateCache.of(GameStage.DELIVER_ENVY, prideBit | envyBit, prideBit | envyBit));
+        when(dialogueService.getDialoguesForCurrentStage(userId, GameStage.DELIVER_ENVY))
+                .thenReturn(Collections.emptyList());
+
+        // When
+        GameSnapshotResponse response = gameSnapshotService.getSnapshot(userId);
+
+        // Then
+        assertEquals(GameStage.DELIVER_ENVY, response.getCurrentStage());
+        assertEquals(prideBit | envyBit, response.getCollectedMask());
+        assertEquals(prideBit | envyBit, response.getDeliveredMask());
+        verifyNoInteractions(gameProgressRepository, collectedStarRepository, userInteractionRepository);
+    }
+
+    @Test
+    void getSnapshot_WithStaleResidentStage_ShouldKeepLaterSnapshotStage() {
+        // Given: 완료 처리가 db 에 먼저 반영된 경우
+        when(gameStateSnapshotRepository.findById(userId)).thenReturn(Optional.of(snapshot(GameStage.GAME_COMPLETE,
+                GameStateCache.allStarsMask(), GameStateCache.allStarsMask())));
+        when(gameStateManager.getResidentState(userId)).thenReturn(
+                GameStateCache.of(GameStage.NPC_SELECTION, GameStateCache.allStarsMask(), GameStateCache.allStarsMask()));
+        when(dialogueService.getDialoguesForCurrentStage(userId, GameStage.GAME_COMPLETE))
+                .thenReturn(Collections.emptyList());
+
+        // When
+        GameSnapshotResponse response = gameSnapshotService.getSnapshot(userId);
+
+        // Then
+        assertEquals(GameStage.GAME_COMPLETE, response.getCurrentStage());
+    }
+
+    @Test
+    void getSnapshot_AtIntro_ShouldNotLoadDialogues() {
+        // Given
+        when(gameStateSnapshotRepository.findById(userId)).thenReturn(Optional.of(snapshot(GameStage.INTRO, 0, 0)));
+
+        // When
+        GameSnapshotResponse response = gameSnapshotService.getSnapshot(userId);
+
+        // Then
+        assertTrue(response.getDialogues().isEmpty());
+        verifyNoInteractions(dialogueService);
+    }
+
+    private GameStateSnapshot snapshot(GameStage stage, int collectedMask, int deliveredMask) {
+        return GameStateSnapshot.builder()
+                .userId(userId)
+                .currentStage(stage)
+                .collectedMask(collectedMask)
+                .deliveredMask(deliveredMask)
+                .activeMask(GameStateSnapshot.defaultActiveMask())
+                .build();
+    }
+
+    private CollectedStar collectedStar(StarType starType, boolean collected, boolean delivered) {
+        return CollectedStar.builder()
+                .userId(userId)
+                .collected(collected)
+                .delivered(delivered)
+                .star(Star.builder().starType(starType).build())
+                .build();
+    }
+
+    private ObjectStatusResponse status(GameSnapshotResponse response, InteractiveObjectType objectType) {
+        return response.getObjectStatuses().stream()
+                .filter(status -> status.getObjectType() == objectType)
+                .findFirst()
+                .orElseThrow();
+    }
+}
@@ -1,19 +1,21 @@
 package com.b612.rose.service;
 
-import com.b612.rose.entity.domain.InteractiveObject;
-import com.b612.rose.entity.domain.UserInteraction;
 import com.b612.rose.entity.enums.InteractiveObjectType;
-import com.b612.rose.repository.InteractiveObjectRepository;
+import com.b612.rose.repository.GameStateSnapshotRepository;
 import com.b612.rose.repository.UserInteractionRepository;
 import com.b612.rose.service.impl.InteractionAsyncServiceImpl;
+import com.b612.rose.utils.UserLaneExecutor;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
@@ -22,64 +24,59 @@ import static org.mockito.Mockito.*;
 public class InteractionAsyncServiceImplTest {
 
     @Mock
-    private InteractiveObjectRepository interactiveObjectRepository;
+    private UserInteractionRepository userInteractionRepository;
 
     @Mock
-    private UserInteractionRepository userInteractionRepository;
+    private GameStateSnapshotRepository gameStateSnapshotRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
 
-    @InjectMocks
     private InteractionAsyncServiceImpl interactionAsyncService;
 
+    @BeforeEach
+    void setUp() {
+        // lane 작업을 호출 스레드에서 바로 실행
+        UserLaneExecutor userLaneExecutor = new UserLaneExecutor(Runnable::run, 4, 100, 32);
+        interactionAsyncService = new InteractionAsyncServiceImpl(
+                userInteractionRepository, gameStateSnapshotRepository, userLaneExecutor, transactionTemplate);
+
+        doAnswer(invocation -> {
+            Consumer<TransactionStatus> action = invocation.getArgument(0);
+            action.accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+    }
+
     @Test
     void updateInteractionAsync_WithExistingInteraction_ShouldUpdateInteraction() {
         // Given
         UUID userId = UUID.randomUUID();
         InteractiveObjectType objectType = InteractiveObjectType.STAR_GUIDE;
 
-        InteractiveObject object = InteractiveObject.builder()
-                .objectId(1)
-                .objectType(objectType)
-                .build();
-
-        UserInteraction existingInteraction = UserInteraction.builder()
-                .interactionId(1)
-                .userId(userId)
-                .objectId(object.getObjectId())
-                .hasInteracted(false)
-                .isActive(true)
-                .build();
-
         // When
-        when(interactiveObjectRepository.findByObjectType(objectType)).thenReturn(Optional.of(object));
-        when(userInteractionRepository.findByUserIdAndObjectId(userId, object.getObjectId()))
-                .thenReturn(Optional.of(existingInteraction));
-        when(userInteractionRepository.save(any(UserInteraction.class))).thenReturn(existingInteraction);
+        when(userInteractionRepository.upsertInteracted(userId, objectType.name())).thenReturn(1);
 
         interactionAsyncService.updateInteractionAsync(userId, objectType);
 
         // Then
-        verify(userInteractionRepository, times(1)).save(any(UserInteraction.class));
+        verify(userInteractionRepository, times(1)).upsertInteracted(userId, objectType.name());
+        verifyNoMoreInteractions(userInteractionRepository);
     }
 
     @Test
-    void updateInteractionAsync_WithNewInteraction_ShouldCreateInteraction() {
+    void updateInteractionAsync_ForSameUser_ShouldApplyInSubmissionOrder() {
         // Given
         UUID userId = UUID.randomUUID();
-        InteractiveObjectType objectType = InteractiveObjectType.CHARACTER_PROFILE;
-
-        InteractiveObject object = InteractiveObject.builder()
-                .objectId(2)
-                .objectType(objectType)
-                .build();
+        when(userInteractionRepository.upsertInteracted(eq(userId), any())).thenReturn(1);
 
         // When
-        when(interactiveObjectRepository.findByObjectType(objectType)).thenReturn(Optional.of(object));
-        when(userInteractionRepository.findByUserIdAndObjectId(userId, object.getObjectId()))
-                .thenReturn(Optional.empty());
-
-        interactionAsyncService.updateInteractionAsync(userId, objectType);
+        interactionAsyncService.updateInteractionAsync(userId, InteractiveObjectType.CHARACTER_PROFILE);
+        interactionAsyncService.updateInteractionAsync(userId, InteractiveObjectType.STAR_GUIDE);
 
         // Then
-        verify(userInteractionRepository, times(1)).save(any(UserInteraction.class));
+        InOrder inOrder = inOrder(userInteractionRepository);
+        inOrder.verify(userInteractionRepository).upsertInteracted(userId, InteractiveObjectType.CHARACTER_PROFILE.name());
+        inOrder.verify(userInteractionRepository).upsertInteracted(userId, InteractiveObjectType.STAR_GUIDE.name());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,98 @@
+package com.b612.rose.service;
+
+import com.b612.rose.dto.response.CharacterProfileResponse;
+import com.b612.rose.dto.response.NpcProfileResponse;
+import com.b612.rose.dto.response.ObjectStatusResponse;
+import com.b612.rose.entity.domain.InteractiveObject;
+import com.b612.rose.entity.domain.UserInteraction;
+import com.b612.rose.entity.enums.InteractiveObjectType;
+import com.b612.rose.repository.UserInteractionRepository;
+import com.b612.rose.service.impl.InteractionServiceImpl;
+import com.b612.rose.service.service.DialogueService;
+import com.b612.rose.service.service.InteractionAsyncService;
+import com.b612.rose.utils.ContentCatalog;
+import com.b612.rose.utils.ContentSnapshot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class InteractionServiceImplTest {
+
+    @Mock
+    private UserInteractionRepository userInteractionRepository;
+
+    @Mock
+    private DialogueService dialogueService;
+
+    @Mock
+    private InteractionAsyncService interactionAsyncService;
+
+    @Mock
+    private ContentCatalog contentCatalog;
+
+    @InjectMocks
+    private InteractionServiceImpl interactionService;
+
+    @BeforeEach
+    void setUp() {
+        ContentSnapshot snapshot = ContentSnapshot.build(1,
+                Collections.emptyList(),
+                Collections.emptyList(),
+                Collections.emptyList(),
+                List.of(new NpcProfileResponse(1, "어린왕자", "설명")),
+                Collections.emptyList(),
+                List.of(
+                        InteractiveObject.builder().objectId(1).objectType(InteractiveObjectType.STAR_GUIDE).build(),
+                        InteractiveObject.builder().objectId(2).objectType(InteractiveObjectType.CHARACTER_PROFILE).build(),
+                        InteractiveObject.builder().objectId(3).objectType(InteractiveObjectType.REQUEST_FORM).build()));
+        when(contentCatalog.current()).thenReturn(snapshot);
+    }
+
+    @Test
+    void getObjectStatus_ShouldQueryInteractionsOncePerRequest() {
+        // Given
+        UUID userId = UUID.randomUUID();
+        when(userInteractionRepository.findAllByUserId(userId)).thenReturn(List.of(
+                UserInteraction.builder().userId(userId).objectId(1).hasInteracted(true).isActive(true).build()));
+
+        // When
+        List<ObjectStatusResponse> responses = interactionService.getObjectStatus(userId);
+
+        // Then
+        assertEquals(3, responses.size());
+        assertTrue(responses.get(0).isHasInteracted());
+        assertFalse(responses.get(1).isHasInteracted());
+        assertTrue(responses.get(1).isActive());
+        assertFalse(responses.get(2).isActive());
+
+        verify(userInteractionRepository, times(1)).findAllByUserId(userId);
+        verify(userInteractionRepository, never()).findByUserIdAndObjectId(any(), any());
+    }
+
+    @Test
+    void getCharacterProfile_ShouldServeProfilesFromSnapshot() {
+        // Given
+        UUID userId = UUID.randomUUID();
+
+        // When
+        CharacterProfileResponse response = interactionService.getCharacterProfile(userId);
+
+        // Then
+        assertEquals(1, response.getProfiles().size());
+        assertEquals("어린왕자", response.getProfiles().get(0).getNpcName());
+        verify(interactionAsyncService).updateInteractionAsync(userId, InteractiveObjectType.CHARACTER_PROFILE);
+        verifyNoInteractions(userInteractionRepository);
+    }
+}
@@ -0,0 +1,151 @@
+package com.b612.rose.service;
+
+import com.b612.rose.PerfReport;
+import com.b612.rose.dto.request.UserCreateRequest;
+import com.b612.rose.entity.domain.User;
+import com.b612.rose.entity.enums.InteractiveObjectType;
+import com.b612.rose.entity.enums.StarType;
+import com.b612.rose.repository.CollectedStarRepository;
+import com.b612.rose.repository.GameProgressRepository;
+import com.b612.rose.repository.GameStateSnapshotRepository;
+import com.b612.rose.repository.UserRepository;
+import com.b612.rose.service.impl.UserServiceImpl;
+import com.b612.rose.service.service.UserAsyncService;
+import com.b612.rose.utils.BoundedGameStateStore;
+import com.b612.rose.utils.ContentCatalog;
+import com.b612.rose.utils.GameProgressWriteQueue;
+import com.b612.rose.utils.GameStateManager;
+import com.b612.rose.utils.ProgressEventRecorder;
+import com.b612.rose.utils.UserExistenceFilter;
+import com.b612.rose.utils.UserNameCache;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+// 가입(createUser) + 게임 상태 초기화(handleGameStart) 의 초당 처리량과 가입 한 건당 db 문장 수
+// 문장마다 STATEMENT_MILLIS 만큼 걸리는 것으로 흉내 냄, 실제 db 수치는 운영과 같은 db 에서 따로 봐야 함
+// 비교 기준(before)은 가입마다 별/상호작용 행을 하나씩 넣던 이전 방식 (IDENTITY id 라 배치가 안 되어 행마다 한 문장)
+@Tag(PerfReport.TAG)
+public class SignupPerfTest {
+
+    private static final int WARMUP = 200;
+    private static final int SIGNUPS = 2_000;
+    private static final long STATEMENT_MILLIS = 1;
+
+    private final AtomicLong statements = new AtomicLong();
+
+    @Test
+    void signup_StatementsAndThroughput() {
+        // Given
+        UserServiceImpl userService = signupPath(0);
+        UserServiceImpl legacyUserService = signupPath(StarType.values().length + InteractiveObjectType.values().length);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(new SimulatedTransactionManager());
+        UserCreateRequest request = UserCreateRequest.builder().userName("어린 왕자").build();
+
+        // When
+        statements.set(0);
+        double before = PerfReport.throughput("가입 + 초기화 (before: 행마다 insert)", WARMUP, SIGNUPS,
+                () -> transactionTemplate.executeWithoutResult(status -> legacyUserService.createUser(request)));
+        long beforeStatements = statements.getAndSet(0) / (WARMUP + SIGNUPS);
+
+        double after = PerfReport.throughput("가입 + 초기화 (after: 행은 처음 바뀔 때 생성)", WARMUP, SIGNUPS,
+                () -> transactionTemplate.executeWithoutResult(status -> userService.createUser(request)));
+        long afterStatements = statements.get() / (WARMUP + SIGNUPS);
+
+        System.out.printf("[perf] 가입 한 건당 db 문장: before %d, after %d, 처리량 %.1f 배%n",
+                beforeStatements, afterStatements, after / before);
+
+        // Then: 사용자/진척도/스냅샷 행 + 초기화 때 사용자 확인
+        assertEquals(4, afterStatements);
+        assertTrue(afterStatements < beforeStatements);
+    }
+
+    // seededRows: 초기화 때 행마다 한 문장씩 넣던 행 수 (0 이면 지금 방식)
+    private UserServiceImpl signupPath(int seededRows) {
+        UserRepository userRepository = mock(UserRepository.class, withSettings().stubOnly());
+        when(userRepository.save(any(User.class))).thenAnswer(invocation -> {
+            statement();
+            User user = invocation.getArgument(0);
+            return User.builder().userId(UUID.randomUUID()).userName(user.getUserName()).build();
+        });
+        when(userRepository.findById(any())).thenAnswer(invocation -> {
+            statement();
+            return Optional.of(User.builder().userId(invocation.getArgument(0)).build());
+        });
+
+        GameProgressRepository gameProgressRepository = mock(GameProgressRepository.class, withSettings().stubOnly());
+        when(gameProgressRepository.save(any())).thenAnswer(invocation -> {
+            statement();
+            return invocation.getArgument(0);
+        });
+
+        GameStateSnapshotRepository gameStateSnapshotRepository =
+                mock(GameStateSnapshotRepository.class, withSettings().stubOnly());
+        doAnswer(invocation -> {
+            statement();
+            return null;
+        }).when(gameStateSnapshotRepository).upsert(any(), any(), anyInt(), anyInt(), anyInt(), anyInt());
+
+        GameStateManager gameStateManager = new GameStateManager(mock(ContentCatalog.class), userRepository,
+                mock(CollectedStarRepository.class), gameProgressRepository,
+                new BoundedGameStateStore(SIGNUPS + WARMUP, 16, 60_000, (userId, state) -> { }),
+                gameStateSnapshotRepository, mock(ProgressEventRecorder.class), mock(GameProgressWriteQueue.class));
+
+        // 실제로는 커밋 뒤 사용자 lane 에서 돌지만, 가입 한 건의 전체 비용을 보려고 그 자리에서 실행
+        UserAsyncService userAsyncService = userId -> {
+            gameStateManager.handleGameStart(userId);
+            for (int i = 0; i < seededRows; i++) {
+                statement();
+            }
+        };
+
+        return new UserServiceImpl(userRepository, gameProgressRepository, gameStateSnapshotRepository,
+                userAsyncService, mock(UserNameCache.class), mock(UserExistenceFilter.class));
+    }
+
+    private void statement() {
+        statements.incrementAndGet();
+        sleep(STATEMENT_MILLIS);
+    }
+
+    // 커밋 시간은 비교 대상이 아니므로 바로 끝나는 트랜잭션 관리자, 트랜잭션 동기화(afterCommit)는 실제처럼 동작함
+    private static class SimulatedTransactionManager extends AbstractPlatformTransactionManager {
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -1,48 +1,36 @@
 package com.b612.rose.service;
 
-import com.b612.rose.entity.domain.GameProgress;
-import com.b612.rose.repository.GameProgressRepository;
 import com.b612.rose.service.impl.UserAsyncServiceImpl;
 import com.b612.rose.utils.GameStateManager;
+import com.b612.rose.utils.UserLaneExecutor;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.UUID;
 
-import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 public class UserAsyncServiceImplTest {
 
-    @Mock
-    private GameProgressRepository gameProgressRepository;
-
     @Mock
     private GameStateManager gameStateManager;
 
-    @InjectMocks
-    private UserAsyncServiceImpl userAsyncService;
-
     @Test
-    void initializeGameStateAsync_ShouldCreateGameProgressAndInitializeState() {
+    void initializeGameStateAsync_ShouldInitializeStateOnUserLane() {
         // Given
         UUID userId = UUID.randomUUID();
+        UserAsyncServiceImpl userAsyncService =
+                new UserAsyncServiceImpl(gameStateManager, new UserLaneExecutor(Runnable::run, 4, 100, 32));
 
         // When
-        when(gameProgressRepository.save(any(GameProgress.class))).thenAnswer(invocation -> {
-            GameProgress progress = invocation.getArgument(0);
-            return progress;
-        });
         doNothing().when(gameStateManager).handleGameStart(userId);
 
         userAsyncService.initializeGameStateAsync(userId);
 
         // Then
-        verify(gameProgressRepository, times(1)).save(any(GameProgress.class));
         verify(gameStateManager, times(1)).handleGameStart(userId);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,77 @@
+package com.b612.rose.service;
+
+import com.b612.rose.dto.request.UserCreateRequest;
+import com.b612.rose.entity.domain.GameStateSnapshot;
+import com.b612.rose.entity.domain.User;
+import com.b612.rose.entity.enums.GameStage;
+import com.b612.rose.repository.GameProgressRepository;
+import com.b612.rose.repository.GameStateSnapshotRepository;
+import com.b612.rose.repository.UserRepository;
+import com.b612.rose.service.impl.UserServiceImpl;
+import com.b612.rose.service.service.UserAsyncService;
+import com.b612.rose.utils.UserExistenceFilter;
+import com.b612.rose.utils.UserNameCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class UserServiceImplTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private GameProgressRepository gameProgressRepository;
+
+    @Mock
+    private GameStateSnapshotRepository gameStateSnapshotRepository;
+
+    @Mock
+    private UserAsyncService userAsyncService;
+
+    @Mock
+    private UserNameCache userNameCache;
+
+    @Mock
+    private UserExistenceFilter userExistenceFilter;
+
+    @InjectMocks
+    private UserServiceImpl userService;
+
+    @BeforeEach
+    void setUp() {
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Test
+    void createUser_ShouldCreateSnapshotRowInSameTransaction() {
+        // Given
+        UUID userId = UUID.randomUUID();
+        when(userRepository.save(any(User.class))).thenReturn(User.builder().userId(userId).userName("어린 왕자").build());
+
+        // When
+        userService.createUser(UserCreateRequest.builder().userName("어린 왕자").build());
+
+        // Then: 이후 상태 변경(mergeState)이 합쳐질 행이 가입 때부터 있음
+        verify(gameStateSnapshotRepository).upsert(userId, GameStage.INTRO,
+                0, 0, 0, GameStateSnapshot.defaultActiveMask());
+        // 비동기 초기화는 커밋 뒤에만 시작
+        verifyNoInteractions(userAsyncService);
+    }
+}
@@ -0,0 +1,188 @@
+package com.b612.rose.utils;
+
+import com.b612.rose.dto.response.GameStateCacheStatsResponse;
+import com.b612.rose.entity.enums.GameStage;
+import com.b612.rose.entity.enums.StarType;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BoundedGameStateStoreTest {
+
+    private final List<UUID> writtenBehind = new ArrayList<>();
+
+    @Test
+    void put_OverCapacity_ShouldEvictLeastRecentlyUsedAndWriteBehindOnlyDirty() {
+        // Given
+        BoundedGameStateStore store = new BoundedGameStateStore(2, 1, 60_000,
+                (userId, state) -> writtenBehind.add(userId));
+        UUID clean = UUID.randomUUID();
+        UUID dirty = UUID.randomUUID();
+        UUID newcomer = UUID.randomUUID();
+
+        // When
+        store.put(clean, GameStateCache.createInitial());
+        store.compute(dirty, id -> GameStateCache.createInitial(), state -> state);
+        store.get(dirty);
+        store.put(newcomer, GameStateCache.createInitial());
+        store.put(UUID.randomUUID(), GameStateCache.createInitial());
+
+        // Then
+        assertNull(store.get(clean));
+        assertNull(store.get(dirty));
+        assertEquals(List.of(dirty), writtenBehind);
+
+        GameStateCacheStatsResponse stats = store.stats();
+        assertEquals(2, stats.getSize());
+        assertEquals(2, stats.getSizeEvictionCount());
+        assertEquals(1, stats.getWriteBehindCount());
+    }
+
+    @Test
+    void evictIdle_ShouldRemoveExpiredEntries() {
+        // Given
+        BoundedGameStateStore store = new BoundedGameStateStore(10, 2, 0,
+                (userId, state) -> writtenBehind.add(userId));
+        UUID userId = UUID.randomUUID();
+        store.compute(userId, id -> GameStateCache.createInitial(), state -> state);
+
+        // When
+        store.evictIdle();
+
+        // Then
+        assertNull(store.get(userId));
+        assertEquals(List.of(userId), writtenBehind);
+        assertEquals(1, store.stats().getIdleEvictionCount());
+    }
+
+    @Test
+    void markPersisted_WhenCommitCoversState_ShouldNotWriteBehindOnEviction() {
+        // Given
+        BoundedGameStateStore store = new BoundedGameStateStore(10, 1, 0,
+                (userId, state) -> writtenBehind.add(userId));
+        UUID userId = UUID.randomUUID();
+        store.compute(userId, id -> GameStateCache.ofStage(GameStage.COLLECT_PRIDE),
+                state -> state.withStar(StarType.PRIDE, true, false));
+
+        // When: 같은 변경이 write-behind 큐에서 커밋됨
+        store.markPersisted(userId, null, GameStateCache.bitOf(StarType.PRIDE), 0);
+        store.evictIdle();
+
+        // Then
+        assertTrue(writtenBehind.isEmpty());
+        assertEquals(0, store.stats().getWriteBehindCount());
+    }
+
+    @Test
+    void markPersisted_WhenStateMovedPastCommit_ShouldStayDirty() {
+        // Given
+        BoundedGameStateStore store = new BoundedGameStateStore(10, 1, 0,
+                (userId, state) -> writtenBehind.add(userId));
+        UUID userId = UUID.randomUUID();
+        store.compute(userId, id -> GameStateCache.ofStage(GameStage.COLLECT_PRIDE),
+                state -> state.advanceStage(GameStage.COLLECT_ENVY));
+        store.markPersisted(userId, GameStage.COLLECT_ENVY, 0, 0);
+
+        // When: 커밋 알림 뒤에 들어온 변경은 아직 db 에 없음
+        store.compute(userId, id -> GameStateCache.createInitial(),
+                state -> state.advanceStage(GameStage.DELIVER_ENVY));
+        store.evictIdle();
+
+        // Then
+        assertEquals(List.of(userId), writtenBehind);
+    }
+
+    @Test
+    void putIfAbsent_ShouldKeepResidentState() {
+        // Given
+        BoundedGameStateStore store = new BoundedGameStateStore(10, 1, 60_000, (userId, state) -> { });
+        UUID userId = UUID.randomUUID();
+        store.compute(userId, id -> GameStateCache.createInitial(),
+                state -> GameStateCache.ofStage(GameStage.COLLECT_ENVY));
+
+        // When
+        GameStateCache resident = store.putIfAbsent(userId, GameStateCache.createInitial());
+
+        // Then
+        assertEquals(GameStage.COLLECT_ENVY, resident.getCurrentStage());
+    }
+
+    @Test
+    void compute_WhenAbsent_ShouldStartFromLoadedState() {
+        // Given
+        BoundedGameStateStore store = new BoundedGameStateStore(10, 1, 60_000, (userId, state) -> { });
+        UUID userId = UUID.randomUUID();
+
+        // When
+        GameStateCache updated = store.compute(userId, id -> GameStateCache.ofStage(GameStage.DELIVER_LONELY),
+                state -> state.withStar(StarType.SAD, true, false));
+
+        // Then
+        assertEquals(GameStage.DELIVER_LONELY, updated.getCurrentStage());
+        assertTrue(updated.isCollected(StarType.SAD));
+        assertSame(updated, store.get(userId));
+    }
+
+    @Test
+    void compute_ConcurrentlyOnResidentState_ShouldNotLoseUpdates() throws InterruptedException {
+        // Given
+        BoundedGameStateStore store = new BoundedGameStateStore(10, 1, 60_000, (userId, state) -> { });
+        UUID userId = UUID.randomUUID();
+        store.put(userId, GameStateCache.ofStage(GameStage.GAME_START));
+        ExecutorService pool = Executors.newFixedThreadPool(StarType.values().length);
+        CountDownLatch start = new CountDownLatch(1);
+
+        // When: 별마다 다른 스레드에서 수집/전달을 번갈아 반복
+        for (StarType starType : StarType.values()) {
+            pool.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                for (int i = 0; i < 10_000; i++) {
+                    boolean delivered = i % 2 == 1;
+                    store.compute(userId, id -> GameStateCache.createInitial(),
+                            state -> state.withStar(starType, true, delivered));
+                }
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+
+        // Then: 메모리에 있던 상태라 다시 적재하지 않았고 모든 별이 반영됨
+        GameStateCache state = store.get(userId);
+        assertTrue(state.isAllCollectedAndDelivered());
+        assertEquals(GameStage.GAME_START, state.getCurrentStage());
+        assertEquals(0, store.stats().getMissCount());
+    }
+
+    @Test
+    void compute_WhenLoaderFails_ShouldNotInsertEntry() {
+        // Given
+        BoundedGameStateStore store = new BoundedGameStateStore(10, 1, 60_000,
+                (userId, state) -> writtenBehind.add(userId));
+        UUID userId = UUID.randomUUID();
+
+        // When
+        assertThrows(IllegalStateException.class, () -> store.compute(userId,
+                id -> {
+                    throw new IllegalStateException("no progress");
+                },
+                state -> state.withStage(GameStage.GAME_START)));
+        store.flushAll();
+
+        // Then
+        assertNull(store.get(userId));
+        assertTrue(writtenBehind.isEmpty());
+    }
+}
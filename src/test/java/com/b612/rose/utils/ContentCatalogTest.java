@@ -0,0 +1,75 @@
+package com.b612.rose.utils;
+
+import com.b612.rose.repository.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class ContentCatalogTest {
+
+    @Mock
+    private DialogueRepository dialogueRepository;
+
+    @Mock
+    private StarRepository starRepository;
+
+    @Mock
+    private NpcRepository npcRepository;
+
+    @Mock
+    private StarGuideEntryRepository starGuideEntryRepository;
+
+    @Mock
+    private InteractiveObjectRepository interactiveObjectRepository;
+
+    @Mock
+    private ContentVersionRepository contentVersionRepository;
+
+    @InjectMocks
+    private ContentCatalog contentCatalog;
+
+    @AfterEach
+    void tearDown() {
+        contentCatalog.shutdown();
+    }
+
+    @Test
+    void initCache_WhenLoadFails_ShouldFailStartup() {
+        // Given
+        when(contentVersionRepository.findCurrentVersion()).thenThrow(new IllegalStateException("db down"));
+
+        // When & Then
+        assertThrows(IllegalStateException.class, () -> contentCatalog.initCache());
+        assertEquals(0, contentCatalog.current().getStarCount());
+    }
+
+    @Test
+    void initCache_ShouldNotifySwapListenersAfterSnapshotIsSet() {
+        // Given
+        List<Long> notified = new ArrayList<>();
+        contentCatalog.addSwapListener(snapshot -> {
+            assertSame(snapshot, contentCatalog.current());
+            notified.add(snapshot.getVersion());
+        });
+        contentCatalog.addSwapListener(snapshot -> {
+            throw new IllegalStateException("listener fail");
+        });
+
+        // When
+        contentCatalog.initCache();
+
+        // Then: 한 곳이 실패해도 교체는 유지됨
+        assertEquals(List.of(1L), notified);
+        assertEquals(1L, contentCatalog.current().getVersion());
+    }
+}
@@ -0,0 +1,67 @@
+package com.b612.rose.utils;
+
+import com.b612.rose.entity.domain.Dialogue;
+import com.b612.rose.repository.DialogueRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class DialogueFallbackLoaderTest {
+
+    @Mock
+    private DialogueRepository dialogueRepository;
+
+    @Mock
+    private ContentCatalog contentCatalog;
+
+    @InjectMocks
+    private DialogueFallbackLoader dialogueFallbackLoader;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(dialogueFallbackLoader, "negativeTtlMillis", 60000L);
+        ReflectionTestUtils.setField(dialogueFallbackLoader, "maxEntries", 100);
+        when(contentCatalog.current()).thenReturn(ContentSnapshot.empty());
+    }
+
+    @Test
+    void load_WithUnknownType_ShouldHitDatabaseOnce() {
+        // Given
+        when(dialogueRepository.findByDialogueTypeOrderByNpcId("unknown")).thenReturn(Collections.emptyList());
+
+        // When
+        List<DialogueTemplate> first = dialogueFallbackLoader.load("unknown");
+        List<DialogueTemplate> second = dialogueFallbackLoader.load("unknown");
+
+        // Then
+        assertTrue(first.isEmpty());
+        assertTrue(second.isEmpty());
+        verify(dialogueRepository, times(1)).findByDialogueTypeOrderByNpcId("unknown");
+    }
+
+    @Test
+    void load_WithNewType_ShouldReuseLoadedTemplates() {
+        // Given
+        when(dialogueRepository.findByDialogueTypeOrderByNpcId("event")).thenReturn(List.of(
+                Dialogue.builder().dialogueId(1).npcId(1).dialogueType("event").dialogueText("안녕").build()));
+
+        // When
+        dialogueFallbackLoader.load("event");
+        List<DialogueTemplate> templates = dialogueFallbackLoader.load("event");
+
+        // Then
+        assertEquals(1, templates.size());
+        verify(dialogueRepository, times(1)).findByDialogueTypeOrderByNpcId("event");
+    }
+}
@@ -0,0 +1,59 @@
+package com.b612.rose.utils;
+
+import com.b612.rose.dto.response.DialogueResponse;
+import com.b612.rose.entity.domain.Dialogue;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DialogueTemplateTest {
+
+    @Test
+    void render_ShouldFillEveryUserNameSlotAndKeepLineMarker() {
+        // Given
+        DialogueTemplate template = DialogueTemplate.compile(Dialogue.builder()
+                .dialogueId(1)
+                .npcId(2)
+                .dialogueText("{userName}님 안녕하세요.$n{userName}님, 별을 찾아주세요.")
+                .build());
+
+        // When
+        DialogueResponse response = template.render("장미");
+
+        // Then
+        assertTrue(template.needsUserName());
+        assertEquals("장미님 안녕하세요.$n장미님, 별을 찾아주세요.", response.getDialogueText());
+        assertEquals(2, response.getNpcId());
+    }
+
+    @Test
+    void render_WithoutPlaceholder_ShouldReuseSameResponse() {
+        // Given
+        DialogueTemplate template = DialogueTemplate.compile(Dialogue.builder()
+                .dialogueId(1)
+                .dialogueText("이 별은 교만의 별입니다.")
+                .build());
+
+        // When
+        DialogueResponse first = template.render("장미");
+        DialogueResponse second = template.render(null);
+
+        // Then
+        assertFalse(template.needsUserName());
+        assertSame(first, second);
+    }
+
+    @Test
+    void render_WithUnknownUser_ShouldKeepPlaceholder() {
+        // Given
+        DialogueTemplate template = DialogueTemplate.compile(Dialogue.builder()
+                .dialogueText("반가워요 {userName}님")
+                .build());
+
+        // When
+        DialogueResponse response = template.render(null);
+
+        // Then
+        assertEquals("반가워요 {userName}님", response.getDialogueText());
+    }
+}
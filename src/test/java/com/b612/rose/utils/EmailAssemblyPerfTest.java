@@ -0,0 +1,118 @@
+package com.b612.rose.utils;
+
+import com.b612.rose.PerfReport;
+import com.b612.rose.entity.domain.Star;
+import com.b612.rose.entity.domain.User;
+import com.b612.rose.entity.enums.PurifiedType;
+import com.b612.rose.entity.enums.StarType;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.mail.javamail.MimeMessageHelper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// 완료 메일 한 통을 만들어 전송 형태(MIME)로 직렬화하는 처리량 비교
+// 기존 방식(메일마다 이미지 ClassPathResource 를 읽고 addInline 으로 base64 인코딩) / npc 원형 + 미리 인코딩한 이미지 파트
+@Tag(PerfReport.TAG)
+public class EmailAssemblyPerfTest {
+
+    private static final int WARMUP = 500;
+    private static final int ITERATIONS = 5_000;
+
+    private final Session session = Session.getInstance(new Properties());
+    private final User user = User.builder().userName("장미").concern("요즘 잠을 잘 못 자요").build();
+
+    @Test
+    void assemble_WithPrecomputedInlinePartsThroughput() throws MessagingException {
+        // Given
+        ContentCatalog contentCatalog = mock(ContentCatalog.class);
+        when(contentCatalog.current()).thenReturn(snapshot());
+        EmailTemplateManager emailTemplateManager = new EmailTemplateManager(contentCatalog, new DefaultResourceLoader());
+        emailTemplateManager.init();
+        EmailMessagePrototype prototype = emailTemplateManager.getPrototype("여우");
+        String content = prototype.renderContent(user);
+
+        // When
+        PerfReport.throughput("메일마다 이미지 읽기 + addInline", WARMUP, ITERATIONS, () ->
+                serialize(assembleWithResources(content)));
+        PerfReport.throughput("npc 원형 + 미리 인코딩한 이미지", WARMUP, ITERATIONS, () ->
+                serialize(assembleWithPrototype(prototype)));
+
+        // Then: 두 방식 모두 같은 cid 의 이미지를 붙임
+        MimeMessage message = assembleWithPrototype(prototype);
+        message.saveChanges();
+        assertEquals(List.of("starImage", "characterImage"),
+                prototype.getInlineImages().stream().map(InlineImage::getContentId).toList());
+        assertNotNull(message.getContent());
+    }
+
+    private MimeMessage assembleWithResources(String content) {
+        try {
+            MimeMessage message = new MimeMessage(session);
+            MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
+            helper.setFrom("prettycutyfox@b612.rose.com");
+            helper.setTo("user@example.com");
+            helper.setSubject("여우의 선물 - 깨달음의 별");
+            helper.setText(content, true);
+            helper.addInline("starImage", new ClassPathResource("static/images/stars/FoxStar.png"));
+            helper.addInline("characterImage", new ClassPathResource("static/images/character/fox_character.png"));
+            return message;
+        } catch (MessagingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // EmailServiceImpl.sendQueuedEmail 과 같은 조립 순서
+    private MimeMessage assembleWithPrototype(EmailMessagePrototype prototype) {
+        try {
+            MimeMessage message = new MimeMessage(session);
+            MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
+            helper.setFrom(prototype.getSenderEmail());
+            helper.setTo("user@example.com");
+            helper.setSubject(prototype.getSubject());
+            helper.setText(prototype.renderContent(user), true);
+            for (InlineImage image : prototype.getInlineImages()) {
+                helper.getMimeMultipart().addBodyPart(image.toBodyPart());
+            }
+            return message;
+        } catch (MessagingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // 전송 때처럼 헤더를 정리하고 본문을 끝까지 인코딩함
+    private static void serialize(MimeMessage message) {
+        try {
+            message.saveChanges();
+            message.writeTo(OutputStream.nullOutputStream());
+        } catch (MessagingException e) {
+            throw new IllegalStateException(e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private ContentSnapshot snapshot() {
+        return ContentSnapshot.build(1,
+                Collections.emptyList(),
+                List.of(Star.builder().starId(4).starType(StarType.SAD).purifiedType(PurifiedType.ENLIGHTENMENT).build()),
+                Collections.emptyList(),
+                Collections.emptyList(),
+                Collections.emptyList(),
+                Collections.emptyList());
+    }
+}
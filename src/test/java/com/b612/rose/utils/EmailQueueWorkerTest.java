@@ -0,0 +1,168 @@
+package com.b612.rose.utils;
+
+import com.b612.rose.entity.domain.EmailLog;
+import com.b612.rose.entity.enums.EmailStatus;
+import com.b612.rose.repository.EmailLogRepository;
+import com.b612.rose.service.service.EmailService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.ArgumentCaptor;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class EmailQueueWorkerTest {
+
+    @Mock
+    private EmailLogRepository emailLogRepository;
+
+    @Mock
+    private EmailService emailService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private TaskScheduler taskScheduler;
+
+    private EmailQueueWorker worker;
+
+    @BeforeEach
+    void setUp() {
+        // 전송과 결과 기록을 호출 스레드에서 바로 실행
+        worker = new EmailQueueWorker(emailLogRepository, emailService, transactionTemplate, Runnable::run,
+                taskScheduler, true, 20, 100, 300000, 3, 1000, 60000);
+
+        lenient().doAnswer(invocation -> {
+            TransactionCallback<?> callback = invocation.getArgument(0);
+            return callback.doInTransaction(null);
+        }).when(transactionTemplate).execute(any());
+        lenient().doAnswer(invocation -> {
+            Consumer<TransactionStatus> action = invocation.getArgument(0);
+            action.accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+    }
+
+    @Test
+    void drain_WhenSendSucceeds_ShouldMarkSent() {
+        // Given
+        EmailLog emailLog = emailLog(1, 0);
+        when(emailLogRepository.lockDueEmails(any(), anyInt())).thenReturn(List.of(emailLog));
+        when(emailService.sendQueuedEmail(emailLog)).thenReturn(CompletableFuture.completedFuture("subject"));
+
+        // When
+        worker.drain();
+
+        // Then
+        verify(emailLogRepository).markSending(eq(List.of(1)), any());
+        verify(emailLogRepository).markSent(eq(1), eq("subject"), any());
+        verify(emailLogRepository, never()).markFailed(anyInt(), anyString(), any(), anyString());
+    }
+
+    @Test
+    void drain_WhenSendFails_ShouldRescheduleWithBackoff() {
+        // Given
+        EmailLog emailLog = emailLog(2, 0);
+        when(emailLogRepository.lockDueEmails(any(), anyInt())).thenReturn(List.of(emailLog));
+        when(emailService.sendQueuedEmail(emailLog))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("smtp down")));
+        LocalDateTime before = LocalDateTime.now();
+
+        // When
+        worker.drain();
+
+        // Then
+        verify(emailLogRepository).markFailed(eq(2), eq(EmailStatus.PENDING.name()),
+                argThat(next -> next.isAfter(before.plusNanos(700_000_000L))), contains("smtp down"));
+        verify(emailLogRepository, never()).markSent(anyInt(), anyString(), any());
+    }
+
+    @Test
+    void drain_WhenLastAttemptFails_ShouldMarkFailed() {
+        // Given: max-attempts 3, 이미 두 번 시도함
+        EmailLog emailLog = emailLog(3, 2);
+        when(emailLogRepository.lockDueEmails(any(), anyInt())).thenReturn(List.of(emailLog));
+        when(emailService.sendQueuedEmail(emailLog))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("smtp down")));
+
+        // When
+        worker.drain();
+
+        // Then
+        verify(emailLogRepository).markFailed(eq(3), eq(EmailStatus.FAILED.name()), any(), anyString());
+    }
+
+    @Test
+    void drain_WhenNothingIsDue_ShouldNotMarkAnything() {
+        // Given
+        when(emailLogRepository.lockDueEmails(any(), anyInt())).thenReturn(List.of());
+
+        // When
+        worker.drain();
+
+        // Then
+        verify(emailLogRepository, never()).markSending(any(), any());
+        verifyNoInteractions(emailService);
+    }
+
+    @Test
+    void wakeUp_ShouldDrainOnSchedulerAndCoalesceRepeatedCalls() {
+        // Given
+        when(emailLogRepository.lockDueEmails(any(), anyInt())).thenReturn(List.of());
+        ArgumentCaptor<Runnable> scheduled = ArgumentCaptor.forClass(Runnable.class);
+
+        // When: 커밋 직후 여러 번 깨워도 호출한 스레드에서는 대기열을 조회하지 않음
+        worker.wakeUp();
+        worker.wakeUp();
+
+        // Then
+        verify(taskScheduler, times(1)).schedule(scheduled.capture(), any(Instant.class));
+        verifyNoInteractions(emailLogRepository);
+
+        scheduled.getValue().run();
+        verify(emailLogRepository, times(1)).lockDueEmails(any(), anyInt());
+
+        // 한 번 실행된 뒤에는 다시 깨울 수 있음
+        worker.wakeUp();
+        verify(taskScheduler, times(2)).schedule(any(Runnable.class), any(Instant.class));
+    }
+
+    @Test
+    void backoffMillis_ShouldGrowExponentiallyUpToMax() {
+        // 지터 ±20% 를 감안한 범위 확인
+        assertTrue(worker.backoffMillis(1) >= 800 && worker.backoffMillis(1) <= 1200);
+        assertTrue(worker.backoffMillis(3) >= 3200 && worker.backoffMillis(3) <= 4800);
+        assertTrue(worker.backoffMillis(30) <= 72000);
+    }
+
+    private EmailLog emailLog(int id, int attempts) {
+        return EmailLog.builder()
+                .emailLogId(id)
+                .userId(UUID.randomUUID())
+                .recipientEmail("user@test.com")
+                .selectedNpc("여우")
+                .status(EmailStatus.SENDING)
+                .attempts(attempts)
+                .build();
+    }
+}
@@ -0,0 +1,106 @@
+package com.b612.rose.utils;
+
+import com.b612.rose.entity.domain.Star;
+import com.b612.rose.entity.domain.User;
+import com.b612.rose.entity.enums.PurifiedType;
+import com.b612.rose.entity.enums.StarType;
+import com.b612.rose.exception.BusinessException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class EmailTemplateManagerTest {
+
+    @Mock
+    private ContentCatalog contentCatalog;
+
+    private EmailTemplateManager emailTemplateManager;
+
+    @BeforeEach
+    void setUp() {
+        when(contentCatalog.current()).thenReturn(snapshot(1));
+        emailTemplateManager = new EmailTemplateManager(contentCatalog, new DefaultResourceLoader());
+        emailTemplateManager.init();
+    }
+
+    @Test
+    void getPrototype_ShouldUseStarFromSnapshotAndReuseAcrossCalls() {
+        // When
+        EmailMessagePrototype first = emailTemplateManager.getPrototype("여우");
+        EmailMessagePrototype second = emailTemplateManager.getPrototype("여우");
+
+        // Then
+        assertSame(first, second);
+        assertEquals("prettycutyfox@b612.rose.com", first.getSenderEmail());
+        assertEquals("여우의 선물 - 깨달음의 별", first.getSubject());
+        assertEquals(List.of("starImage", "characterImage"),
+                first.getInlineImages().stream().map(InlineImage::getContentId).toList());
+
+        User user = User.builder().userName("<장미>").build();
+        String content = first.renderContent(user);
+        assertTrue(content.contains("&lt;장미&gt;"));
+        assertFalse(content.contains("{{userName}}"));
+    }
+
+    @Test
+    void init_ShouldBuildPrototypesWithoutCheckingSnapshotOnEachCall() {
+        // Given
+        clearInvocations(contentCatalog);
+
+        // When
+        emailTemplateManager.getPrototype("여우");
+        emailTemplateManager.getPrototype("장미");
+
+        // Then
+        verify(contentCatalog, never()).current();
+    }
+
+    @Test
+    void onContentSwap_ShouldRebuildPrototypes() {
+        // Given
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Consumer<ContentSnapshot>> listener = ArgumentCaptor.forClass(Consumer.class);
+        verify(contentCatalog).addSwapListener(listener.capture());
+        EmailMessagePrototype before = emailTemplateManager.getPrototype("여우");
+
+        // When
+        listener.getValue().accept(snapshot(2));
+        EmailMessagePrototype after = emailTemplateManager.getPrototype("여우");
+
+        // Then
+        assertNotSame(before, after);
+        assertSame(after, emailTemplateManager.getPrototype("여우"));
+    }
+
+    @Test
+    void getPrototype_WithUnknownNpc_ShouldThrowStarNotFound() {
+        // When & Then
+        assertThrows(BusinessException.class, () -> emailTemplateManager.getPrototype("모르는 npc"));
+    }
+
+    private ContentSnapshot snapshot(long version) {
+        return ContentSnapshot.build(version,
+                Collections.emptyList(),
+                List.of(
+                        Star.builder().starId(1).starType(StarType.PRIDE).purifiedType(PurifiedType.PURITY).build(),
+                        Star.builder().starId(2).starType(StarType.ENVY).purifiedType(PurifiedType.LOVE).build(),
+                        Star.builder().starId(3).starType(StarType.LONELY).purifiedType(PurifiedType.PATIENCE).build(),
+                        Star.builder().starId(4).starType(StarType.SAD).purifiedType(PurifiedType.ENLIGHTENMENT).build()),
+                Collections.emptyList(),
+                Collections.emptyList(),
+                Collections.emptyList(),
+                Collections.emptyList());
+    }
+}
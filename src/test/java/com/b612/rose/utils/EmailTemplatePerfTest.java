@@ -0,0 +1,68 @@
+package com.b612.rose.utils;
+
+import com.b612.rose.PerfReport;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 완료 메일 본문 렌더링 처리량 비교
+// 기존 방식(보낼 때마다 템플릿 읽기 + String.replace 세 번) / 읽어 둔 원문에 replace / 미리 쪼갠 템플릿 + 버퍼 재사용
+@Tag(PerfReport.TAG)
+public class EmailTemplatePerfTest {
+
+    private static final int WARMUP = 20_000;
+    private static final int ITERATIONS = 200_000;
+
+    private static final String USER_NAME = "<어린 왕자>";
+    private static final String PURIFIED_TYPE = "깨달음";
+    private static final String CONCERN = "요즘 잠을 잘 못 자요 & 걱정이 많아요";
+
+    @Test
+    void render_CompiledTemplateThroughput() {
+        // Given
+        Resource resource = new ClassPathResource("templates/emails/fox-email.html");
+        String source = read(resource);
+        EmailTemplate template = EmailTemplate.compile(source);
+        StringBuilder buffer = new StringBuilder(source.length() + 256);
+        int[] sink = new int[1];
+
+        // When
+        PerfReport.throughput("템플릿 읽기 + replace", WARMUP / 10, ITERATIONS / 10, () ->
+                sink[0] += replace(read(resource)).length());
+        PerfReport.throughput("replace", WARMUP, ITERATIONS, () ->
+                sink[0] += replace(source).length());
+        PerfReport.throughput("미리 쪼갠 템플릿", WARMUP, ITERATIONS, () -> {
+            buffer.setLength(0);
+            template.render(USER_NAME, PURIFIED_TYPE, CONCERN, buffer);
+            sink[0] += buffer.length();
+        });
+
+        // Then: 같은 자리를 채우고 사용자 값은 escape 됨
+        String rendered = template.render(USER_NAME, PURIFIED_TYPE, CONCERN);
+        assertTrue(sink[0] > 0);
+        assertFalse(rendered.contains("{{userName}}"));
+        assertTrue(rendered.contains("&lt;어린 왕자&gt;"));
+    }
+
+    private static String replace(String source) {
+        return source.replace("{{userName}}", USER_NAME)
+                .replace("{{purifiedType}}", PURIFIED_TYPE)
+                .replace("{{concern}}", CONCERN);
+    }
+
+    private static String read(Resource resource) {
+        try (InputStream inputStream = resource.getInputStream()) {
+            return new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.b612.rose.utils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EmailTemplateTest {
+
+    @Test
+    void render_ShouldFillAllPlaceholders() {
+        // Given
+        EmailTemplate template = EmailTemplate.compile(
+                "<p>{{userName}}님, {{purifiedType}}의 별</p><p>{{concern}}</p><p>{{userName}}</p>");
+
+        // When
+        String html = template.render("장미", "사랑", "고민");
+
+        // Then
+        assertEquals("<p>장미님, 사랑의 별</p><p>고민</p><p>장미</p>", html);
+        assertEquals(4, template.fieldCount());
+    }
+
+    @Test
+    void render_ShouldEscapeUserInput() {
+        // Given
+        EmailTemplate template = EmailTemplate.compile("<h2>{{userName}}</h2><p>{{concern}}</p>");
+
+        // When
+        String html = template.render("<b>여우</b>", "슬픔", "a & 'b' \"c\"");
+
+        // Then
+        assertEquals("<h2>&lt;b&gt;여우&lt;/b&gt;</h2><p>a &amp; &#39;b&#39; &quot;c&quot;</p>", html);
+    }
+
+    @Test
+    void render_WithNullValue_ShouldRenderEmpty() {
+        // Given
+        EmailTemplate template = EmailTemplate.compile("<p>{{concern}}</p>");
+
+        // When & Then
+        assertEquals("<p></p>", template.render("바오밥", "외로움", null));
+    }
+
+    @Test
+    void compile_WithUnknownPlaceholder_ShouldKeepItLiteral() {
+        // Given
+        EmailTemplate template = EmailTemplate.compile("{{unknown}} {{ {{userName}}");
+
+        // When
+        String html = template.render("어린왕자", "자존심", null);
+
+        // Then
+        assertEquals("{{unknown}} {{ 어린왕자", html);
+        assertEquals(1, template.fieldCount());
+    }
+
+    @Test
+    void render_IntoSharedBuffer_ShouldAppend() {
+        // Given
+        EmailTemplate template = EmailTemplate.compile("[{{userName}}]");
+        StringBuilder buffer = new StringBuilder("prefix");
+
+        // When
+        template.render("여우", null, null, buffer);
+
+        // Then
+        assertEquals("prefix[여우]", buffer.toString());
+    }
+}
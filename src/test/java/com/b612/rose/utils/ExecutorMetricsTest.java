@@ -0,0 +1,205 @@
+package com.b612.rose.utils;
+
+import com.b612.rose.dto.response.ExecutorStatsResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ExecutorMetricsTest {
+
+    private ThreadPoolExecutor pool;
+
+    @AfterEach
+    void tearDown() {
+        if (pool != null) {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void decorate_ShouldCountCompletedAndFailedWithRunTime() {
+        // Given
+        ExecutorMetrics metrics = new ExecutorMetrics("test", "pool", 1);
+
+        // When
+        metrics.decorate(() -> sleep(20)).run();
+        Runnable failing = metrics.decorate(() -> {
+            throw new IllegalStateException("fail");
+        });
+        assertThrows(IllegalStateException.class, failing::run);
+
+        // Then
+        ExecutorStatsResponse stats = metrics.stats();
+        assertEquals(2, stats.getSubmittedCount());
+        assertEquals(1, stats.getCompletedCount());
+        assertEquals(1, stats.getFailedCount());
+        assertEquals(0, stats.getQueuedCount());
+        assertEquals(0, stats.getActiveCount());
+        assertEquals(1, stats.getAvailablePermits());
+        assertTrue(stats.getMaxRunMillis() >= 20);
+    }
+
+    @Test
+    void decorate_ShouldMeasureWaitFromSubmission() {
+        // Given
+        ExecutorMetrics metrics = new ExecutorMetrics("test", "pool", 0);
+        Runnable task = metrics.decorate(() -> { });
+
+        // When: 제출 후 늦게 시작
+        assertEquals(1, metrics.stats().getQueuedCount());
+        sleep(20);
+        task.run();
+
+        // Then
+        ExecutorStatsResponse stats = metrics.stats();
+        assertEquals(0, stats.getQueuedCount());
+        assertTrue(stats.getMaxWaitMillis() >= 20);
+        assertEquals(-1, stats.getAvailablePermits());
+    }
+
+    @Test
+    void limiting_ShouldTakePermitBeforeHandingToDelegate() {
+        // Given: 넘겨받기만 하고 실행하지 않는 delegate
+        ExecutorMetrics metrics = new ExecutorMetrics("test", "pool", 1);
+        List<Runnable> submitted = new ArrayList<>();
+        Executor executor = metrics.limiting(submitted::add);
+
+        // When
+        executor.execute(() -> { });
+
+        // Then: 워커가 시작하기 전에 이미 permit 을 잡고 있음
+        assertEquals(0, metrics.stats().getAvailablePermits());
+
+        // When
+        submitted.remove(0).run();
+
+        // Then
+        assertEquals(1, metrics.stats().getAvailablePermits());
+    }
+
+    @Test
+    void limiting_WhenDelegateRejects_ShouldReleasePermit() {
+        // Given
+        ExecutorMetrics metrics = new ExecutorMetrics("test", "pool", 1);
+        Executor executor = metrics.limiting(task -> {
+            throw new RejectedExecutionException("full");
+        });
+
+        // When & Then
+        assertThrows(RejectedExecutionException.class, () -> executor.execute(() -> { }));
+        assertEquals(1, metrics.stats().getAvailablePermits());
+    }
+
+    @Test
+    void limiting_WhenRunningTaskSubmitsNext_ShouldNotWaitWhileHoldingPermit() throws InterruptedException {
+        // Given: permit 하나, 실행 중인 작업이 다음 작업을 올림 (사용자 lane 이 이어서 올라가는 경우)
+        ExecutorMetrics metrics = new ExecutorMetrics("test", "pool", 1);
+        pool = new ThreadPoolExecutor(2, 2, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>());
+        Executor executor = metrics.limiting(pool);
+        CountDownLatch done = new CountDownLatch(1);
+
+        // When
+        executor.execute(() -> executor.execute(done::countDown));
+
+        // Then
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(5, TimeUnit.SECONDS));
+        assertEquals(1, metrics.stats().getAvailablePermits());
+    }
+
+    @Test
+    void countingRejections_WithCallerRuns_ShouldRunOnCallerAndNotCountAsRejected() throws InterruptedException {
+        // Given
+        ExecutorMetrics metrics = new ExecutorMetrics("test", "pool", 0);
+        CountDownLatch release = new CountDownLatch(1);
+        pool = busyPool(metrics, new ThreadPoolExecutor.CallerRunsPolicy(), release);
+        AtomicReference<Thread> ranOn = new AtomicReference<>();
+
+        // When
+        pool.execute(metrics.decorate(() -> ranOn.set(Thread.currentThread())));
+
+        // Then
+        assertSame(Thread.currentThread(), ranOn.get());
+        ExecutorStatsResponse stats = metrics.stats();
+        assertEquals(1, stats.getCallerRunsCount());
+        assertEquals(0, stats.getRejectedCount());
+        assertEquals(0, stats.getQueuedCount());
+        release.countDown();
+    }
+
+    @Test
+    void countingRejections_WithAbort_ShouldCountRejectedAndNotLeaveQueued() throws InterruptedException {
+        // Given
+        ExecutorMetrics metrics = new ExecutorMetrics("test", "pool", 0);
+        CountDownLatch release = new CountDownLatch(1);
+        pool = busyPool(metrics, new ThreadPoolExecutor.AbortPolicy(), release);
+
+        // When
+        assertThrows(RejectedExecutionException.class, () -> pool.execute(metrics.decorate(() -> { })));
+
+        // Then
+        ExecutorStatsResponse stats = metrics.stats();
+        assertEquals(1, stats.getRejectedCount());
+        assertEquals(0, stats.getCallerRunsCount());
+        assertEquals(0, stats.getQueuedCount());
+        release.countDown();
+    }
+
+    @Test
+    void countingRejections_WithCallerRunsAfterShutdown_ShouldCountRejected() {
+        // Given: 종료된 실행기는 CallerRunsPolicy 도 작업을 버림
+        ExecutorMetrics metrics = new ExecutorMetrics("test", "pool", 0);
+        pool = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new SynchronousQueue<>(),
+                metrics.countingRejections(new ThreadPoolExecutor.CallerRunsPolicy()));
+        pool.shutdown();
+
+        // When
+        pool.execute(metrics.decorate(() -> fail("종료된 실행기에서 실행되면 안 됨")));
+
+        // Then
+        ExecutorStatsResponse stats = metrics.stats();
+        assertEquals(1, stats.getRejectedCount());
+        assertEquals(0, stats.getCallerRunsCount());
+        assertEquals(0, stats.getQueuedCount());
+    }
+
+    // 스레드 하나가 release 까지 잡혀 있고 대기열이 없는 실행기, 다음 제출은 바로 거절 처리됨
+    private ThreadPoolExecutor busyPool(ExecutorMetrics metrics, RejectedExecutionHandler handler,
+                                       CountDownLatch release) throws InterruptedException {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new SynchronousQueue<>(),
+                metrics.countingRejections(handler));
+        CountDownLatch started = new CountDownLatch(1);
+        executor.execute(metrics.decorate(() -> {
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        return executor;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
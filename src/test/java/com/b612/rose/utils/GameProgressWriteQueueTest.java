@@ -0,0 +1,209 @@
+package com.b612.rose.utils;
+
+import com.b612.rose.entity.enums.GameStage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+public class GameProgressWriteQueueTest {
+
+    @TempDir
+    Path tempDir;
+
+    private GameStateWriter gameStateWriter;
+    private ProgressJournal progressJournal;
+    private GameProgressWriteQueue writeQueue;
+
+    @BeforeEach
+    void setUp() {
+        gameStateWriter = mock(GameStateWriter.class);
+        progressJournal = new ProgressJournal(true, tempDir.resolve("progress.journal").toString(), false, 1024 * 1024);
+        writeQueue = new GameProgressWriteQueue(gameStateWriter, progressJournal, mock(ProgressEventRecorder.class));
+        ReflectionTestUtils.setField(writeQueue, "maxBatchSize", 100);
+        ReflectionTestUtils.setField(writeQueue, "maxPending", 5000);
+        ReflectionTestUtils.setField(writeQueue, "maxAttempts", 3);
+        ReflectionTestUtils.setField(writeQueue, "retryBackoffBaseMs", 0L);
+        ReflectionTestUtils.setField(writeQueue, "retryBackoffMaxMs", 0L);
+        ReflectionTestUtils.setField(writeQueue, "shutdownTimeoutMs", 50L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void flushUserInCurrentTransaction_BeforeCommit_ShouldKeepJournalRecord() throws IOException {
+        // Given
+        UUID userId = UUID.randomUUID();
+        writeQueue.enqueueStage(userId, GameStage.GAME_COMPLETE);
+        TransactionSynchronizationManager.initSynchronization();
+
+        // When: 트랜잭션이 끝나기 전에 다른 스레드의 flush 가 돎
+        writeQueue.flushUserInCurrentTransaction(userId);
+        writeQueue.flush();
+
+        // Then
+        assertNull(writeQueue.getPending(userId));
+        assertEquals(ProgressJournal.RECORD_SIZE, Files.size(progressJournal.getPath()));
+
+        // When: 커밋
+        completeTransaction(TransactionSynchronization.STATUS_COMMITTED);
+        writeQueue.flush();
+
+        // Then
+        assertEquals(0, Files.size(progressJournal.getPath()));
+    }
+
+    @Test
+    void flushUserInCurrentTransaction_OnRollback_ShouldRequeueAndRejournal() throws IOException {
+        // Given
+        UUID userId = UUID.randomUUID();
+        writeQueue.enqueueStage(userId, GameStage.GAME_COMPLETE);
+        TransactionSynchronizationManager.initSynchronization();
+        writeQueue.flushUserInCurrentTransaction(userId);
+
+        // When
+        completeTransaction(TransactionSynchronization.STATUS_ROLLED_BACK);
+        doThrow(new DataAccessResourceFailureException("connection refused"))
+                .when(gameStateWriter).writeBatch(anyList());
+        writeQueue.flush();
+
+        // Then
+        assertEquals(GameStage.GAME_COMPLETE, writeQueue.getPending(userId).getStage());
+        assertEquals(2L * ProgressJournal.RECORD_SIZE, Files.size(progressJournal.getPath()));
+    }
+
+    @Test
+    void flushUserInCurrentTransaction_ShouldNotifyPersistedOnlyAfterCommit() {
+        // Given
+        UUID userId = UUID.randomUUID();
+        List<PendingProgress> persisted = new ArrayList<>();
+        writeQueue.addPersistedListener(persisted::add);
+        writeQueue.enqueueStage(userId, GameStage.GAME_COMPLETE);
+        TransactionSynchronizationManager.initSynchronization();
+
+        // When
+        writeQueue.flushUserInCurrentTransaction(userId);
+
+        // Then: 커밋 전에는 알리지 않음
+        assertTrue(persisted.isEmpty());
+
+        // When
+        completeTransaction(TransactionSynchronization.STATUS_COMMITTED);
+
+        // Then
+        assertEquals(1, persisted.size());
+        assertEquals(GameStage.GAME_COMPLETE, persisted.get(0).getStage());
+    }
+
+    @Test
+    void flush_WhenBatchFails_ShouldNotNotifyPersisted() {
+        // Given
+        List<PendingProgress> persisted = new ArrayList<>();
+        writeQueue.addPersistedListener(persisted::add);
+        doThrow(new DataAccessResourceFailureException("connection refused"))
+                .when(gameStateWriter).writeBatch(anyList());
+        writeQueue.enqueueStage(UUID.randomUUID(), GameStage.COLLECT_ENVY);
+
+        // When
+        writeQueue.flush();
+
+        // Then
+        assertTrue(persisted.isEmpty());
+
+        // When: db 가 돌아옴
+        doNothing().when(gameStateWriter).writeBatch(anyList());
+        writeQueue.flush();
+
+        // Then
+        assertEquals(1, persisted.size());
+    }
+
+    @Test
+    void flush_DuringDbOutage_ShouldKeepRetryingAndNeverTruncateJournal() throws IOException {
+        // Given: db 가 계속 내려가 있음
+        UUID userId = UUID.randomUUID();
+        doThrow(new DataAccessResourceFailureException("connection refused"))
+                .when(gameStateWriter).writeBatch(anyList());
+        writeQueue.enqueueStage(userId, GameStage.COLLECT_ENVY);
+
+        // When: max-attempts 보다 훨씬 많이 실패
+        for (int i = 0; i < 10; i++) {
+            writeQueue.flush();
+        }
+
+        // Then
+        assertNotNull(writeQueue.getPending(userId));
+        assertEquals(0, writeQueue.getPending(userId).getAttempts());
+        assertEquals(ProgressJournal.RECORD_SIZE, Files.size(progressJournal.getPath()));
+        assertEquals(0, writeQueue.stats().getDeadLetteredCount());
+
+        // When: db 가 돌아옴
+        doNothing().when(gameStateWriter).writeBatch(anyList());
+        writeQueue.flush();
+
+        // Then
+        assertNull(writeQueue.getPending(userId));
+        assertEquals(0, Files.size(progressJournal.getPath()));
+    }
+
+    @Test
+    void flushOnShutdown_DuringDbOutage_ShouldLeaveEntriesInJournal() throws IOException {
+        // Given
+        doThrow(new DataAccessResourceFailureException("connection refused"))
+                .when(gameStateWriter).writeBatch(anyList());
+        writeQueue.enqueueStage(UUID.randomUUID(), GameStage.COLLECT_ENVY);
+
+        // When
+        writeQueue.flushOnShutdown();
+
+        // Then: 다음 시작 때 다시 반영할 수 있도록 남김
+        assertEquals(1, writeQueue.stats().getPendingCount());
+        assertEquals(ProgressJournal.RECORD_SIZE, Files.size(progressJournal.getPath()));
+    }
+
+    @Test
+    void flush_WithPermanentFailure_ShouldDeadLetterAfterMaxAttempts() throws IOException {
+        // Given
+        UUID userId = UUID.randomUUID();
+        doThrow(new DataIntegrityViolationException("fk violation"))
+                .when(gameStateWriter).writeBatch(anyList());
+        writeQueue.enqueueStage(userId, GameStage.COLLECT_ENVY);
+
+        // When
+        for (int i = 0; i < 3; i++) {
+            writeQueue.flush();
+        }
+
+        // Then: 큐에서는 빠지지만 .dead 파일에 남음
+        assertNull(writeQueue.getPending(userId));
+        assertEquals(1, writeQueue.stats().getDeadLetteredCount());
+        assertEquals(ProgressJournal.RECORD_SIZE, Files.size(progressJournal.getDeadLetterPath()));
+        assertEquals(0, Files.size(progressJournal.getPath()));
+    }
+
+    private void completeTransaction(int status) {
+        TransactionSynchronizationManager.getSynchronizations().forEach(sync -> sync.afterCompletion(status));
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+}
@@ -0,0 +1,83 @@
+package com.b612.rose.utils;
+
+import com.b612.rose.entity.enums.GameStage;
+import com.b612.rose.entity.enums.StarType;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GameStateCacheTest {
+
+    @Test
+    void withStar_ShouldSetOnlyTargetBitsAndKeepStage() {
+        // Given
+        GameStateCache state = GameStateCache.ofStage(GameStage.COLLECT_ENVY);
+
+        // When
+        GameStateCache updated = state.withStar(StarType.ENVY, true, false)
+                .withStar(StarType.PRIDE, true, true);
+
+        // Then
+        assertEquals(GameStage.COLLECT_ENVY, updated.getCurrentStage());
+        assertTrue(updated.isCollected(StarType.ENVY));
+        assertFalse(updated.isDelivered(StarType.ENVY));
+        assertTrue(updated.isCollected(StarType.PRIDE));
+        assertTrue(updated.isDelivered(StarType.PRIDE));
+        assertFalse(updated.isCollected(StarType.SAD));
+        assertFalse(updated.isAllCollectedAndDelivered());
+    }
+
+    @Test
+    void of_ShouldReturnSharedInstanceForSameState() {
+        // Given
+        GameStateCache initial = GameStateCache.createInitial();
+
+        // When
+        GameStateCache staged = initial.withStage(GameStage.GAME_COMPLETE).withStage(GameStage.INTRO);
+
+        // Then
+        assertSame(initial, staged);
+    }
+
+    @Test
+    void isAllCollectedAndDelivered_WithEveryStar_ShouldBeTrue() {
+        // Given
+        GameStateCache state = GameStateCache.createInitial();
+
+        // When
+        for (StarType starType : StarType.values()) {
+            state = state.withStar(starType, true, true);
+        }
+
+        // Then
+        assertTrue(state.isAllCollectedAndDelivered());
+        assertEquals(GameStage.INTRO, state.getCurrentStage());
+    }
+
+    @Test
+    void withStar_DeliveredWithoutCollected_ShouldNotSetDelivered() {
+        // Given
+        GameStateCache state = GameStateCache.ofStage(GameStage.COLLECT_ENVY);
+
+        // When: 수집하지 않은 별을 전달, 이후 수집
+        GameStateCache delivered = state.withStar(StarType.ENVY, false, true);
+        GameStateCache collected = delivered.withStar(StarType.ENVY, true, false);
+
+        // Then
+        assertFalse(delivered.isCollected(StarType.ENVY));
+        assertFalse(delivered.isDelivered(StarType.ENVY));
+        assertTrue(collected.isCollected(StarType.ENVY));
+        assertFalse(collected.isDelivered(StarType.ENVY));
+    }
+
+    @Test
+    void advanceStage_ShouldNotMoveBackward() {
+        // Given
+        GameStateCache state = GameStateCache.ofStage(GameStage.DELIVER_SAD);
+
+        // When & Then
+        assertSame(state, state.advanceStage(GameStage.COLLECT_ENVY));
+        assertSame(state, state.advanceStage(GameStage.DELIVER_SAD));
+        assertEquals(GameStage.GAME_COMPLETE, state.advanceStage(GameStage.GAME_COMPLETE).getCurrentStage());
+    }
+}
@@ -0,0 +1,191 @@
+package com.b612.rose.utils;
+
+import com.b612.rose.entity.domain.IdempotencyRecord;
+import com.b612.rose.entity.enums.GameStage;
+import com.b612.rose.exception.BusinessException;
+import com.b612.rose.repository.IdempotencyRecordRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class IdempotencyStoreTest {
+
+    @Mock
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private IdempotencyStore idempotencyStore;
+
+    @BeforeEach
+    void setUp() {
+        idempotencyStore = new IdempotencyStore(idempotencyRecordRepository, transactionTemplate);
+        ReflectionTestUtils.setField(idempotencyStore, "maxEntries", 100);
+        ReflectionTestUtils.setField(idempotencyStore, "ttlMillis", 60000L);
+    }
+
+    @Test
+    void execute_WithSameKey_ShouldRunHandlerOnceAndReplayResult() {
+        // Given
+        UUID userId = UUID.randomUUID();
+        AtomicInteger calls = new AtomicInteger();
+        when(idempotencyRecordRepository.findById(anyString())).thenReturn(Optional.empty());
+        when(idempotencyRecordRepository.insertIfAbsent(any(), any(), any(), any())).thenReturn(1);
+
+        // When
+        GameStage first = idempotencyStore.execute(userId, "collect:ENVY", "key-1", () -> {
+            calls.incrementAndGet();
+            return GameStage.COLLECT_ENVY;
+        });
+        GameStage retried = idempotencyStore.execute(userId, "collect:ENVY", "key-1", () -> {
+            calls.incrementAndGet();
+            return GameStage.DELIVER_ENVY;
+        });
+
+        // Then
+        assertEquals(1, calls.get());
+        assertEquals(GameStage.COLLECT_ENVY, first);
+        assertEquals(GameStage.COLLECT_ENVY, retried);
+        verify(idempotencyRecordRepository, times(1)).findById(anyString());
+        verify(idempotencyRecordRepository, times(1))
+                .insertIfAbsent(userId + ":collect:ENVY:key-1", userId, "collect:ENVY", "COLLECT_ENVY");
+    }
+
+    @Test
+    void execute_WhenRecordedInDatabase_ShouldNotRunHandler() {
+        // Given: 다른 서버에서 처리한 요청의 재시도
+        UUID userId = UUID.randomUUID();
+        when(idempotencyRecordRepository.findById(userId + ":deliver:SAD:key-2")).thenReturn(Optional.of(
+                IdempotencyRecord.builder()
+                        .idempotencyId(userId + ":deliver:SAD:key-2")
+                        .userId(userId)
+                        .action("deliver:SAD")
+                        .resultStage(GameStage.DELIVER_SAD)
+                        .createdAt(LocalDateTime.now())
+                        .build()));
+
+        // When
+        GameStage result = idempotencyStore.execute(userId, "deliver:SAD", "key-2", () -> {
+            fail("기록된 요청은 다시 처리하지 않아야 함");
+            return null;
+        });
+
+        // Then
+        assertEquals(GameStage.DELIVER_SAD, result);
+        verify(idempotencyRecordRepository, never()).insertIfAbsent(any(), any(), any(), any());
+    }
+
+    @Test
+    void execute_WhenRecordedByOtherServerFirst_ShouldReturnRecordedResult() {
+        // Given: 같은 키의 재시도가 다른 서버에서 먼저 기록됨
+        UUID userId = UUID.randomUUID();
+        String id = userId + ":collect:ENVY:key-5";
+        when(idempotencyRecordRepository.findById(id))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(IdempotencyRecord.builder()
+                        .idempotencyId(id)
+                        .userId(userId)
+                        .action("collect:ENVY")
+                        .resultStage(GameStage.COLLECT_ENVY)
+                        .createdAt(LocalDateTime.now())
+                        .build()));
+        when(idempotencyRecordRepository.insertIfAbsent(any(), any(), any(), any())).thenReturn(0);
+
+        // When
+        GameStage result = idempotencyStore.execute(userId, "collect:ENVY", "key-5", () -> GameStage.DELIVER_ENVY);
+
+        // Then
+        assertEquals(GameStage.COLLECT_ENVY, result);
+    }
+
+    @Test
+    void execute_WithoutKey_ShouldAlwaysRunHandler() {
+        // Given
+        AtomicInteger calls = new AtomicInteger();
+
+        // When
+        idempotencyStore.execute(UUID.randomUUID(), "collect:PRIDE", null, () -> {
+            calls.incrementAndGet();
+            return GameStage.COLLECT_PRIDE;
+        });
+        idempotencyStore.execute(UUID.randomUUID(), "collect:PRIDE", " ", () -> {
+            calls.incrementAndGet();
+            return GameStage.COLLECT_PRIDE;
+        });
+
+        // Then
+        assertEquals(2, calls.get());
+        verifyNoInteractions(idempotencyRecordRepository);
+    }
+
+    @Test
+    void execute_WhenHandlerFails_ShouldNotRecordAndAllowRetry() {
+        // Given
+        UUID userId = UUID.randomUUID();
+        when(idempotencyRecordRepository.findById(anyString())).thenReturn(Optional.empty());
+
+        // When
+        assertThrows(IllegalStateException.class, () -> idempotencyStore.execute(userId, "collect:LONELY", "key-3",
+                () -> {
+                    throw new IllegalStateException("fail");
+                }));
+        GameStage retried = idempotencyStore.execute(userId, "collect:LONELY", "key-3",
+                () -> GameStage.COLLECT_LONELY);
+
+        // Then
+        assertEquals(GameStage.COLLECT_LONELY, retried);
+        verify(idempotencyRecordRepository, times(1)).insertIfAbsent(any(), any(), any(), any());
+    }
+
+    @Test
+    void execute_WhenRecordFails_ShouldNotRememberResult() {
+        // Given: 결과 기록이 요청 트랜잭션 안에서 실패
+        UUID userId = UUID.randomUUID();
+        AtomicInteger calls = new AtomicInteger();
+        when(idempotencyRecordRepository.findById(anyString())).thenReturn(Optional.empty());
+        when(idempotencyRecordRepository.insertIfAbsent(any(), any(), any(), any()))
+                .thenThrow(new IllegalStateException("db down"))
+                .thenReturn(1);
+
+        // When
+        assertThrows(IllegalStateException.class, () -> idempotencyStore.execute(userId, "deliver:ENVY", "key-4",
+                () -> {
+                    calls.incrementAndGet();
+                    return GameStage.DELIVER_ENVY;
+                }));
+        GameStage retried = idempotencyStore.execute(userId, "deliver:ENVY", "key-4", () -> {
+            calls.incrementAndGet();
+            return GameStage.DELIVER_ENVY;
+        });
+
+        // Then
+        assertEquals(GameStage.DELIVER_ENVY, retried);
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void execute_WithTooLongKey_ShouldThrow() {
+        // Given
+        String key = "k".repeat(IdempotencyStore.MAX_KEY_LENGTH + 1);
+
+        // When & Then
+        assertThrows(BusinessException.class, () ->
+                idempotencyStore.execute(UUID.randomUUID(), "collect:PRIDE", key, () -> GameStage.COLLECT_PRIDE));
+    }
+}
@@ -0,0 +1,80 @@
+package com.b612.rose.utils;
+
+import jakarta.mail.BodyPart;
+import jakarta.mail.Part;
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeMessage;
+import jakarta.mail.internet.MimeMultipart;
+import org.junit.jupiter.api.Test;
+import org.springframework.mail.javamail.MimeMessageHelper;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InlineImageTest {
+
+    @Test
+    void toBodyPart_ShouldRoundTripThroughSerializedMessage() throws Exception {
+        // Given
+        byte[] bytes = new byte[300];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) i;
+        }
+        InlineImage image = InlineImage.of("starImage", "image/png", bytes);
+        Session session = Session.getInstance(new Properties());
+
+        // When: 같은 이미지로 메일 두 통 작성
+        MimeMessage first = message(session, image);
+        MimeMessage second = message(session, image);
+
+        // Then
+        for (MimeMessage message : new MimeMessage[]{first, second}) {
+            BodyPart part = findPart(reparse(session, message), "<starImage>");
+            assertNotNull(part);
+            assertEquals(Part.INLINE, part.getDisposition());
+            assertTrue(part.getContentType().startsWith("image/png"));
+            try (InputStream inputStream = part.getInputStream()) {
+                assertArrayEquals(bytes, inputStream.readAllBytes());
+            }
+        }
+    }
+
+    private MimeMessage message(Session session, InlineImage image) throws Exception {
+        MimeMessage message = new MimeMessage(session);
+        MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
+        helper.setFrom("fox@b612.rose.com");
+        helper.setTo("user@test.com");
+        helper.setSubject("test");
+        helper.setText("<img src=\"cid:starImage\">", true);
+        helper.getMimeMultipart().addBodyPart(image.toBodyPart());
+        message.saveChanges();
+        return message;
+    }
+
+    private MimeMessage reparse(Session session, MimeMessage message) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        message.writeTo(out);
+        return new MimeMessage(session, new ByteArrayInputStream(out.toByteArray()));
+    }
+
+    private BodyPart findPart(Part part, String contentId) throws Exception {
+        if (part.getContent() instanceof MimeMultipart multipart) {
+            for (int i = 0; i < multipart.getCount(); i++) {
+                BodyPart child = multipart.getBodyPart(i);
+                String[] ids = child.getHeader("Content-ID");
+                if (ids != null && contentId.equals(ids[0])) {
+                    return child;
+                }
+                BodyPart nested = findPart(child, contentId);
+                if (nested != null) {
+                    return nested;
+                }
+            }
+        }
+        return null;
+    }
+}
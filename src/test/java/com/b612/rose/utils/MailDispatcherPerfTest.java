@@ -0,0 +1,76 @@
+package com.b612.rose.utils;
+
+import com.b612.rose.PerfReport;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.javamail.MimeMessageHelper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 로컬 smtp(GreenMail)에 보내면서 메일마다 연결하는 기존 방식과 dispatcher(연결 유지 + 배치)의 처리량 비교
+@Tag(PerfReport.TAG)
+public class MailDispatcherPerfTest {
+
+    private static final int MESSAGES = 300;
+    private static final int CONNECTIONS = 2;
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    @Test
+    void dispatcher_ShouldSendOverPooledConnections() throws Exception {
+        // Given
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("localhost");
+        mailSender.setPort(greenMail.getSmtp().getPort());
+        mailSender.setProtocol("smtp");
+
+        // When: 기존 방식, JavaMailSender.send 가 메일마다 연결을 새로 맺음
+        long start = System.nanoTime();
+        for (int i = 0; i < MESSAGES; i++) {
+            mailSender.send(message(mailSender, i));
+        }
+        PerfReport.report("메일마다 smtp 연결", MESSAGES, System.nanoTime() - start);
+
+        // When: dispatcher, 전송 제한 없이 연결 재사용 + 배치
+        MailDispatcher mailDispatcher = new MailDispatcher(mailSender, CONNECTIONS, 20, 0, 30000, MESSAGES);
+        mailDispatcher.start();
+        try {
+            start = System.nanoTime();
+            List<CompletableFuture<Void>> results = new ArrayList<>(MESSAGES);
+            for (int i = 0; i < MESSAGES; i++) {
+                results.add(mailDispatcher.submit(message(mailSender, i)));
+            }
+            CompletableFuture.allOf(results.toArray(new CompletableFuture[0])).get(60, TimeUnit.SECONDS);
+            PerfReport.report("dispatcher 연결 " + CONNECTIONS + " 개", MESSAGES, System.nanoTime() - start);
+
+            // Then
+            assertEquals(2 * MESSAGES, greenMail.getReceivedMessages().length);
+            assertEquals(MESSAGES, mailDispatcher.stats().getSentCount());
+            assertTrue(mailDispatcher.stats().getConnectCount() <= CONNECTIONS);
+        } finally {
+            mailDispatcher.shutdown();
+        }
+    }
+
+    private MimeMessage message(JavaMailSenderImpl mailSender, int index) throws MessagingException {
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, false, "UTF-8");
+        helper.setFrom("prettycutyfox@b612.rose.com");
+        helper.setTo("user" + index + "@example.com");
+        helper.setSubject("여우의 선물 - 깨달음의 별");
+        helper.setText("<p>안녕하세요</p>", true);
+        return message;
+    }
+}
@@ -0,0 +1,110 @@
+package com.b612.rose.utils;
+
+import jakarta.mail.Address;
+import jakarta.mail.Message;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.InternetAddress;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class MailDispatcherTest {
+
+    private final Session session = Session.getInstance(new Properties());
+    private MailDispatcher dispatcher;
+
+    @AfterEach
+    void tearDown() {
+        if (dispatcher != null) {
+            dispatcher.shutdown();
+        }
+    }
+
+    @Test
+    void submit_ManyMessages_ShouldReuseSingleConnection() throws Exception {
+        // Given
+        Transport transport = mock(Transport.class);
+        when(transport.isConnected()).thenReturn(true);
+        AtomicInteger connects = new AtomicInteger();
+        dispatcher = new MailDispatcher(() -> {
+            connects.incrementAndGet();
+            return transport;
+        }, 1, 20, 0, 30000, 100);
+        dispatcher.start();
+
+        // When
+        List<CompletableFuture<Void>> results = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            results.add(dispatcher.submit(message("user" + i + "@test.com")));
+        }
+        CompletableFuture.allOf(results.toArray(new CompletableFuture[0])).get(5, TimeUnit.SECONDS);
+
+        // Then
+        assertEquals(1, connects.get());
+        verify(transport, times(50)).sendMessage(any(Message.class), any(Address[].class));
+        assertEquals(50, dispatcher.stats().getSentCount());
+        assertTrue(dispatcher.stats().getBatchCount() <= 50);
+    }
+
+    @Test
+    void submit_WhenSendFails_ShouldFailOnlyThatMessageAndReconnect() throws Exception {
+        // Given
+        Transport transport = mock(Transport.class);
+        when(transport.isConnected()).thenReturn(true);
+        doThrow(new MessagingException("connection reset"))
+                .doNothing()
+                .when(transport).sendMessage(any(Message.class), any(Address[].class));
+        AtomicInteger connects = new AtomicInteger();
+        dispatcher = new MailDispatcher(() -> {
+            connects.incrementAndGet();
+            return transport;
+        }, 1, 20, 0, 30000, 100);
+        dispatcher.start();
+
+        // When
+        CompletableFuture<Void> failed = dispatcher.submit(message("first@test.com"));
+        assertThrows(ExecutionException.class, () -> failed.get(5, TimeUnit.SECONDS));
+        dispatcher.submit(message("second@test.com")).get(5, TimeUnit.SECONDS);
+
+        // Then
+        assertEquals(2, connects.get());
+        assertEquals(1, dispatcher.stats().getFailedCount());
+        assertEquals(1, dispatcher.stats().getSentCount());
+    }
+
+    @Test
+    void submit_WhenQueueIsFull_ShouldRejectImmediately() {
+        // Given: 작업 스레드를 시작하지 않아 큐가 비워지지 않음
+        dispatcher = new MailDispatcher(() -> mock(Transport.class), 1, 20, 0, 30000, 1);
+
+        // When
+        CompletableFuture<Void> result = dispatcher.submit(mock(MimeMessage.class));
+
+        // Then
+        assertTrue(result.isCompletedExceptionally());
+        assertEquals(1, dispatcher.stats().getRejectedCount());
+    }
+
+    private MimeMessage message(String to) throws MessagingException {
+        MimeMessage message = new MimeMessage(session);
+        message.setFrom(new InternetAddress("rose@b612.rose.com"));
+        message.setRecipient(Message.RecipientType.TO, new InternetAddress(to));
+        message.setSubject("test");
+        message.setText("body");
+        return message;
+    }
+}
@@ -0,0 +1,159 @@
+package com.b612.rose.utils;
+
+import com.b612.rose.dto.response.ProgressReplayResponse;
+import com.b612.rose.entity.domain.ProgressEvent;
+import com.b612.rose.entity.enums.GameStage;
+import com.b612.rose.entity.enums.ProgressEventType;
+import com.b612.rose.entity.enums.StarType;
+import com.b612.rose.repository.ProgressEventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ProgressEventRecorderTest {
+
+    @Mock
+    private ProgressEventRepository progressEventRepository;
+
+    private ProgressEventRecorder progressEventRecorder;
+
+    @BeforeEach
+    void setUp() {
+        progressEventRecorder = new ProgressEventRecorder(progressEventRepository);
+        ReflectionTestUtils.setField(progressEventRecorder, "enabled", true);
+        ReflectionTestUtils.setField(progressEventRecorder, "maxPending", 100);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flush_ShouldSaveOneEventPerRecordedActionInOrder() {
+        // Given: 같은 사용자의 요청 두 번 (write-behind 에서는 하나로 합쳐지는 변경)
+        UUID userId = UUID.randomUUID();
+        progressEventRecorder.recordStarAction(userId, StarType.ENVY, true, false, GameStage.COLLECT_ENVY);
+        progressEventRecorder.recordStage(userId, GameStage.REQUEST_INPUT);
+
+        // When
+        progressEventRecorder.flush();
+
+        // Then
+        ArgumentCaptor<List<ProgressEvent>> captor = ArgumentCaptor.forClass(List.class);
+        verify(progressEventRepository).saveAll(captor.capture());
+        List<ProgressEvent> saved = captor.getValue();
+        assertEquals(List.of(ProgressEventType.STAR_COLLECTED.getCode(), ProgressEventType.STAGE_CHANGED.getCode(),
+                        ProgressEventType.STAGE_CHANGED.getCode()),
+                saved.stream().map(ProgressEvent::getEventType).toList());
+        assertEquals((short) StarType.ENVY.ordinal(), saved.get(0).getStarType());
+        assertEquals((short) GameStage.REQUEST_INPUT.ordinal(), saved.get(2).getStage());
+
+        // 이미 저장한 이벤트는 다시 저장하지 않음
+        progressEventRecorder.flush();
+        verifyNoMoreInteractions(progressEventRepository);
+    }
+
+    @Test
+    void record_WhenDisabled_ShouldNotSaveAnything() {
+        // Given
+        ReflectionTestUtils.setField(progressEventRecorder, "enabled", false);
+        UUID userId = UUID.randomUUID();
+
+        // When
+        progressEventRecorder.recordStage(userId, GameStage.GAME_START);
+        progressEventRecorder.recordStarAction(userId, StarType.PRIDE, true, true, GameStage.COLLECT_PRIDE);
+        progressEventRecorder.recordGameCompleted(userId);
+        progressEventRecorder.flush();
+
+        // Then
+        verifyNoInteractions(progressEventRepository);
+    }
+
+    @Test
+    void record_WhenBufferFull_ShouldDropNewEvents() {
+        // Given
+        ReflectionTestUtils.setField(progressEventRecorder, "maxPending", 1);
+        UUID userId = UUID.randomUUID();
+
+        // When
+        progressEventRecorder.recordStage(userId, GameStage.GAME_START);
+        progressEventRecorder.recordStage(userId, GameStage.COLLECT_PRIDE);
+
+        // Then
+        assertEquals(1, progressEventRecorder.getDroppedCount());
+    }
+
+    @Test
+    void flush_WhenSaveFails_ShouldCountDroppedAndNotThrow() {
+        // Given
+        progressEventRecorder.recordStage(UUID.randomUUID(), GameStage.GAME_START);
+        when(progressEventRepository.saveAll(anyList())).thenThrow(new IllegalStateException("db down"));
+
+        // When
+        progressEventRecorder.flush();
+
+        // Then
+        assertEquals(1, progressEventRecorder.getDroppedCount());
+    }
+
+    @Test
+    void replay_ShouldApplyEventsWithSameRulesAsState() {
+        // Given: 늦게 도착한 이전 스테이지, 수집 전에 도착한 전달
+        UUID userId = UUID.randomUUID();
+        List<ProgressEvent> events = new ArrayList<>();
+        events.add(event(userId, ProgressEventType.STAR_DELIVERED, -1, StarType.ENVY.ordinal()));
+        events.add(event(userId, ProgressEventType.STAR_COLLECTED, -1, StarType.PRIDE.ordinal()));
+        events.add(event(userId, ProgressEventType.STAR_DELIVERED, -1, StarType.PRIDE.ordinal()));
+        events.add(event(userId, ProgressEventType.STAGE_CHANGED, GameStage.COLLECT_ENVY.ordinal(), -1));
+        events.add(event(userId, ProgressEventType.STAGE_CHANGED, GameStage.COLLECT_PRIDE.ordinal(), -1));
+        when(progressEventRepository.findAllByUserIdOrderByEventIdAsc(userId)).thenReturn(events);
+
+        // When
+        ProgressReplayResponse response = progressEventRecorder.replay(userId);
+
+        // Then
+        int prideBit = GameStateCache.bitOf(StarType.PRIDE);
+        assertEquals(GameStage.COLLECT_ENVY, response.getCurrentStage());
+        assertEquals(prideBit, response.getCollectedMask());
+        assertEquals(prideBit, response.getDeliveredMask());
+        assertFalse(response.isCompleted());
+        assertEquals(5, response.getEventCount());
+    }
+
+    @Test
+    void replay_WithGameCompleted_ShouldEndAtGameComplete() {
+        // Given: 완료 이벤트가 앞선 스테이지 이벤트보다 먼저 저장된 경우
+        UUID userId = UUID.randomUUID();
+        when(progressEventRepository.findAllByUserIdOrderByEventIdAsc(userId)).thenReturn(List.of(
+                event(userId, ProgressEventType.GAME_COMPLETED, GameStage.GAME_COMPLETE.ordinal(), -1),
+                event(userId, ProgressEventType.STAGE_CHANGED, GameStage.NPC_SELECTION.ordinal(), -1)));
+
+        // When
+        ProgressReplayResponse response = progressEventRecorder.replay(userId);
+
+        // Then
+        assertEquals(GameStage.GAME_COMPLETE, response.getCurrentStage());
+        assertTrue(response.isCompleted());
+    }
+
+    private ProgressEvent event(UUID userId, ProgressEventType type, int stage, int starType) {
+        return ProgressEvent.builder()
+                .userId(userId)
+                .eventType(type.getCode())
+                .stage((short) stage)
+                .starType((short) starType)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,92 @@
+package com.b612.rose.utils;
+
+import com.b612.rose.entity.enums.GameStage;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ProgressJournalTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void replay_AfterRestart_ShouldReturnAppendedRecordsAndDropTornTail() throws IOException {
+        // Given
+        Path path = tempDir.resolve("progress.journal");
+        UUID userId = UUID.randomUUID();
+        ProgressJournal journal = new ProgressJournal(true, path.toString(), false, 1024 * 1024);
+        journal.append(PendingProgress.of(userId, GameStage.COLLECT_ENVY, 0b0011, 0b0001), () -> { });
+        journal.append(PendingProgress.of(userId, null, 0b0100, 0), () -> { });
+        journal.close();
+        // 쓰다가 죽은 것처럼 끝에 반쪽 기록 추가
+        Files.write(path, new byte[10], StandardOpenOption.APPEND);
+
+        // When
+        List<PendingProgress> replayed = new ArrayList<>();
+        int count = new ProgressJournal(true, path.toString(), false, 1024 * 1024).replay(replayed::add);
+
+        // Then
+        assertEquals(2, count);
+        assertEquals(userId, replayed.get(0).getUserId());
+        assertEquals(GameStage.COLLECT_ENVY, replayed.get(0).getStage());
+        assertEquals(0b0011, replayed.get(0).getCollectedMask());
+        assertNull(replayed.get(1).getStage());
+        assertEquals(0b0100, replayed.get(1).getCollectedMask());
+        assertEquals(2L * ProgressJournal.RECORD_SIZE, Files.size(path));
+    }
+
+    @Test
+    void checkpoint_WhenDrained_ShouldTruncate() throws IOException {
+        // Given
+        Path path = tempDir.resolve("progress.journal");
+        ProgressJournal journal = new ProgressJournal(true, path.toString(), false, 1024 * 1024);
+        journal.append(PendingProgress.of(UUID.randomUUID(), GameStage.GAME_START, 0, 0), () -> { });
+
+        // When
+        journal.checkpoint(List::of);
+        journal.close();
+
+        // Then
+        assertEquals(0, Files.size(path));
+    }
+
+    @Test
+    void checkpoint_WithUnwrittenEntries_ShouldKeepRecords() throws IOException {
+        // Given: 큐는 비었지만 커밋 대기 중인 변경이 있음
+        Path path = tempDir.resolve("progress.journal");
+        ProgressJournal journal = new ProgressJournal(true, path.toString(), false, 1024 * 1024);
+        PendingProgress inFlight = PendingProgress.of(UUID.randomUUID(), GameStage.NPC_SELECTION, 0, 0);
+        journal.append(inFlight, () -> { });
+
+        // When
+        journal.checkpoint(() -> List.of(inFlight));
+        journal.close();
+
+        // Then
+        assertEquals(ProgressJournal.RECORD_SIZE, Files.size(path));
+    }
+
+    @Test
+    void deadLetter_ShouldAppendToSeparateFile() throws IOException {
+        // Given
+        Path path = tempDir.resolve("progress.journal");
+        ProgressJournal journal = new ProgressJournal(true, path.toString(), false, 1024 * 1024);
+
+        // When
+        journal.deadLetter(PendingProgress.of(UUID.randomUUID(), GameStage.GAME_START, 0, 0));
+
+        // Then
+        assertEquals(tempDir.resolve("progress.journal.dead"), journal.getDeadLetterPath());
+        assertEquals(ProgressJournal.RECORD_SIZE, Files.size(journal.getDeadLetterPath()));
+    }
+}
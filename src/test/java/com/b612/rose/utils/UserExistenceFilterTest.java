@@ -0,0 +1,129 @@
+package com.b612.rose.utils;
+
+import com.b612.rose.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class UserExistenceFilterTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @InjectMocks
+    private UserExistenceFilter userExistenceFilter;
+
+    private final UUID existingUserId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(userExistenceFilter, "expectedUsers", 1000);
+        ReflectionTestUtils.setField(userExistenceFilter, "falsePositiveRate", 0.01);
+        ReflectionTestUtils.setField(userExistenceFilter, "negativeTtlMillis", 60000L);
+        ReflectionTestUtils.setField(userExistenceFilter, "negativeMaxEntries", 100);
+        ReflectionTestUtils.setField(userExistenceFilter, "positiveMaxEntries", 100);
+        ReflectionTestUtils.setField(userExistenceFilter, "refreshOverlapMillis", 60000L);
+        ReflectionTestUtils.setField(userExistenceFilter, "missRefreshMinIntervalMillis", 0L);
+        when(userRepository.findAllUserIds()).thenReturn(List.of(existingUserId));
+        userExistenceFilter.init();
+    }
+
+    @Test
+    void exists_WithRandomUserIds_ShouldRarelyQueryDatabase() {
+        // When
+        int accepted = 0;
+        for (int i = 0; i < 1000; i++) {
+            if (userExistenceFilter.exists(UUID.randomUUID())) {
+                accepted++;
+            }
+        }
+
+        // Then
+        assertEquals(0, accepted);
+        assertTrue(userExistenceFilter.getDatabaseCheckCount() < 50);
+    }
+
+    @Test
+    void exists_WithSeededUser_ShouldCheckDatabaseOnlyOnce() {
+        // Given
+        when(userRepository.existsById(existingUserId)).thenReturn(true);
+
+        // When & Then
+        assertTrue(userExistenceFilter.exists(existingUserId));
+        assertTrue(userExistenceFilter.exists(existingUserId));
+        verify(userRepository, times(1)).existsById(existingUserId);
+        assertEquals(1, userExistenceFilter.getPositiveHitCount());
+    }
+
+    @Test
+    void exists_WithUserCreatedOnOtherServer_ShouldRefreshBeforeRejecting() {
+        // Given: 시작 후 다른 서버에서 가입한 사용자
+        UUID otherServerUserId = UUID.randomUUID();
+        when(userRepository.findUserIdsCreatedSince(any(LocalDateTime.class))).thenReturn(List.of(otherServerUserId));
+
+        // When & Then
+        assertTrue(userExistenceFilter.exists(otherServerUserId));
+        assertEquals(1, userExistenceFilter.getMissRefreshCount());
+        verify(userRepository, never()).existsById(otherServerUserId);
+        verify(userRepository, times(1)).findAllUserIds();
+    }
+
+    @Test
+    void exists_WhenMissesArriveTooOften_ShouldNotRefreshEveryTime() {
+        // Given
+        ReflectionTestUtils.setField(userExistenceFilter, "missRefreshMinIntervalMillis", 60000L);
+
+        // When
+        for (int i = 0; i < 100; i++) {
+            assertFalse(userExistenceFilter.exists(UUID.randomUUID()));
+        }
+
+        // Then
+        assertEquals(0, userExistenceFilter.getMissRefreshCount());
+        verify(userRepository, never()).findUserIdsCreatedSince(any());
+    }
+
+    @Test
+    void refresh_ShouldAddRecentUsersWithoutFullReload() {
+        // Given
+        UUID newUserId = UUID.randomUUID();
+        when(userRepository.findUserIdsCreatedSince(any(LocalDateTime.class))).thenReturn(List.of(newUserId));
+        ReflectionTestUtils.setField(userExistenceFilter, "missRefreshMinIntervalMillis", 60000L);
+
+        // When
+        userExistenceFilter.refresh();
+
+        // Then
+        assertTrue(userExistenceFilter.exists(newUserId));
+        verify(userRepository, times(1)).findAllUserIds();
+        verify(userRepository, never()).existsById(any());
+    }
+
+    @Test
+    void register_ShouldAcceptNewUserAfterNegativeResult() {
+        // Given
+        UUID newUserId = UUID.randomUUID();
+        assertFalse(userExistenceFilter.exists(newUserId));
+        clearInvocations(userRepository);
+
+        // When
+        userExistenceFilter.register(newUserId);
+
+        // Then: 가입한 사용자는 db 를 다시 보지 않음
+        assertTrue(userExistenceFilter.exists(newUserId));
+        verify(userRepository, never()).existsById(newUserId);
+    }
+}
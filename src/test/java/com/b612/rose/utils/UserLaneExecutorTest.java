@@ -0,0 +1,100 @@
+package com.b612.rose.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UserLaneExecutorTest {
+
+    @Test
+    void execute_ForSameUser_ShouldRunInSubmissionOrderOnPool() throws InterruptedException {
+        // Given
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        UserLaneExecutor executor = new UserLaneExecutor(pool, 4, 1000, 32);
+        UUID userId = UUID.randomUUID();
+        List<Integer> executed = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(200);
+
+        // When
+        for (int i = 0; i < 200; i++) {
+            int order = i;
+            executor.execute(userId, () -> {
+                executed.add(order);
+                done.countDown();
+            });
+        }
+
+        // Then
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 200; i++) {
+            assertEquals(i, executed.get(i));
+        }
+        pool.shutdown();
+    }
+
+    @Test
+    void execute_WhenLaneIsFull_ShouldRejectAndCount() {
+        // Given: 실행되지 않고 쌓이기만 하는 executor
+        List<Runnable> submitted = new ArrayList<>();
+        UserLaneExecutor executor = new UserLaneExecutor(submitted::add, 1, 2, 32);
+        UUID userId = UUID.randomUUID();
+
+        // When
+        executor.execute(userId, () -> { });
+        executor.execute(userId, () -> { });
+
+        // Then
+        assertThrows(RejectedExecutionException.class, () -> executor.execute(userId, () -> { }));
+        assertEquals(1, executor.getRejectedCount());
+        assertEquals(1, submitted.size());
+    }
+
+    @Test
+    void execute_WhenExecutorRunsOnCaller_ShouldRejectInsteadOfRunningLaneOnCaller() {
+        // Given: 가득 차서 제출한 스레드에서 바로 실행하는 executor (caller-runs)
+        UserLaneExecutor executor = new UserLaneExecutor(Runnable::run, 1, 100, 32);
+        UUID userId = UUID.randomUUID();
+        List<Integer> executed = new ArrayList<>();
+
+        // When & Then
+        assertThrows(RejectedExecutionException.class, () -> executor.execute(userId, () -> executed.add(1)));
+        assertTrue(executed.isEmpty());
+        assertEquals(1, executor.getRejectedCount());
+    }
+
+    @Test
+    void run_ShouldYieldAfterBatchAndContinueInOrder() {
+        // Given: lane 을 직접 돌리는 executor
+        List<Runnable> submitted = new ArrayList<>();
+        UserLaneExecutor executor = new UserLaneExecutor(submitted::add, 1, 100, 2);
+        UUID userId = UUID.randomUUID();
+        List<Integer> executed = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            int order = i;
+            executor.execute(userId, () -> executed.add(order));
+        }
+
+        // When: 한 번 실행하면 두 개만 처리하고 다시 올라감
+        submitted.remove(0).run();
+
+        // Then
+        assertEquals(List.of(0, 1), executed);
+        assertEquals(1, submitted.size());
+
+        // 남은 작업은 다시 올라간 lane 에서 이어서 처리
+        while (!submitted.isEmpty()) {
+            submitted.remove(0).run();
+        }
+        assertEquals(List.of(0, 1, 2, 3, 4), executed);
+    }
+}